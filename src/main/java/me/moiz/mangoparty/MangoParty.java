@@ -9,10 +9,19 @@ import me.moiz.mangoparty.gui.KitEditorGui;
 import me.moiz.mangoparty.listeners.*;
 import me.moiz.mangoparty.managers.*;
 import me.moiz.mangoparty.commands.VisualTestCommand;
+import me.moiz.mangoparty.models.Kit;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
+import org.bukkit.command.CommandSender;
 import org.bukkit.plugin.java.JavaPlugin;
 
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
 /**
  * Main plugin class for MangoParty.
  * Handles initialization, configuration, and provides access to all managers and components.
@@ -30,6 +39,8 @@ public final class MangoParty extends JavaPlugin {
     private PartyDuelManager partyDuelManager;
     private DuelManager duelManager;
     private QueueManager queueManager;
+    private GameTicker gameTicker;
+    private SessionManager sessionManager;
     
     // GUIs
     private ArenaEditorGui arenaEditorGui;
@@ -42,13 +53,18 @@ public final class MangoParty extends JavaPlugin {
     private PlayerRespawnListener playerRespawnListener;
     private SpectatorListener spectatorListener;
     private KitRulesListener kitRulesListener;
-    private ArenaBoundsListener arenaBoundsListener;
+    private MovementListener movementListener;
     private DuelListener duelListener;
     private MatchCountdownListener matchCountdownListener;
+    private ArenaJournalListener arenaJournalListener;
+    private CombatListener combatListener;
     
     // Server spawn location
     private Location spawnLocation;
     
+    // True until arenas, kits and schematics have finished loading
+    private volatile boolean warmingUp = true;
+    
     /**
      * Called when the plugin is enabled.
      * Initializes all components, registers listeners and commands, and loads configuration.
@@ -69,6 +85,9 @@ public final class MangoParty extends JavaPlugin {
             // Load spawn location
             loadSpawnLocation();
             
+            // Load arenas, kits and schematics in the background
+            warmUp();
+            
             // Startup message
             getLogger().info("MangoParty v" + getDescription().getVersion() + " has been enabled!");
         } catch (Exception e) {
@@ -84,6 +103,9 @@ public final class MangoParty extends JavaPlugin {
     private void initializeManagers() {
         getLogger().info("Initializing managers...");
         configManager = new ConfigManager(this);
+        gameTicker = new GameTicker(this); // Before the managers that schedule countdowns on it
+        gameTicker.start();
+        sessionManager = new SessionManager();
         partyManager = new PartyManager();
         arenaManager = new ArenaManager(this);
         kitManager = new KitManager(this);
@@ -96,6 +118,72 @@ public final class MangoParty extends JavaPlugin {
         getLogger().info("All managers initialized successfully.");
     }
     
+    /**
+     * Loads arenas, kits and the most used schematics in parallel on a worker pool, then publishes them
+     * to the managers in a single main-thread task. Commands and queues report that the plugin is
+     * warming up until then.
+     */
+    private void warmUp() {
+        long start = System.nanoTime();
+        int threads = Math.max(1, getConfig().getInt("startup.loader-threads", Math.min(4, Runtime.getRuntime().availableProcessors())));
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        
+        AtomicLong arenasMillis = new AtomicLong();
+        AtomicLong kitsMillis = new AtomicLong();
+        AtomicLong schematicsMillis = new AtomicLong();
+        CompletableFuture<ArenaManager.LoadedArenas> arenas = arenaManager.loadArenasAsync(workers)
+                .whenComplete((result, error) -> arenasMillis.set(elapsedMillis(start)));
+        CompletableFuture<Map<String, Kit>> kits = kitManager.loadKitsAsync(workers)
+                .whenComplete((result, error) -> kitsMillis.set(elapsedMillis(start)));
+        CompletableFuture<Void> schematics = arenaManager.getSchematicCache()
+                .preloadHottest(getConfig().getInt("arena.schematic-cache.preload-count", 10))
+                .whenComplete((result, error) -> schematicsMillis.set(elapsedMillis(start)));
+        
+        CompletableFuture.allOf(arenas, kits, schematics).whenComplete((result, error) -> {
+            workers.shutdown();
+            if (!isEnabled()) return;
+            
+            Bukkit.getScheduler().runTask(this, () -> {
+                if (error != null) {
+                    getLogger().log(Level.SEVERE, "Failed to load MangoParty data", error);
+                    Bukkit.getPluginManager().disablePlugin(this);
+                    return;
+                }
+                
+                long publishStart = System.nanoTime();
+                arenaManager.publishArenas(arenas.join());
+                kitManager.publishKits(kits.join());
+                warmingUp = false;
+                
+                getLogger().info("Warm-up finished in " + elapsedMillis(start) + "ms on " + threads + " threads" +
+                        " (arenas: " + arenasMillis.get() + "ms, kits: " + kitsMillis.get() + "ms, schematics: " +
+                        schematicsMillis.get() + "ms, publish: " + elapsedMillis(publishStart) + "ms)");
+            });
+        });
+    }
+    
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000L;
+    }
+    
+    /**
+     * Tells the sender to wait if startup loading has not finished yet.
+     * 
+     * @param sender The command sender
+     * @return True if the plugin is still warming up and the command should stop
+     */
+    public boolean checkWarmingUp(CommandSender sender) {
+        if (!warmingUp) return false;
+        
+        sender.sendMessage("§eMangoParty is still warming up, please try again in a moment.");
+        return true;
+    }
+    
+    /**
+     * @return True until arenas, kits and schematics have finished loading
+     */
+    public boolean isWarmingUp() { return warmingUp; }
+    
     /**
      * Initializes all GUI classes.
      */
@@ -117,9 +205,11 @@ public final class MangoParty extends JavaPlugin {
         playerRespawnListener = new PlayerRespawnListener(this);
         spectatorListener = new SpectatorListener(this);
         kitRulesListener = new KitRulesListener(this);
-        arenaBoundsListener = new ArenaBoundsListener(this);
+        movementListener = new MovementListener(this);
         duelListener = new DuelListener(this);
         matchCountdownListener = new MatchCountdownListener(this);
+        arenaJournalListener = new ArenaJournalListener(this);
+        combatListener = new CombatListener(this);
         getLogger().info("All event listeners initialized successfully.");
     }
     
@@ -134,9 +224,11 @@ public final class MangoParty extends JavaPlugin {
         pm.registerEvents(playerRespawnListener, this);
         pm.registerEvents(spectatorListener, this);
         pm.registerEvents(kitRulesListener, this);
-        pm.registerEvents(arenaBoundsListener, this);
+        pm.registerEvents(movementListener, this);
         pm.registerEvents(duelListener, this);
         pm.registerEvents(matchCountdownListener, this);
+        pm.registerEvents(arenaJournalListener, this);
+        pm.registerEvents(combatListener, this);
         getLogger().info("All event listeners registered successfully.");
     }
     
@@ -183,6 +275,16 @@ public final class MangoParty extends JavaPlugin {
             scoreboardManager.cleanup();
             getLogger().info("ScoreboardManager cleaned up.");
         }
+        if (arenaManager != null) {
+            arenaManager.cleanup();
+            getLogger().info("ArenaManager cleaned up.");
+        }
+        if (gameTicker != null) {
+            gameTicker.shutdown();
+        }
+        if (sessionManager != null) {
+            sessionManager.clear();
+        }
         getLogger().info("All managers cleaned up successfully.");
     }
     
@@ -306,6 +408,16 @@ public final class MangoParty extends JavaPlugin {
      */
     public ArenaManager getArenaManager() { return arenaManager; }
     
+    /**
+     * @return The ticker that drives every match and duel countdown and delayed action
+     */
+    public GameTicker getGameTicker() { return gameTicker; }
+    
+    /**
+     * @return The index of what every player is currently doing
+     */
+    public SessionManager getSessionManager() { return sessionManager; }
+    
     /**
      * @return The kit manager instance
      */
@@ -381,6 +493,11 @@ public final class MangoParty extends JavaPlugin {
      */
     public MatchCountdownListener getMatchCountdownListener() { return matchCountdownListener; }
     
+    /**
+     * @return The combat listener instance
+     */
+    public CombatListener getCombatListener() { return combatListener; }
+    
     /**
      * @return The server spawn location
      */
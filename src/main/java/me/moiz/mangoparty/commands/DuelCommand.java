@@ -27,6 +27,10 @@ public class DuelCommand implements CommandExecutor, TabCompleter {
     
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        if (plugin.checkWarmingUp(sender)) {
+            return true;
+        }
+        
         if (!(sender instanceof Player)) {
             sender.sendMessage(plugin.getConfig().getString("messages.prefix") + 
                                plugin.getConfig().getString("messages.player-only"));
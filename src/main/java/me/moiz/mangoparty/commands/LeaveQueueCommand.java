@@ -15,6 +15,10 @@ public class LeaveQueueCommand implements CommandExecutor {
     
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        if (plugin.checkWarmingUp(sender)) {
+            return true;
+        }
+        
         if (!(sender instanceof Player)) {
             sender.sendMessage("§cOnly players can use this command!");
             return true;
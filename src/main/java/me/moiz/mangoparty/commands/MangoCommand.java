@@ -1,13 +1,26 @@
 package me.moiz.mangoparty.commands;
 
 import me.moiz.mangoparty.MangoParty;
+import me.moiz.mangoparty.managers.ArenaChunkTickets;
+import me.moiz.mangoparty.managers.ArenaInstancePool;
+import me.moiz.mangoparty.managers.ArenaManager;
+import me.moiz.mangoparty.managers.ArenaPregenerator;
+import me.moiz.mangoparty.managers.ArenaWorldPool;
+import me.moiz.mangoparty.managers.GameTicker;
+import me.moiz.mangoparty.managers.PasteScheduler;
+import me.moiz.mangoparty.managers.SchematicCache;
 import me.moiz.mangoparty.models.Arena;
+import me.moiz.mangoparty.models.ArenaLease;
 import me.moiz.mangoparty.models.Kit;
+import me.moiz.mangoparty.utils.PerformanceBenchmark;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 import java.util.Map;
 
 public class MangoCommand implements CommandExecutor {
@@ -19,6 +32,10 @@ public class MangoCommand implements CommandExecutor {
     
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        if (plugin.checkWarmingUp(sender)) {
+            return true;
+        }
+        
         if (!sender.hasPermission("mangoparty.admin")) {
             sender.sendMessage("§cYou don't have permission to use this command!");
             return true;
@@ -93,6 +110,8 @@ public class MangoCommand implements CommandExecutor {
             handleSetSpawnCommand(player);
         } else if (args[0].equalsIgnoreCase("reload")) {
             handleReloadCommand(player);
+        } else if (args[0].equalsIgnoreCase("bench")) {
+            handleBenchCommand(player, args);
         } else {
             sendHelpMessage(player);
         }
@@ -100,6 +119,22 @@ public class MangoCommand implements CommandExecutor {
         return true;
     }
     
+    private void handleBenchCommand(Player player, String[] args) {
+        if (args.length < 2) {
+            player.sendMessage("§cUsage: /mango bench <ticker|roster>");
+            return;
+        }
+
+        PerformanceBenchmark benchmark = new PerformanceBenchmark(plugin);
+        if (args[1].equalsIgnoreCase("ticker")) {
+            benchmark.benchmarkTicker(player);
+        } else if (args[1].equalsIgnoreCase("roster")) {
+            benchmark.benchmarkRoster(player);
+        } else {
+            player.sendMessage("§cUnknown benchmark: " + args[1]);
+        }
+    }
+    
     private void sendHelpMessage(Player player) {
         player.sendMessage("§6=== MangoParty Admin Commands ===");
         player.sendMessage("§e/mango reload §7- Reload plugin configurations");
@@ -115,10 +150,15 @@ public class MangoCommand implements CommandExecutor {
         player.sendMessage("§e/mango arena save <name> §7- Save arena schematic");
         player.sendMessage("§e/mango arena list §7- List all arenas");
         player.sendMessage("§e/mango arena delete <name> §7- Delete an arena");
+        player.sendMessage("§e/mango arena stats §7- Show arena reset and pool statistics");
+        player.sendMessage("§e/mango arena leases §7- List arenas currently in use");
+        player.sendMessage("§e/mango arena pregen <name> <count|pause|resume|cancel|status> §7- Pre-generate arena instances");
         player.sendMessage("§e/mango create kit <name> §7- Create kit from inventory");
         player.sendMessage("§e/mango addkitgui <kit_name> <match_type> [slot] §7- Add a kit to a GUI");
         player.sendMessage("§e/mango editkitgui <kit> <mode> <property> <value> §7- Edit kit properties in GUI");
         player.sendMessage("§e/mango setspawn §7- Set the server spawn location");
+        player.sendMessage("§e/mango bench ticker §7- Benchmark the game ticker against the Bukkit scheduler");
+        player.sendMessage("§e/mango bench roster §7- Benchmark cached match rosters against rebuilding them");
     }
     
     private void sendArenaHelp(Player player) {
@@ -134,6 +174,9 @@ public class MangoCommand implements CommandExecutor {
         player.sendMessage("§e/mango arena save <name> §7- Save arena schematic");
         player.sendMessage("§e/mango arena list §7- List all arenas");
         player.sendMessage("§e/mango arena delete <name> §7- Delete an arena");
+        player.sendMessage("§e/mango arena stats §7- Show arena reset and pool statistics");
+        player.sendMessage("§e/mango arena leases §7- List arenas currently in use");
+        player.sendMessage("§e/mango arena pregen <name> <count|pause|resume|cancel|status> §7- Pre-generate arena instances");
     }
     
     private void sendKitHelp(Player player) {
@@ -146,8 +189,8 @@ public class MangoCommand implements CommandExecutor {
         String subCommand = args[1].toLowerCase();
         
         if (args.length < 3) {
-            if (subCommand.equals("list")) {
-                // Allow /mango arena list without arena name
+            if (subCommand.equals("list") || subCommand.equals("stats") || subCommand.equals("leases")) {
+                // Allow /mango arena list, stats and leases without arena name
             } else {
                 player.sendMessage("§cPlease specify an arena name!");
                 return;
@@ -184,6 +227,15 @@ public class MangoCommand implements CommandExecutor {
             case "delete":
                 handleArenaDelete(player, arenaName);
                 break;
+            case "stats":
+                handleArenaStats(player);
+                break;
+            case "leases":
+                handleArenaLeases(player);
+                break;
+            case "pregen":
+                handleArenaPregen(player, arenaName, args.length > 3 ? args[3] : null);
+                break;
             default:
                 sendArenaHelp(player);
                 break;
@@ -208,6 +260,11 @@ public class MangoCommand implements CommandExecutor {
             return;
         }
         
+        if (plugin.getArenaManager().hasInstances(arenaName)) {
+            player.sendMessage("§cArena '" + arenaName + "' has instances! Its bounds cannot change until they are gone.");
+            return;
+        }
+        
         arena.setCorner1(player.getLocation());
         plugin.getArenaManager().saveArena(arena);
         player.sendMessage("§aCorner 1 set for arena '" + arenaName + "'!");
@@ -220,6 +277,11 @@ public class MangoCommand implements CommandExecutor {
             return;
         }
         
+        if (plugin.getArenaManager().hasInstances(arenaName)) {
+            player.sendMessage("§cArena '" + arenaName + "' has instances! Its bounds cannot change until they are gone.");
+            return;
+        }
+        
         arena.setCorner2(player.getLocation());
         plugin.getArenaManager().saveArena(arena);
         player.sendMessage("§aCorner 2 set for arena '" + arenaName + "'!");
@@ -232,6 +294,11 @@ public class MangoCommand implements CommandExecutor {
             return;
         }
         
+        if (plugin.getArenaManager().hasInstances(arenaName)) {
+            player.sendMessage("§cArena '" + arenaName + "' has instances! Its bounds cannot change until they are gone.");
+            return;
+        }
+        
         arena.setCenter(player.getLocation());
         plugin.getArenaManager().saveArena(arena);
         player.sendMessage("§aCenter set for arena '" + arenaName + "'!");
@@ -305,6 +372,126 @@ public class MangoCommand implements CommandExecutor {
         }
     }
 
+    private void handleArenaStats(Player player) {
+        ArenaManager arenaManager = plugin.getArenaManager();
+        ArenaInstancePool pool = arenaManager.getInstancePool();
+        
+        player.sendMessage("§6=== Arena Stats ===");
+        player.sendMessage("§eResets skipped: §f" + arenaManager.getSkippedResets() +
+                " §7| §eIncremental: §f" + arenaManager.getIncrementalResets() +
+                " §7| §eFull: §f" + arenaManager.getFullResets());
+        player.sendMessage("§eInstance checks: §f" + arenaManager.getVerifications() +
+                " §7| §eQuarantined: §f" + arenaManager.getQuarantines());
+        GameTicker ticker = plugin.getGameTicker();
+        player.sendMessage("§eGame ticker: §f" + ticker.getPending() + " §7pending, §f" + ticker.getLastTickRuns() +
+                " §7run last tick | §f" + String.format("%.3fms", ticker.getAverageTickMillis()) + " §7avg, §f" +
+                String.format("%.3fms", ticker.getMaxTickMillis()) + " §7max");
+        PasteScheduler pastes = arenaManager.getPasteScheduler();
+        player.sendMessage("§ePaste queue: §f" + pastes.getQueuedJobs(PasteScheduler.Priority.URGENT) + " §7urgent, §f" +
+                pastes.getQueuedJobs(PasteScheduler.Priority.NORMAL) + " §7normal, §f" +
+                pastes.getQueuedJobs(PasteScheduler.Priority.BACKGROUND) + " §7background");
+        player.sendMessage("§eLast tick: §f" + pastes.getLastTickBlocks() + "/" + pastes.getBlocksPerTick() +
+                " §7blocks in §f" + String.format("%.2fms", pastes.getLastTickMillis()) +
+                " §7| §eTotal: §f" + pastes.getTotalBlocks());
+        SchematicCache schematics = arenaManager.getSchematicCache();
+        player.sendMessage("§eSchematic cache: §f" + schematics.size() + " §7loaded, §f" +
+                (schematics.getResidentBytes() / (1024 * 1024)) + "/" + (schematics.getMaxBytes() / (1024 * 1024)) + "MB" +
+                " §7| §eHit rate: §f" + String.format("%.1f%%", schematics.getHitRate() * 100) +
+                " §7| §eEvictions: §f" + schematics.getEvictions());
+        ArenaChunkTickets chunks = arenaManager.getChunkTickets();
+        player.sendMessage("§eChunk tickets: §f" + chunks.getHeldArenas() + " §7arenas held" +
+                " §7| §eAvg wait: §f" + chunks.getAverageWaitMillis() + "ms" +
+                " §7| §eMax wait: §f" + chunks.getMaxWaitMillis() + "ms");
+        player.sendMessage("§ePool hits: §f" + pool.getHits() + " §7| §eMisses: §f" + pool.getMisses() +
+                " §7| §eHit rate: §f" + String.format("%.1f%%", pool.getHitRate() * 100) +
+                " §7| §eReclaimed: §f" + pool.getReclaimed());
+        for (ArenaWorldPool.Occupancy world : arenaManager.getWorldPool().getOccupancy(arenaManager.getArenas().values()).values()) {
+            player.sendMessage("§e" + world.getWorld().getName() + " §7- §f" + world.getInstances() + " §7instances, §f" +
+                    world.getLeased() + " §7leased, §f" + world.getPlayers() + " §7players, §f" +
+                    world.getLoadedChunks() + " §7chunks");
+        }
+        for (Arena arena : plugin.getArenaManager().getArenas().values()) {
+            if (arena.isInstance()) continue;
+            player.sendMessage("§e" + arena.getName() + " §7- §f" + pool.getReadyCount(arena.getName()) +
+                    " §7ready, §f" + pool.getInstanceCount(arena.getName()) + " §7total");
+        }
+    }
+
+    private void handleArenaLeases(Player player) {
+        List<ArenaLease> leases = new ArrayList<>(plugin.getArenaManager().getLeases());
+        if (leases.isEmpty()) {
+            player.sendMessage("§7No arenas are currently leased.");
+            return;
+        }
+        
+        leases.sort(Comparator.comparingLong(ArenaLease::getAcquiredAt));
+        long now = System.currentTimeMillis();
+        player.sendMessage("§6=== Arena Leases (" + leases.size() + ") ===");
+        for (ArenaLease lease : leases) {
+            String expiry = lease.isExpired(now) ? "§cexpired" : "§7expires in §f" + ((lease.getExpiresAt() - now) / 1000) + "s";
+            player.sendMessage("§e" + lease.getArenaName() + " §7- §f" + lease.getOwner() +
+                    " §7| age §f" + (lease.getAgeMillis() / 1000) + "s §7| " + expiry);
+        }
+    }
+
+    private void handleArenaPregen(Player player, String arenaName, String action) {
+        ArenaPregenerator pregenerator = plugin.getArenaManager().getPregenerator();
+        if (action == null || action.equalsIgnoreCase("status")) {
+            ArenaPregenerator.Job job = pregenerator.getJob(arenaName);
+            if (job == null) {
+                player.sendMessage("§7No pre-generation job for " + arenaName + ".");
+                return;
+            }
+            String state = job.isFinished() ? "§afinished" : job.isPaused() ? "§epaused" : "§arunning";
+            long eta = job.getEtaMillis();
+            player.sendMessage("§e" + arenaName + " §7- " + state + " §7| §f" + job.getCompleted() + "/" + job.getTarget() +
+                    " §7built, §f" + job.getInFlight() + " §7pasting, §f" + job.getFailed() + " §7failed" +
+                    (job.isFinished() || eta < 0 ? "" : " §7| ETA §f" + (eta / 1000) + "s"));
+            return;
+        }
+        
+        switch (action.toLowerCase()) {
+            case "pause":
+                player.sendMessage(pregenerator.pause(arenaName) ? "§ePaused pre-generation of " + arenaName + "." : "§cNo running job for " + arenaName + ".");
+                return;
+            case "resume":
+                player.sendMessage(pregenerator.resume(arenaName) ? "§aResumed pre-generation of " + arenaName + "." : "§cNo paused job for " + arenaName + ".");
+                return;
+            case "cancel":
+                player.sendMessage(pregenerator.cancel(arenaName) ? "§eCancelled pre-generation of " + arenaName + "; extra instances will be reclaimed when idle." : "§cNo job for " + arenaName + ".");
+                return;
+            default:
+                break;
+        }
+        
+        Arena arena = plugin.getArenaManager().getArena(arenaName);
+        if (arena == null || arena.isInstance()) {
+            player.sendMessage("§cArena not found!");
+            return;
+        }
+        if (!arena.isComplete()) {
+            player.sendMessage("§cArena '" + arenaName + "' is not fully set up!");
+            return;
+        }
+        
+        int count;
+        try {
+            count = Integer.parseInt(action);
+        } catch (NumberFormatException e) {
+            player.sendMessage("§cUsage: /mango arena pregen <name> <count|pause|resume|cancel|status>");
+            return;
+        }
+        if (count <= 0) {
+            player.sendMessage("§cCount must be positive!");
+            return;
+        }
+        
+        ArenaPregenerator.Job job = pregenerator.start(arena, count, player);
+        int missing = Math.max(0, count - job.getCompleted() - job.getInFlight());
+        player.sendMessage("§aPre-generating " + arenaName + " up to " + count + " instances (" + missing + " to build). " +
+                "§7Progress is shown on your action bar.");
+    }
+
     private void handleArenaDelete(Player player, String arenaName) {
         Arena arena = plugin.getArenaManager().getArena(arenaName);
         if (arena == null) {
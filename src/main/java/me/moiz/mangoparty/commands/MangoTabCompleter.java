@@ -30,7 +30,7 @@ public class MangoTabCompleter implements TabCompleter {
         
         if (args.length == 1) {
             // First argument: main commands
-            List<String> commands = Arrays.asList("arena", "kit", "create", "addkitgui", "setspawn", "reload");
+            List<String> commands = Arrays.asList("arena", "kit", "create", "addkitgui", "setspawn", "reload", "bench");
             return commands.stream()
                     .filter(cmd -> cmd.toLowerCase().startsWith(args[0].toLowerCase()))
                     .collect(Collectors.toList());
@@ -39,7 +39,7 @@ public class MangoTabCompleter implements TabCompleter {
         if (args.length == 2) {
             if (args[0].equalsIgnoreCase("arena")) {
                 // Arena subcommands
-                List<String> arenaCommands = Arrays.asList("editor", "create", "corner1", "corner2", "center", "spawn1", "spawn2", "save", "list", "delete");
+                List<String> arenaCommands = Arrays.asList("editor", "create", "corner1", "corner2", "center", "spawn1", "spawn2", "save", "list", "delete", "stats", "leases", "pregen");
                 return arenaCommands.stream()
                         .filter(cmd -> cmd.toLowerCase().startsWith(args[1].toLowerCase()))
                         .collect(Collectors.toList());
@@ -55,6 +55,12 @@ public class MangoTabCompleter implements TabCompleter {
                 return createCommands.stream()
                         .filter(cmd -> cmd.toLowerCase().startsWith(args[1].toLowerCase()))
                         .collect(Collectors.toList());
+            } else if (args[0].equalsIgnoreCase("bench")) {
+                // Benchmarks
+                List<String> benchmarks = Arrays.asList("ticker", "roster");
+                return benchmarks.stream()
+                        .filter(name -> name.toLowerCase().startsWith(args[1].toLowerCase()))
+                        .collect(Collectors.toList());
             } else if (args[0].equalsIgnoreCase("addkitgui")) {
                 // Suggest existing kit names
                 return plugin.getKitManager().getKits().keySet().stream()
@@ -68,6 +74,13 @@ public class MangoTabCompleter implements TabCompleter {
                 if (args[1].equalsIgnoreCase("create")) {
                     // Suggest arena name (no specific suggestions, let them type)
                     return Arrays.asList("<arena_name>");
+                } else if (args[1].equalsIgnoreCase("pregen")) {
+                    // Suggest base arenas only; instances are not pre-generated themselves
+                    return plugin.getArenaManager().getArenas().values().stream()
+                            .filter(arena -> !arena.isInstance())
+                            .map(Arena::getName)
+                            .filter(name -> name.toLowerCase().startsWith(args[2].toLowerCase()))
+                            .collect(Collectors.toList());
                 } else if (Arrays.asList("corner1", "corner2", "center", "spawn1", "spawn2", "save", "delete").contains(args[1].toLowerCase())) {
                     // Suggest existing arena names
                     return plugin.getArenaManager().getArenas().keySet().stream()
@@ -90,6 +103,11 @@ public class MangoTabCompleter implements TabCompleter {
             if (args[0].equalsIgnoreCase("addkitgui")) {
                 // Suggest a placeholder for slot
                 return Arrays.asList("<slot>");
+            } else if (args[0].equalsIgnoreCase("arena") && args[1].equalsIgnoreCase("pregen")) {
+                List<String> pregenActions = Arrays.asList("<count>", "status", "pause", "resume", "cancel");
+                return pregenActions.stream()
+                        .filter(action -> action.toLowerCase().startsWith(args[3].toLowerCase()))
+                        .collect(Collectors.toList());
             }
         }
         
@@ -21,6 +21,10 @@ public class PartyCommand implements CommandExecutor {
     
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        if (plugin.checkWarmingUp(sender)) {
+            return true;
+        }
+        
         if (!(sender instanceof Player)) {
             sender.sendMessage("§cThis command can only be used by players!");
             return true;
@@ -17,6 +17,10 @@ public class QueueCommand implements CommandExecutor {
     
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        if (plugin.checkWarmingUp(sender)) {
+            return true;
+        }
+        
         if (!(sender instanceof Player)) {
             sender.sendMessage("§cOnly players can use this command!");
             return true;
@@ -2,6 +2,7 @@ package me.moiz.mangoparty.commands;
 
 import me.moiz.mangoparty.MangoParty;
 import me.moiz.mangoparty.models.Match;
+import me.moiz.mangoparty.models.PlayerSession;
 import org.bukkit.Bukkit;
 import org.bukkit.GameMode;
 import org.bukkit.command.Command;
@@ -18,6 +19,10 @@ public class SpectateCommand implements CommandExecutor {
     
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        if (plugin.checkWarmingUp(sender)) {
+            return true;
+        }
+        
         if (!(sender instanceof Player)) {
             sender.sendMessage("§cThis command can only be used by players!");
             return true;
@@ -42,19 +47,27 @@ public class SpectateCommand implements CommandExecutor {
             return true;
         }
 
+        // Playing a match or duel takes precedence over spectating another one
+        PlayerSession session = plugin.getSessionManager().get(player);
+        PlayerSession.Activity activity = session != null ? session.getActivity() : PlayerSession.Activity.LOBBY;
+        if (activity == PlayerSession.Activity.MATCH || activity == PlayerSession.Activity.DUEL) {
+            player.sendMessage("§cYou cannot spectate while you are playing!");
+            return true;
+        }
+
         // Set player to spectator mode and teleport
         player.setGameMode(GameMode.SPECTATOR);
         player.setAllowFlight(true);
         player.setFlying(true);
         
         // If player is already spectating, remove them from their current match's spectator list
-        Match currentMatch = plugin.getMatchManager().getPlayerMatch(player);
-        if (currentMatch != null && currentMatch.isPlayerSpectator(player.getUniqueId())) {
-            currentMatch.removeSpectator(player.getUniqueId());
+        if (activity == PlayerSession.Activity.SPECTATING) {
+            session.getMatch().removeSpectator(player.getUniqueId());
         }
 
         // Add player to the target match's spectator list
         targetMatch.addSpectator(player.getUniqueId());
+        plugin.getSessionManager().spectate(player.getUniqueId(), targetMatch);
 
         player.teleport(target.getLocation());
         player.sendMessage("§aNow spectating " + target.getName() + " in match " + targetMatch.getId() + "!");
@@ -348,6 +348,12 @@ public class ArenaEditorGui implements Listener {
                 return;
             }
             
+            boolean movesBounds = buttonType.equals("center") || buttonType.equals("corner1") || buttonType.equals("corner2");
+            if (movesBounds && plugin.getArenaManager().hasInstances(arenaName)) {
+                player.sendMessage("§cArena '" + arenaName + "' has instances! Its bounds cannot change until they are gone.");
+                return;
+            }
+            
             Location location = player.getLocation();
             String coordsInfo = String.format("§7X: %.1f, Y: %.1f, Z: %.1f", location.getX(), location.getY(), location.getZ());
             
@@ -0,0 +1,200 @@
+package me.moiz.mangoparty.listeners;
+
+import me.moiz.mangoparty.MangoParty;
+import me.moiz.mangoparty.models.ArenaJournal;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockFace;
+import org.bukkit.block.BlockState;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.block.BlockBreakEvent;
+import org.bukkit.event.block.BlockBurnEvent;
+import org.bukkit.event.block.BlockExplodeEvent;
+import org.bukkit.event.block.BlockFadeEvent;
+import org.bukkit.event.block.BlockFormEvent;
+import org.bukkit.event.block.BlockFromToEvent;
+import org.bukkit.event.block.BlockIgniteEvent;
+import org.bukkit.event.block.BlockMultiPlaceEvent;
+import org.bukkit.event.block.BlockPistonExtendEvent;
+import org.bukkit.event.block.BlockPistonRetractEvent;
+import org.bukkit.event.block.BlockPlaceEvent;
+import org.bukkit.event.block.BlockSpreadEvent;
+import org.bukkit.event.block.LeavesDecayEvent;
+import org.bukkit.event.entity.EntityChangeBlockEvent;
+import org.bukkit.event.entity.EntityExplodeEvent;
+import org.bukkit.event.player.PlayerBucketEmptyEvent;
+import org.bukkit.event.player.PlayerBucketFillEvent;
+
+import java.util.List;
+
+/**
+ * Feeds arena change journals with the original state of every block about to change inside an arena.
+ * Runs at MONITOR so only changes that actually happen are recorded.
+ * Removing a block can make others pop off through physics without an event of their own, such as the other
+ * half of a door or bed, a torch or sign on it, or a column of sugar cane on top, so removals also journal
+ * the blocks that may depend on the removed one.
+ */
+public class ArenaJournalListener implements Listener {
+    private static final BlockFace[] NEIGHBOURS = {
+        BlockFace.UP, BlockFace.DOWN, BlockFace.NORTH, BlockFace.SOUTH, BlockFace.EAST, BlockFace.WEST
+    };
+    private static final int MAX_COLUMN = 32; // Longest stack of dependent blocks followed above or below
+
+    private MangoParty plugin;
+
+    public ArenaJournalListener(MangoParty plugin) {
+        this.plugin = plugin;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockPlace(BlockPlaceEvent event) {
+        if (event instanceof BlockMultiPlaceEvent) {
+            for (BlockState state : ((BlockMultiPlaceEvent) event).getReplacedBlockStates()) {
+                record(state);
+            }
+            return;
+        }
+        // The block is already placed when the event fires, so journal the replaced state
+        record(event.getBlockReplacedState());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBreak(BlockBreakEvent event) {
+        recordRemoval(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityExplode(EntityExplodeEvent event) {
+        recordRemovals(event.blockList());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockExplode(BlockExplodeEvent event) {
+        recordRemoval(event.getBlock());
+        recordRemovals(event.blockList());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockFromTo(BlockFromToEvent event) {
+        record(event.getToBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockBurn(BlockBurnEvent event) {
+        recordRemoval(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockIgnite(BlockIgniteEvent event) {
+        record(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockSpread(BlockSpreadEvent event) {
+        record(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockFade(BlockFadeEvent event) {
+        record(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBlockForm(BlockFormEvent event) {
+        record(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onLeavesDecay(LeavesDecayEvent event) {
+        record(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onEntityChangeBlock(EntityChangeBlockEvent event) {
+        recordRemoval(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBucketEmpty(PlayerBucketEmptyEvent event) {
+        record(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onBucketFill(PlayerBucketFillEvent event) {
+        record(event.getBlock());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPistonExtend(BlockPistonExtendEvent event) {
+        recordPiston(event.getBlock(), event.getBlocks(), event.getDirection());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPistonRetract(BlockPistonRetractEvent event) {
+        recordPiston(event.getBlock(), event.getBlocks(), event.getDirection());
+    }
+
+    /**
+     * Journals a piston, its head position and every moved block with the blocks depending on it. The
+     * neighbours of a moved block include both positions along the push axis, which covers the destination
+     * whichever way the blocks travel.
+     */
+    private void recordPiston(Block piston, List<Block> moved, BlockFace direction) {
+        record(piston);
+        record(piston.getRelative(direction));
+        for (Block block : moved) {
+            recordRemoval(block);
+        }
+    }
+
+    private void recordRemovals(List<Block> blocks) {
+        for (Block block : blocks) {
+            recordRemoval(block);
+        }
+    }
+
+    /**
+     * Journals a block about to be removed together with everything that may pop off with it: its six
+     * neighbours, which covers attached blocks and the other half of doors and beds, and the stacks of
+     * non-occluding blocks above and below it, such as tall plants, the top of a door or hanging vines.
+     */
+    private void recordRemoval(Block block) {
+        if (plugin.getArenaManager().getJournalAt(block.getWorld().getName(), block.getX(), block.getY(), block.getZ()) == null) {
+            return; // Not in a journaled arena
+        }
+
+        record(block);
+        for (BlockFace face : NEIGHBOURS) {
+            record(block.getRelative(face));
+        }
+        recordColumn(block.getRelative(BlockFace.UP), BlockFace.UP);
+        recordColumn(block.getRelative(BlockFace.DOWN), BlockFace.DOWN);
+    }
+
+    private void recordColumn(Block start, BlockFace direction) {
+        Block block = start;
+        for (int i = 0; i < MAX_COLUMN; i++) {
+            Material type = block.getType();
+            if (type.isAir() || type.isOccluding()) return;
+
+            record(block);
+            block = block.getRelative(direction);
+        }
+    }
+
+    private void record(Block block) {
+        ArenaJournal journal = plugin.getArenaManager().getJournalAt(block.getWorld().getName(), block.getX(), block.getY(), block.getZ());
+        if (journal != null) {
+            journal.record(block);
+        }
+    }
+
+    private void record(BlockState state) {
+        ArenaJournal journal = plugin.getArenaManager().getJournalAt(state.getWorld().getName(), state.getX(), state.getY(), state.getZ());
+        if (journal != null) {
+            journal.record(state);
+        }
+    }
+}
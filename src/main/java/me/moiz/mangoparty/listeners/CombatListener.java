@@ -0,0 +1,249 @@
+package me.moiz.mangoparty.listeners;
+
+import me.moiz.mangoparty.MangoParty;
+import me.moiz.mangoparty.models.Duel;
+import me.moiz.mangoparty.models.Kit;
+import me.moiz.mangoparty.models.Match;
+import me.moiz.mangoparty.models.PlayerSession;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDamageByEntityEvent;
+import org.bukkit.event.entity.EntityDamageEvent;
+
+/**
+ * The single damage handler for players in matches and duels.
+ * Each hit looks up the victim's and attacker's sessions once and then runs a fixed sequence of stages:
+ * state gating, friendly fire, the kit damage multiplier, damage tracking and finally lethal-hit handling.
+ * A stage that cancels the event ends the pipeline, so later stages never see a hit that will not land.
+ * Damage between players who are not in a match or duel is left to vanilla.
+ */
+public class CombatListener implements Listener {
+    private final MangoParty plugin;
+
+    public CombatListener(MangoParty plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Runs the combat pipeline for a damaged player, or for a player hitting any entity.
+     * Runs at HIGH so the lethal check sees the damage after other plugins' modifiers.
+     */
+    @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
+    public void onEntityDamage(EntityDamageEvent event) {
+        Player victim = event.getEntity() instanceof Player ? (Player) event.getEntity() : null;
+        Player attacker = null;
+        if (event instanceof EntityDamageByEntityEvent && ((EntityDamageByEntityEvent) event).getDamager() instanceof Player) {
+            attacker = (Player) ((EntityDamageByEntityEvent) event).getDamager();
+        }
+        if (victim == null && attacker == null) return;
+
+        PlayerSession victimSession = plugin.getSessionManager().get(victim);
+        PlayerSession attackerSession = plugin.getSessionManager().get(attacker);
+        if (victimSession == null && attackerSession == null) return; // Neither player is in a game
+
+        if (gateAttacker(event, attacker, attackerSession)) return;
+        if (victim == null) return; // A player hitting a mob or other entity
+
+        if (gateVictim(event, victim, victimSession)) return;
+        if (attacker != null && !attacker.equals(victim)) {
+            if (gateOpponents(event, victim, victimSession, attacker, attackerSession)) return;
+            if (blockFriendlyFire(event, victim, victimSession, attacker)) return;
+            applyKitMultiplier(event, victimSession, attackerSession);
+        }
+
+        if (victimSession == null || (victimSession.getDuel() == null && !victimSession.isInMatch())) return;
+        recordDamage(event, victim, victimSession, attacker, attackerSession);
+        handleLethalHit(event, victim, victimSession);
+    }
+
+    /**
+     * Stops spectators and players waiting for their match to start from hurting anything.
+     */
+    private boolean gateAttacker(EntityDamageEvent event, Player attacker, PlayerSession attackerSession) {
+        Match match = attackerSession != null ? attackerSession.getMatch() : null;
+        if (match == null) return false;
+
+        if (attackerSession.isSpectating() || isStarting(match)) {
+            event.setCancelled(true);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Protects spectators and players in a match that has not started yet from all damage.
+     */
+    private boolean gateVictim(EntityDamageEvent event, Player victim, PlayerSession victimSession) {
+        Match match = victimSession != null ? victimSession.getMatch() : null;
+        if (match == null) return false;
+
+        if (victimSession.isSpectating()) {
+            event.setCancelled(true);
+            return true;
+        }
+        if (isStarting(match)) {
+            victim.setInvulnerable(true);
+            event.setCancelled(true);
+
+            // Fire would keep burning through the countdown, so put it out
+            EntityDamageEvent.DamageCause cause = event.getCause();
+            if (cause == EntityDamageEvent.DamageCause.FIRE ||
+                cause == EntityDamageEvent.DamageCause.FIRE_TICK ||
+                cause == EntityDamageEvent.DamageCause.LAVA) {
+                victim.setFireTicks(0);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Only lets players hit each other when both are in the same running match or duel.
+     */
+    private boolean gateOpponents(EntityDamageEvent event, Player victim, PlayerSession victimSession,
+                                  Player attacker, PlayerSession attackerSession) {
+        Duel victimDuel = victimSession != null ? victimSession.getDuel() : null;
+        Duel attackerDuel = attackerSession != null ? attackerSession.getDuel() : null;
+        Match victimMatch = victimSession != null ? victimSession.getMatch() : null;
+        Match attackerMatch = attackerSession != null ? attackerSession.getMatch() : null;
+
+        if (victimDuel == null && attackerDuel == null && victimMatch == null && attackerMatch == null) {
+            return false; // e.g. a queued player fighting in the lobby
+        }
+
+        if ((victimDuel == null) != (attackerDuel == null)) {
+            event.setCancelled(true);
+            if (attackerDuel != null) {
+                attacker.sendMessage("§cYou cannot attack players outside your duel!");
+            }
+            return true;
+        }
+        if ((victimMatch == null) != (attackerMatch == null)) {
+            event.setCancelled(true);
+            if (attackerMatch != null) {
+                attacker.sendMessage("§cYou cannot attack players outside your match!");
+            }
+            return true;
+        }
+
+        if (victimMatch != null && victimMatch != attackerMatch) {
+            event.setCancelled(true);
+            attacker.sendMessage("§cYou cannot attack players in different matches!");
+            return true;
+        }
+
+        if (victimDuel != null) {
+            if (victimDuel != attackerDuel) {
+                event.setCancelled(true);
+                attacker.sendMessage(plugin.getConfig().getString("messages.prefix") +
+                                     plugin.getConfig().getString("messages.player-duel.cannot-damage-other-duel"));
+                return true;
+            }
+            if (victimDuel.getState() == Duel.DuelState.COUNTDOWN || victimDuel.getState() == Duel.DuelState.PREPARING) {
+                event.setCancelled(true);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Cancels hits between teammates in team matches and party split duels.
+     */
+    private boolean blockFriendlyFire(EntityDamageEvent event, Player victim, PlayerSession victimSession, Player attacker) {
+        Match match = victimSession != null ? victimSession.getMatch() : null;
+        if (match != null) {
+            if (match.getMatchType().equals("split") && match.arePlayersOnSameTeam(victim.getUniqueId(), attacker.getUniqueId())) {
+                event.setCancelled(true);
+                attacker.sendMessage("§cYou cannot attack players on your team!");
+                return true;
+            }
+
+            // Other team modes are blocked silently to avoid spam
+            if (isTeamMatch(match) && match.arePlayersOnSameTeam(victim.getUniqueId(), attacker.getUniqueId())) {
+                event.setCancelled(true);
+                return true;
+            }
+            return false;
+        }
+
+        Duel duel = victimSession != null ? victimSession.getDuel() : null;
+        if (duel != null && duel.isPartySplitMatch() && duel.arePlayersOnSameTeam(victim.getUniqueId(), attacker.getUniqueId())) {
+            event.setCancelled(true);
+            attacker.sendMessage(plugin.getConfig().getString("messages.prefix") +
+                                 plugin.getConfig().getString("messages.player-duel.cannot-damage-teammate"));
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Scales hits between players in the same match by the kit's damage multiplier.
+     * Only the base damage is changed, so armor, resistance and other vanilla reductions still apply.
+     */
+    private void applyKitMultiplier(EntityDamageEvent event, PlayerSession victimSession, PlayerSession attackerSession) {
+        Match match = victimSession != null ? victimSession.getMatch() : null;
+        if (match == null || !victimSession.isInSameMatch(attackerSession)) return;
+
+        Kit kit = match.getKit();
+        if (kit != null && kit.getRules().getDamageMultiplier() > 0) {
+            event.setDamage(event.getDamage() * kit.getRules().getDamageMultiplier());
+        }
+    }
+
+    /**
+     * Credits the attacker with the damage of a hit that lands on another player in their match.
+     */
+    private void recordDamage(EntityDamageEvent event, Player victim, PlayerSession victimSession,
+                              Player attacker, PlayerSession attackerSession) {
+        Match match = victimSession.getMatch();
+        if (attacker == null || attacker.equals(victim) || match == null || !victimSession.isInSameMatch(attackerSession)) return;
+
+        // Overkill is not counted
+        match.addDamageDealt(attacker.getUniqueId(), Math.min(event.getFinalDamage(), victim.getHealth()));
+    }
+
+    /**
+     * Replaces vanilla death for players in a match or duel. A totem in either hand is left to vanilla,
+     * and the duel death location is recorded so the respawn listener can put the player back there.
+     */
+    private void handleLethalHit(EntityDamageEvent event, Player victim, PlayerSession victimSession) {
+        if (victim.getHealth() - event.getFinalDamage() > 0) return;
+
+        Duel duel = victimSession.getDuel();
+        if (duel != null) {
+            plugin.getDuelListener().recordDeathLocation(victim);
+        }
+
+        if (victim.getInventory().getItemInMainHand().getType() == Material.TOTEM_OF_UNDYING ||
+            victim.getInventory().getItemInOffHand().getType() == Material.TOTEM_OF_UNDYING) {
+            return;
+        }
+
+        if (plugin.getConfig().getBoolean("debug", false)) {
+            plugin.getLogger().info("Custom death handling for player in " + (duel != null ? "duel" : "match") + ": " + victim.getName());
+        }
+
+        event.setCancelled(true);
+        if (duel != null) {
+            plugin.getPlayerDeathListener().handleDuelPlayerDeath(victim);
+        } else {
+            Match match = victimSession.getMatch();
+            if (match != null) {
+                plugin.getPlayerDeathListener().handlePartyPlayerDeath(victim, match);
+            }
+        }
+    }
+
+    private static boolean isStarting(Match match) {
+        return match.getState() == Match.MatchState.PREPARING || match.getState() == Match.MatchState.COUNTDOWN;
+    }
+
+    private static boolean isTeamMatch(Match match) {
+        String type = match.getMatchType();
+        return type.equalsIgnoreCase("split") || type.startsWith("queue_") || type.equalsIgnoreCase("partyvs");
+    }
+}
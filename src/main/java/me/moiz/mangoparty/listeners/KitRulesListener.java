@@ -10,7 +10,6 @@ import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.block.BlockBreakEvent;
 import org.bukkit.event.block.BlockPlaceEvent;
-import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.event.entity.EntityRegainHealthEvent;
 
 public class KitRulesListener implements Listener {
@@ -25,7 +24,7 @@ public class KitRulesListener implements Listener {
         if (!(event.getEntity() instanceof Player)) return;
         
         Player player = (Player) event.getEntity();
-        Match match = plugin.getMatchManager().getPlayerMatch(player);
+        Match match = plugin.getSessionManager().getMatch(player);
         
         if (match == null) return;
         
@@ -41,7 +40,7 @@ public class KitRulesListener implements Listener {
     @EventHandler(priority = EventPriority.HIGH)
     public void onBlockBreak(BlockBreakEvent event) {
         Player player = event.getPlayer();
-        Match match = plugin.getMatchManager().getPlayerMatch(player);
+        Match match = plugin.getSessionManager().getMatch(player);
         
         if (match == null) return;
         
@@ -55,7 +54,7 @@ public class KitRulesListener implements Listener {
     @EventHandler(priority = EventPriority.HIGH)
     public void onBlockPlace(BlockPlaceEvent event) {
         Player player = event.getPlayer();
-        Match match = plugin.getMatchManager().getPlayerMatch(player);
+        Match match = plugin.getSessionManager().getMatch(player);
         
         if (match == null) return;
         
@@ -75,27 +74,4 @@ public class KitRulesListener implements Listener {
             }
         }
     }
-    
-    @EventHandler(priority = EventPriority.LOWEST) // Use LOWEST to run before other damage modifiers
-    public void onEntityDamageByEntity(EntityDamageByEntityEvent event) {
-        if (!(event.getEntity() instanceof Player)) return;
-        if (!(event.getDamager() instanceof Player)) return;
-        
-        Player victim = (Player) event.getEntity();
-        Player attacker = (Player) event.getDamager();
-        
-        Match match = plugin.getMatchManager().getPlayerMatch(victim);
-        if (match == null) return;
-        
-        // Check if both players are in the same match
-        if (!plugin.getMatchManager().isInSameMatch(victim, attacker)) return;
-        
-        Kit kit = match.getKit();
-        if (kit != null && kit.getRules().getDamageMultiplier() > 0) {
-            // Apply damage multiplier but let vanilla handle the actual damage
-            // This ensures resistance effects and other vanilla mechanics still work
-            double newDamage = event.getDamage() * kit.getRules().getDamageMultiplier();
-            event.setDamage(newDamage);
-        }
-    }
 }
@@ -6,10 +6,8 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
-import org.bukkit.event.entity.EntityDamageEvent;
 import org.bukkit.event.player.PlayerDropItemEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
-import org.bukkit.event.player.PlayerMoveEvent;
 import org.bukkit.inventory.ItemStack;
 
 public class MatchCountdownListener implements Listener {
@@ -22,7 +20,7 @@ public class MatchCountdownListener implements Listener {
     @EventHandler(priority = EventPriority.HIGHEST)
     public void onPlayerDropItem(PlayerDropItemEvent event) {
         Player player = event.getPlayer();
-        Match match = plugin.getMatchManager().getPlayerMatch(player);
+        Match match = plugin.getSessionManager().getMatch(player);
         
         // Prevent dropping items if player is in a match that's in preparation state
         if (match != null && match.getState() == Match.MatchState.PREPARING) {
@@ -31,31 +29,10 @@ public class MatchCountdownListener implements Listener {
         }
     }
     
-    @EventHandler(priority = EventPriority.HIGHEST)
-    public void onPlayerMove(PlayerMoveEvent event) {
-        // Only cancel significant movement (not just looking around)
-        if (event.getFrom().getBlockX() == event.getTo().getBlockX() &&
-            event.getFrom().getBlockY() == event.getTo().getBlockY() &&
-            event.getFrom().getBlockZ() == event.getTo().getBlockZ()) {
-            return;
-        }
-        
-        Player player = event.getPlayer();
-        Match match = plugin.getMatchManager().getPlayerMatch(player);
-        
-        // Prevent movement if player is in a match that's in preparation state
-        if (match != null && match.getState() == Match.MatchState.PREPARING) {
-            // Allow movement if player has normal walk speed (countdown ended)
-            if (player.getWalkSpeed() == 0.0f) {
-                event.setCancelled(true);
-            }
-        }
-    }
-    
     @EventHandler(priority = EventPriority.HIGHEST)
     public void onPlayerInteract(PlayerInteractEvent event) {
         Player player = event.getPlayer();
-        Match match = plugin.getMatchManager().getPlayerMatch(player);
+        Match match = plugin.getSessionManager().getMatch(player);
         
         // Check if player is in a match that's in preparation state
         if (match != null && match.getState() == Match.MatchState.PREPARING) {
@@ -71,32 +48,4 @@ public class MatchCountdownListener implements Listener {
             // We want to allow inventory organization and crossbow loading during the countdown
         }
     }
-    
-    @EventHandler(priority = EventPriority.HIGHEST)
-    public void onEntityDamage(EntityDamageEvent event) {
-        // Only handle player damage
-        if (!(event.getEntity() instanceof Player)) {
-            return;
-        }
-        
-        Player player = (Player) event.getEntity();
-        Match match = plugin.getMatchManager().getPlayerMatch(player);
-        
-        // Prevent all damage during countdown or preparation
-        if (match != null && 
-            (match.getState() == Match.MatchState.PREPARING || match.getState() == Match.MatchState.COUNTDOWN)) {
-            
-            // Make player invincible during countdown
-            player.setInvulnerable(true);
-            event.setCancelled(true);
-            
-            // Specifically for fire damage, also extinguish the player
-            EntityDamageEvent.DamageCause cause = event.getCause();
-            if (cause == EntityDamageEvent.DamageCause.FIRE ||
-                cause == EntityDamageEvent.DamageCause.FIRE_TICK ||
-                cause == EntityDamageEvent.DamageCause.LAVA) {
-                player.setFireTicks(0); // Extinguish player
-            }
-        }
-    }
-}
\ No newline at end of file
+}
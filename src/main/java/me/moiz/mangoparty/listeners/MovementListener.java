@@ -0,0 +1,119 @@
+package me.moiz.mangoparty.listeners;
+
+import me.moiz.mangoparty.MangoParty;
+import me.moiz.mangoparty.models.Arena;
+import me.moiz.mangoparty.models.ArenaGeometry;
+import me.moiz.mangoparty.models.Match;
+import me.moiz.mangoparty.models.PlayerSession;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerMoveEvent;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The single move handler: freezes players during a match's countdown and keeps them inside the arena.
+ * Move events arrive for every position and head rotation packet, so the handler drops rotation-only
+ * moves and players without a session before anything else, and only compares the player against the
+ * arena bounds when they enter a new block or move within a block on the edge of the arena.
+ * Nothing is enforced while a match is still preparing: its players wait in the lobby until the arena
+ * has been pasted, and are only teleported in as the countdown starts.
+ */
+public class MovementListener implements Listener {
+    private MangoParty plugin;
+    private Map<UUID, Long> lastTeleportTime;
+    
+    public MovementListener(MangoParty plugin) {
+        this.plugin = plugin;
+        this.lastTeleportTime = new HashMap<>();
+    }
+    
+    @EventHandler(priority = EventPriority.HIGHEST, ignoreCancelled = true)
+    public void onPlayerMove(PlayerMoveEvent event) {
+        Location from = event.getFrom();
+        Location to = event.getTo();
+        if (to == null || (from.getX() == to.getX() && from.getY() == to.getY() && from.getZ() == to.getZ())) {
+            return; // Only looking around
+        }
+        
+        Player player = event.getPlayer();
+        PlayerSession session = plugin.getSessionManager().get(player);
+        Match match = session != null ? session.getMatch() : null;
+        if (match == null) {
+            return; // Not in a match
+        }
+        if (match.getState() != Match.MatchState.COUNTDOWN && match.getState() != Match.MatchState.ACTIVE) {
+            return; // Not teleported into the arena yet, or already on the way out
+        }
+        Location center = match.getArena().getCenter();
+        if (center == null || to.getWorld() != center.getWorld()) {
+            return; // Somewhere else entirely, e.g. still in the lobby world
+        }
+        
+        boolean crossedBlock = from.getBlockX() != to.getBlockX() ||
+                               from.getBlockY() != to.getBlockY() ||
+                               from.getBlockZ() != to.getBlockZ();
+        
+        // Keep players on their spawn while the countdown has them frozen
+        // Allow movement if player has normal walk speed (countdown ended)
+        if (crossedBlock && match.getState() == Match.MatchState.COUNTDOWN && player.getWalkSpeed() == 0.0f) {
+            event.setCancelled(true);
+            return;
+        }
+        
+        if (!session.isSpectating()) {
+            checkBounds(player, match, to, crossedBlock);
+        }
+    }
+    
+    /**
+     * Teleports a player who has left the arena back to their spawn.
+     */
+    private void checkBounds(Player player, Match match, Location to, boolean crossedBlock) {
+        Arena arena = match.getArena();
+        ArenaGeometry geometry = arena.getGeometry();
+        if (geometry == null) {
+            return; // Arena bounds not set
+        }
+        
+        // The exact bounds can only be crossed when changing blocks or inside a block on the arena's faces
+        if (!crossedBlock && geometry.isInteriorBlock(to.getBlockX(), to.getBlockY(), to.getBlockZ())) {
+            return;
+        }
+        if (geometry.contains(to.getX(), to.getY(), to.getZ())) {
+            return;
+        }
+        
+        // Prevent spam teleporting
+        long currentTime = System.currentTimeMillis();
+        Long lastTeleport = lastTeleportTime.get(player.getUniqueId());
+        if (lastTeleport != null && currentTime - lastTeleport < 2000) { // 2 second cooldown
+            return;
+        }
+        
+        lastTeleportTime.put(player.getUniqueId(), currentTime);
+        
+        // Teleport player back to their spawn
+        Location spawnLocation;
+        if ("split".equalsIgnoreCase(match.getMatchType())) {
+            int team = match.getPlayerTeam(player.getUniqueId());
+            spawnLocation = team == 1 ? arena.getSpawn1() : arena.getSpawn2();
+        } else {
+            spawnLocation = arena.getCenter();
+        }
+        
+        if (spawnLocation != null) {
+            player.teleport(spawnLocation);
+            player.sendMessage("§cYou left the arena bounds! Teleported back to spawn.");
+            
+            // Drop the cooldown entry after 5 seconds
+            UUID playerId = player.getUniqueId();
+            plugin.getGameTicker().after(100L, () -> lastTeleportTime.remove(playerId));
+        }
+    }
+}
@@ -6,6 +6,7 @@ import me.moiz.mangoparty.models.Party;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 
 public class PlayerConnectionListener implements Listener {
@@ -15,6 +16,17 @@ public class PlayerConnectionListener implements Listener {
         this.plugin = plugin;
     }
     
+    @EventHandler
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        Player player = event.getPlayer();
+        
+        // A rejoining player has a new Player object, so rebuild the roster of any match they are still part of
+        Match match = plugin.getSessionManager().getMatch(player);
+        if (match != null) {
+            match.invalidateRoster();
+        }
+    }
+    
     @EventHandler
     public void onPlayerQuit(PlayerQuitEvent event) {
         Player player = event.getPlayer();
@@ -23,7 +35,7 @@ public class PlayerConnectionListener implements Listener {
         plugin.getQueueManager().removePlayer(player.getUniqueId());
         
         // Check if player is in a match
-        Match match = plugin.getMatchManager().getPlayerMatch(player);
+        Match match = plugin.getSessionManager().getMatch(player);
         if (match != null) {
             // Eliminate player from match
             plugin.getMatchManager().eliminatePlayer(player, match);
@@ -34,6 +46,9 @@ public class PlayerConnectionListener implements Listener {
                     matchPlayer.sendMessage("§c" + player.getName() + " §7left the server and was eliminated!");
                 }
             }
+            
+            // The player still counts as online until the quit is over, so drop them from the roster afterwards
+            plugin.getGameTicker().after(1L, match::invalidateRoster);
         }
         
         // Check if player is in a party
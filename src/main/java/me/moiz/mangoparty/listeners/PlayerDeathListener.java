@@ -3,14 +3,13 @@ package me.moiz.mangoparty.listeners;
 import me.moiz.mangoparty.MangoParty;
 import me.moiz.mangoparty.models.Duel;
 import me.moiz.mangoparty.models.Match;
+import me.moiz.mangoparty.models.PlayerSession;
 import org.bukkit.GameMode;
 import org.bukkit.Location;
-import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
-import org.bukkit.event.entity.EntityDamageEvent;
 import org.bukkit.event.entity.EntityResurrectEvent;
 import org.bukkit.event.entity.PlayerDeathEvent;
 import org.bukkit.inventory.ItemStack;
@@ -26,93 +25,15 @@ public class PlayerDeathListener implements Listener {
     private Map<UUID, ItemStack[]> savedInventories = new HashMap<>();
     private Map<UUID, ItemStack[]> savedArmor = new HashMap<>();
     private Map<UUID, ItemStack> savedOffhand = new HashMap<>();
-    private Map<UUID, Long> invincibilityTimers = new HashMap<>();
     
     public PlayerDeathListener(MangoParty plugin) {
         this.plugin = plugin;
     }
     
-    /**
-     * Handle fatal damage for players in duels or matches
-     * For players not in duels or matches, vanilla death mechanics are preserved
-     * IMPORTANT: This listener ONLY affects players in duels or matches
-     */
-    @EventHandler(priority = EventPriority.HIGH)
-    public void onPlayerDamage(EntityDamageEvent event) {
-        // Only handle player damage
-        if (!(event.getEntity() instanceof Player)) {
-            return;
-        }
-        
-        Player player = (Player) event.getEntity();
-        
-        // Check if player is in a duel
-        boolean isInDuel = plugin.getDuelManager().isInDuel(player);
-        // Check if player is in a match
-        boolean isInMatch = plugin.getMatchManager().isInMatch(player);
-        
-        // IMPORTANT: Only handle damage for players in duels or matches
-        // This ensures vanilla mechanics work for all other players
-        if (!isInDuel && !isInMatch) {
-            return; // Let vanilla handle damage for non-match players
-        }
-        
-        // Debug information - only log if debug is enabled
-        boolean debug = plugin.getConfig().getBoolean("debug", false);
-        if (debug) {
-            plugin.getLogger().info("Custom death handling for player in " + 
-                                  (isInDuel ? "duel" : "match") + ": " + player.getName());
-        }
-        
-        // Check if player is invincible (for match/duel players only)
-        if (invincibilityTimers.containsKey(player.getUniqueId()) && 
-            System.currentTimeMillis() < invincibilityTimers.get(player.getUniqueId())) {
-            event.setCancelled(true);
-            return;
-        }
-        
-        // Only handle fatal damage
-        if ((player.getHealth() - event.getFinalDamage()) <= 0) {
-            // Check for totem of undying BEFORE handling death
-            boolean hasTotem = false;
-            
-            // Check main hand
-            ItemStack mainHand = player.getInventory().getItemInMainHand();
-            if (mainHand != null && mainHand.getType() == Material.TOTEM_OF_UNDYING) {
-                hasTotem = true;
-            }
-            
-            // Check off hand
-            ItemStack offHand = player.getInventory().getItemInOffHand();
-            if (offHand != null && offHand.getType() == Material.TOTEM_OF_UNDYING) {
-                hasTotem = true;
-            }
-            
-            // If player has totem, let vanilla handle it - don't cancel or handle manually
-            if (hasTotem) {
-                if (debug) {
-                    plugin.getLogger().info("Player has totem, letting vanilla handle it: " + player.getName());
-                }
-                return; // Let totem activate naturally
-            }
-            
-            // Cancel the damage event to prevent vanilla death
-            event.setCancelled(true);
-            
-            // Handle death based on game mode
-            if (isInDuel) {
-                handleDuelPlayerDeath(player);
-            } else if (isInMatch) {
-                Match match = plugin.getMatchManager().getPlayerMatch(player);
-                handlePartyPlayerDeath(player, match);
-            }
-        }
-    }
-    
     /**
      * Handle player deaths in duels - optimized for next round handling
      */
-    private void handleDuelPlayerDeath(Player player) {
+    void handleDuelPlayerDeath(Player player) {
         // Play death animation
         player.playEffect(org.bukkit.EntityEffect.DEATH);
         
@@ -130,7 +51,7 @@ public class PlayerDeathListener implements Listener {
     /**
      * Handle player deaths in party matches - optimized for spectator mode
      */
-    private void handlePartyPlayerDeath(Player player, Match match) {
+    void handlePartyPlayerDeath(Player player, Match match) {
         // Handle killer if exists
         Player killer = player.getKiller();
         if (killer != null && plugin.getMatchManager().isInMatch(killer)) {
@@ -173,8 +94,9 @@ public class PlayerDeathListener implements Listener {
         Player player = (Player) event.getEntity();
         
         // Check if player is in a duel or match
-        boolean isInDuel = plugin.getDuelManager().isInDuel(player);
-        boolean isInMatch = plugin.getMatchManager().isInMatch(player);
+        PlayerSession session = plugin.getSessionManager().get(player);
+        boolean isInDuel = session != null && session.getDuel() != null;
+        boolean isInMatch = session != null && session.isInMatch();
         
         // IMPORTANT: Only handle resurrection for players in duels or matches
         // This ensures vanilla mechanics work for all other players
@@ -3,6 +3,7 @@ package me.moiz.mangoparty.listeners;
 import me.moiz.mangoparty.MangoParty;
 import me.moiz.mangoparty.models.Duel;
 import me.moiz.mangoparty.models.Match;
+import me.moiz.mangoparty.models.PlayerSession;
 import org.bukkit.GameMode;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
@@ -29,7 +30,8 @@ public class PlayerRespawnListener implements Listener {
         Player player = event.getPlayer();
         
         // Check if player is in a duel
-        if (plugin.getDuelManager().isInDuel(player)) {
+        PlayerSession session = plugin.getSessionManager().get(player);
+        if (session != null && session.getDuel() != null) {
             // Get the stored death location from DuelListener
             DuelListener duelListener = plugin.getDuelListener();
             Location deathLoc = duelListener.getDeathLocation(player.getUniqueId());
@@ -82,7 +84,7 @@ public class PlayerRespawnListener implements Listener {
         }
         
         // Handle regular matches
-        Match match = plugin.getMatchManager().getPlayerMatch(player);
+        Match match = session != null ? session.getMatch() : null;
         
         if (match == null) {
             return; // Player not in a match
@@ -90,7 +92,7 @@ public class PlayerRespawnListener implements Listener {
         
         // For match players, we don't cancel the event but we set a custom respawn location
         // If player is eliminated, they should respawn at their death location
-        if (match.isPlayerSpectator(player.getUniqueId())) {
+        if (session.isSpectating()) {
             // Set respawn location to their current location (death location)
             // This prevents them from being teleported to world spawn
             final Location currentLoc = player.getLocation().clone();
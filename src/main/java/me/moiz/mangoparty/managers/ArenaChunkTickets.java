@@ -0,0 +1,237 @@
+package me.moiz.mangoparty.managers;
+
+import me.moiz.mangoparty.MangoParty;
+import me.moiz.mangoparty.models.Arena;
+import me.moiz.mangoparty.models.ArenaGeometry;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Keeps leased arenas' chunks in memory with plugin chunk tickets.
+ * Chunks are ticketed as soon as a lease is granted, a few per tick so a large arena does not stall the
+ * server, and held until a grace period after the lease ends, so an arena that is leased again straight
+ * away does not have to be reloaded. Match starts wait on {@link #whenResident(String)} before teleporting.
+ *
+ * Spigot has no asynchronous chunk loading API, so loads are spread across ticks rather than taken off
+ * the main thread; chunks that are already loaded are ticketed without counting against the budget.
+ */
+public class ArenaChunkTickets {
+    private final MangoParty plugin;
+    private final Map<String, Holding> holdings; // Arena name -> ticketed chunks, main thread only
+    private final Deque<Holding> loading; // Holdings with chunks still to ticket, oldest first
+    private final int loadsPerTick;
+    private final long releaseGrace;
+    private BukkitTask loader;
+    private long residentCount;
+    private long totalWaitMillis;
+    private long maxWaitMillis;
+
+    /**
+     * Constructs a new ArenaChunkTickets.
+     *
+     * @param plugin The MangoParty plugin instance
+     */
+    public ArenaChunkTickets(MangoParty plugin) {
+        this.plugin = plugin;
+        this.holdings = new HashMap<>();
+        this.loading = new ArrayDeque<>();
+        this.loadsPerTick = Math.max(1, plugin.getConfig().getInt("arena.chunks.loads-per-tick", 4));
+        this.releaseGrace = Math.max(0L, plugin.getConfig().getLong("arena.chunks.release-grace", 200L));
+    }
+
+    /**
+     * Starts ticketing an arena's chunks for a new lease. If the arena's chunks are still held from a
+     * previous lease, the pending release is cancelled and nothing is reloaded.
+     *
+     * @param arena The leased arena
+     * @param owner The ID of the match or duel holding the lease, for reporting
+     */
+    public void acquire(Arena arena, String owner) {
+        if (arena == null || arena.getGeometry() == null) return;
+
+        World world = arena.getCorner1().getWorld();
+        if (world == null) return;
+
+        Holding holding = holdings.get(arena.getName());
+        if (holding != null) {
+            if (holding.releaseTask != null) {
+                holding.releaseTask.cancel();
+                holding.releaseTask = null;
+            }
+            holding.owner = owner;
+            return;
+        }
+
+        holding = new Holding(arena.getName(), owner, world, chunkKeys(arena));
+        holdings.put(arena.getName(), holding);
+        loading.add(holding);
+        if (loader == null) {
+            loader = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 0L, 1L);
+        }
+    }
+
+    /**
+     * @param arenaName The arena name
+     * @return A future completing with how long the arena's chunks took to load, in milliseconds,
+     *         once they are all ticketed. Arenas without a holding complete immediately.
+     */
+    public CompletableFuture<Long> whenResident(String arenaName) {
+        Holding holding = holdings.get(arenaName);
+        return holding != null ? holding.resident : CompletableFuture.completedFuture(0L);
+    }
+
+    /**
+     * Drops an arena's tickets once the release grace period has passed without a new lease.
+     *
+     * @param arenaName The arena name
+     */
+    public void release(String arenaName) {
+        Holding holding = holdings.get(arenaName);
+        if (holding == null || holding.releaseTask != null) return;
+
+        if (releaseGrace == 0L) {
+            releaseNow(arenaName);
+            return;
+        }
+        holding.releaseTask = Bukkit.getScheduler().runTaskLater(plugin, () -> releaseNow(arenaName), releaseGrace);
+    }
+
+    /**
+     * Drops an arena's tickets right away, e.g. when the arena is deleted or its instance is reclaimed.
+     *
+     * @param arenaName The arena name
+     */
+    public void releaseNow(String arenaName) {
+        Holding holding = holdings.remove(arenaName);
+        if (holding == null) return;
+
+        if (holding.releaseTask != null) {
+            holding.releaseTask.cancel();
+        }
+        loading.remove(holding);
+        for (int i = 0; i < holding.ticketed; i++) {
+            holding.world.removePluginChunkTicket(chunkX(holding.chunks[i]), chunkZ(holding.chunks[i]), plugin);
+        }
+        // Nothing is waiting on an arena that has no lease, but do not leave futures hanging
+        holding.resident.complete(System.currentTimeMillis() - holding.startedAt);
+    }
+
+    /**
+     * Tickets up to the per-tick budget of unloaded chunks, oldest lease first.
+     */
+    private void tick() {
+        int loads = 0;
+        while (!loading.isEmpty() && loads < loadsPerTick) {
+            Holding holding = loading.peek();
+            while (holding.ticketed < holding.chunks.length && loads < loadsPerTick) {
+                long key = holding.chunks[holding.ticketed++];
+                int cx = chunkX(key);
+                int cz = chunkZ(key);
+                if (!holding.world.isChunkLoaded(cx, cz)) {
+                    loads++;
+                }
+                holding.world.addPluginChunkTicket(cx, cz, plugin); // Loads the chunk if needed
+            }
+
+            if (holding.ticketed < holding.chunks.length) break;
+
+            loading.poll();
+            long waited = System.currentTimeMillis() - holding.startedAt;
+            residentCount++;
+            totalWaitMillis += waited;
+            maxWaitMillis = Math.max(maxWaitMillis, waited);
+            plugin.getLogger().info("Arena " + holding.arenaName + " resident for " + holding.owner + " after " + waited +
+                    "ms (" + holding.chunks.length + " chunks)");
+            holding.resident.complete(waited);
+        }
+
+        if (loading.isEmpty()) {
+            loader.cancel();
+            loader = null;
+        }
+    }
+
+    private static long[] chunkKeys(Arena arena) {
+        ArenaGeometry geometry = arena.getGeometry();
+        int minCX = geometry.getMinChunkX();
+        int minCZ = geometry.getMinChunkZ();
+        int maxCX = geometry.getMaxChunkX();
+        int maxCZ = geometry.getMaxChunkZ();
+
+        long[] keys = new long[(maxCX - minCX + 1) * (maxCZ - minCZ + 1)];
+        int i = 0;
+        for (int cx = minCX; cx <= maxCX; cx++) {
+            for (int cz = minCZ; cz <= maxCZ; cz++) {
+                keys[i++] = ((long) cx << 32) | (cz & 0xFFFFFFFFL);
+            }
+        }
+        return keys;
+    }
+
+    private static int chunkX(long key) {
+        return (int) (key >> 32);
+    }
+
+    private static int chunkZ(long key) {
+        return (int) key;
+    }
+
+    /**
+     * @return The number of arenas whose chunks are currently held
+     */
+    public int getHeldArenas() {
+        return holdings.size();
+    }
+
+    /**
+     * @return The average time a lease waited for its chunks, in milliseconds
+     */
+    public long getAverageWaitMillis() {
+        return residentCount == 0 ? 0 : totalWaitMillis / residentCount;
+    }
+
+    /**
+     * @return The longest time a lease waited for its chunks, in milliseconds
+     */
+    public long getMaxWaitMillis() {
+        return maxWaitMillis;
+    }
+
+    /**
+     * Drops every ticket. Called on plugin disable.
+     */
+    public void shutdown() {
+        if (loader != null) {
+            loader.cancel();
+            loader = null;
+        }
+        for (String arenaName : holdings.keySet().toArray(new String[0])) {
+            releaseNow(arenaName);
+        }
+    }
+
+    private static class Holding {
+        private final String arenaName;
+        private final World world;
+        private final long[] chunks;
+        private final long startedAt = System.currentTimeMillis();
+        private final CompletableFuture<Long> resident = new CompletableFuture<>();
+        private String owner;
+        private int ticketed; // Chunks [0, ticketed) hold a ticket
+        private BukkitTask releaseTask;
+
+        private Holding(String arenaName, String owner, World world, long[] chunks) {
+            this.arenaName = arenaName;
+            this.owner = owner;
+            this.world = world;
+            this.chunks = chunks;
+        }
+    }
+}
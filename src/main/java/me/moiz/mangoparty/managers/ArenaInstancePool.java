@@ -0,0 +1,326 @@
+package me.moiz.mangoparty.managers;
+
+import me.moiz.mangoparty.MangoParty;
+import me.moiz.mangoparty.models.Arena;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps a number of already-pasted instances ready for every base arena so that
+ * match starts can lease one immediately instead of waiting on a schematic paste.
+ * The pool is warmed in the background after startup and topped up as instances are leased.
+ * Instances beyond the ready target that stay idle past the idle timeout are reclaimed.
+ */
+public class ArenaInstancePool {
+    private final MangoParty plugin;
+    private final ArenaManager arenaManager;
+    private final Map<String, Deque<Arena>> readyInstances; // Base arena name -> ready instances
+    private final Map<String, AtomicInteger> instanceCounts; // Base arena name -> instances owned by the pool
+    private final Map<String, Integer> holds; // Base arena name -> instances kept regardless of idle time
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+    private final AtomicLong reclaimed;
+    private volatile boolean refillPending;
+    private BukkitTask refillTask;
+
+    private int minReady;
+    private int maxInstances;
+    private long idleTimeoutMillis;
+
+    /**
+     * Constructs a new ArenaInstancePool.
+     *
+     * @param plugin The MangoParty plugin instance
+     * @param arenaManager The arena manager that creates and stores instances
+     */
+    public ArenaInstancePool(MangoParty plugin, ArenaManager arenaManager) {
+        this.plugin = plugin;
+        this.arenaManager = arenaManager;
+        this.readyInstances = new ConcurrentHashMap<>();
+        this.instanceCounts = new ConcurrentHashMap<>();
+        this.holds = new ConcurrentHashMap<>();
+        this.hits = new AtomicLong();
+        this.misses = new AtomicLong();
+        this.reclaimed = new AtomicLong();
+    }
+
+    /**
+     * Reads the pool settings and schedules the background warm-up and refill task.
+     */
+    public void start() {
+        this.minReady = Math.max(0, plugin.getConfig().getInt("arena.pool.min-ready", 2));
+        this.maxInstances = Math.max(minReady, plugin.getConfig().getInt("arena.pool.max-instances", 8));
+        long warmupDelay = Math.max(1L, plugin.getConfig().getLong("arena.pool.warmup-delay", 100L));
+        long refillInterval = Math.max(1L, plugin.getConfig().getLong("arena.pool.refill-interval", 20L));
+        this.idleTimeoutMillis = Math.max(1L, plugin.getConfig().getLong("arena.pool.idle-timeout", 300L)) * 1000L;
+
+        refillTask = Bukkit.getScheduler().runTaskTimer(plugin, this::refill, warmupDelay, refillInterval);
+        plugin.getLogger().info("Arena instance pool started (min-ready: " + minReady + ", max-instances: " + maxInstances + ")");
+    }
+
+    /**
+     * Registers an instance that already exists (e.g. loaded from arenas.yml) as ready.
+     *
+     * @param instance The instance arena to adopt
+     */
+    public void adopt(Arena instance) {
+        if (instance == null || !instance.isInstance() || instance.getOriginalArena() == null) return;
+
+        countFor(instance.getOriginalArena()).incrementAndGet();
+        if (!arenaManager.isArenaReserved(instance.getName())) {
+            readyFor(instance.getOriginalArena()).offerLast(instance);
+        }
+    }
+
+    /**
+     * Leases a ready instance of the given base arena.
+     * Falls back to building one on demand when the pool is empty. Either way the instance is handed out
+     * under a short pool hold that the caller's own reservation takes over.
+     *
+     * @param baseArena The base arena to lease an instance of
+     * @param kitName The kit the instance is needed for
+     * @return A ready instance, or null if none could be provided
+     */
+    public Arena acquire(Arena baseArena, String kitName) {
+        Arena instance = pollReady(baseArena);
+        if (instance != null) {
+            return instance;
+        }
+
+        misses.incrementAndGet();
+        instance = arenaManager.createArenaInstance(baseArena, kitName);
+        if (instance != null) {
+            countFor(baseArena.getName()).incrementAndGet();
+            arenaManager.reserveArena(instance.getName(), ArenaManager.POOL_LEASE_OWNER);
+        }
+        requestRefill();
+        return instance;
+    }
+
+    /**
+     * Takes a ready instance of the given base arena out of the pool without building one.
+     * The instance is leased under a short pool hold as it is handed out, so no other caller can take it
+     * before the caller reserves it; a hold that is never taken over expires and returns the instance.
+     *
+     * @param baseArena The base arena to lease an instance of
+     * @return A ready instance, or null if the pool is empty for this arena
+     */
+    public Arena pollReady(Arena baseArena) {
+        if (baseArena == null) return null;
+
+        Deque<Arena> ready = readyInstances.get(baseArena.getName());
+        if (ready == null) return null;
+
+        Arena instance;
+        while ((instance = ready.pollFirst()) != null) {
+            // Skip instances that failed verification, or that were reserved directly by name while pooled
+            if (instance.getInstanceState() != Arena.InstanceState.QUARANTINED &&
+                arenaManager.reserveArena(instance.getName(), ArenaManager.POOL_LEASE_OWNER)) {
+                hits.incrementAndGet();
+                requestRefill();
+                return instance;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns a released instance to the ready set.
+     *
+     * @param instance The instance that was released
+     */
+    public void offer(Arena instance) {
+        if (instance == null || !instance.isInstance() || instance.getOriginalArena() == null) return;
+        if (instance.getInstanceState() == Arena.InstanceState.QUARANTINED) return;
+
+        Deque<Arena> ready = readyFor(instance.getOriginalArena());
+        if (!ready.contains(instance)) {
+            ready.offerLast(instance);
+        }
+    }
+
+    /**
+     * Drops an instance from the ready set once it has been reserved through any path.
+     *
+     * @param instance The instance that was reserved
+     */
+    public void onReserved(Arena instance) {
+        if (instance == null || !instance.isInstance() || instance.getOriginalArena() == null) return;
+
+        Deque<Arena> ready = readyInstances.get(instance.getOriginalArena());
+        if (ready != null) {
+            ready.remove(instance);
+        }
+    }
+
+    /**
+     * Forgets an instance entirely, e.g. when it is deleted.
+     *
+     * @param instance The instance being removed
+     */
+    public void remove(Arena instance) {
+        if (instance == null || !instance.isInstance() || instance.getOriginalArena() == null) return;
+
+        Deque<Arena> ready = readyInstances.get(instance.getOriginalArena());
+        if (ready != null) {
+            ready.remove(instance);
+        }
+        AtomicInteger count = instanceCounts.get(instance.getOriginalArena());
+        if (count != null && count.get() > 0) {
+            count.decrementAndGet();
+        }
+    }
+
+    /**
+     * Forgets all pooled state for a base arena, e.g. when the base arena is deleted.
+     *
+     * @param baseArenaName The name of the base arena
+     */
+    public void removeBase(String baseArenaName) {
+        readyInstances.remove(baseArenaName);
+        instanceCounts.remove(baseArenaName);
+        holds.remove(baseArenaName);
+    }
+
+    /**
+     * Keeps at least the given number of a base arena's ready instances from being reclaimed when idle,
+     * e.g. instances pre-generated for an event.
+     *
+     * @param baseArenaName The name of the base arena
+     * @param instances The number of ready instances to keep, 0 to fall back to min-ready
+     */
+    public void hold(String baseArenaName, int instances) {
+        if (instances > 0) {
+            holds.put(baseArenaName, instances);
+        } else {
+            holds.remove(baseArenaName);
+        }
+    }
+
+    /**
+     * Schedules a refill pass on the next tick so leased instances are replaced promptly.
+     */
+    private void requestRefill() {
+        if (refillPending || refillTask == null) return;
+
+        refillPending = true;
+        Bukkit.getScheduler().runTask(plugin, this::refill);
+    }
+
+    /**
+     * Builds at most one instance per base arena that is below its ready target.
+     * Spreading builds over passes keeps each tick's share of paste work small.
+     */
+    private void refill() {
+        refillPending = false;
+
+        reclaimIdle();
+        if (minReady <= 0) return;
+
+        for (Arena arena : arenaManager.getArenas().values()) {
+            if (arena.isInstance() || !arena.isComplete() || !arenaManager.getSchematicCache().hasSchematic(arena.getName())) {
+                continue;
+            }
+
+            Deque<Arena> ready = readyFor(arena.getName());
+            AtomicInteger count = countFor(arena.getName());
+            if (ready.size() >= minReady || count.get() >= maxInstances) {
+                continue;
+            }
+
+            Arena instance = arenaManager.createArenaInstance(arena, null, PasteScheduler.Priority.BACKGROUND);
+            if (instance != null) {
+                count.incrementAndGet();
+                ready.offerLast(instance);
+                plugin.getLogger().fine("Pre-warmed instance " + instance.getName() + " (" + ready.size() + "/" + minReady + " ready)");
+            }
+        }
+    }
+
+    /**
+     * Reclaims at most one instance per base arena that has more ready instances than it needs,
+     * starting with the one that has waited longest.
+     */
+    private void reclaimIdle() {
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, Deque<Arena>> entry : readyInstances.entrySet()) {
+            Deque<Arena> ready = entry.getValue();
+            if (ready.size() <= Math.max(minReady, holds.getOrDefault(entry.getKey(), 0))) continue;
+
+            Arena oldest = ready.peekFirst();
+            if (oldest == null) continue;
+
+            Arena.InstanceState state = oldest.getInstanceState();
+            boolean idle = state == Arena.InstanceState.IDLE || state == Arena.InstanceState.READY;
+            if (idle && now - oldest.getStateSince() >= idleTimeoutMillis && arenaManager.reclaimInstance(oldest)) {
+                reclaimed.incrementAndGet();
+            }
+        }
+    }
+
+    private Deque<Arena> readyFor(String baseArenaName) {
+        return readyInstances.computeIfAbsent(baseArenaName, k -> new ConcurrentLinkedDeque<>());
+    }
+
+    private AtomicInteger countFor(String baseArenaName) {
+        return instanceCounts.computeIfAbsent(baseArenaName, k -> new AtomicInteger());
+    }
+
+    /**
+     * @return The number of leases served from a ready instance
+     */
+    public long getHits() { return hits.get(); }
+
+    /**
+     * @return The number of leases that had to build an instance on demand
+     */
+    public long getMisses() { return misses.get(); }
+
+    /**
+     * @return The number of idle instances reclaimed
+     */
+    public long getReclaimed() { return reclaimed.get(); }
+
+    /**
+     * @return The fraction of leases served from a ready instance, between 0 and 1
+     */
+    public double getHitRate() {
+        long total = hits.get() + misses.get();
+        return total == 0 ? 0.0 : (double) hits.get() / total;
+    }
+
+    /**
+     * @param baseArenaName The base arena name
+     * @return The number of ready instances for the base arena
+     */
+    public int getReadyCount(String baseArenaName) {
+        Deque<Arena> ready = readyInstances.get(baseArenaName);
+        return ready != null ? ready.size() : 0;
+    }
+
+    /**
+     * @param baseArenaName The base arena name
+     * @return The number of instances owned by the pool for the base arena
+     */
+    public int getInstanceCount(String baseArenaName) {
+        AtomicInteger count = instanceCounts.get(baseArenaName);
+        return count != null ? count.get() : 0;
+    }
+
+    /**
+     * Cancels the refill task.
+     */
+    public void shutdown() {
+        if (refillTask != null) {
+            refillTask.cancel();
+            refillTask = null;
+        }
+    }
+}
@@ -17,63 +17,195 @@ import com.sk89q.worldedit.regions.CuboidRegion;
 import com.sk89q.worldedit.session.ClipboardHolder;
 import me.moiz.mangoparty.MangoParty;
 import me.moiz.mangoparty.models.Arena;
+import me.moiz.mangoparty.models.ArenaGeometry;
+import me.moiz.mangoparty.models.ArenaJournal;
+import me.moiz.mangoparty.models.ArenaLease;
 import org.bukkit.Bukkit;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.Executor;
 import java.util.logging.Level;
 import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.scheduler.BukkitTask;
 
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class ArenaManager {
+    /** Lease owner of instances the pool has handed out but whose caller has not reserved them yet. */
+    public static final String POOL_LEASE_OWNER = "instance-pool";
+    private static final long POOL_HOLD_MILLIS = 30000L;
+    private static final String[] POINTS = {"corner1", "corner2", "center", "spawn1", "spawn2"}; // Location keys of an arena in arenas.yml
+    
     private MangoParty plugin;
     private Map<String, Arena> arenas;
-    private Set<String> reservedArenas; // Track which arenas are in use
+    private Map<String, ArenaLease> leases; // Arena name -> lease of the match or duel using it
+    private long leaseTtlMillis;
+    private BukkitTask leaseReaper;
+    private Set<String> freeArenas; // Complete arenas that are not reserved
+    private Map<String, Set<String>> freeArenasByKit; // Kit name -> free complete non-instance arenas allowing it
+    private Map<String, Set<String>> baseArenasByKit; // Kit name -> complete non-instance arenas allowing it
+    private Map<String, List<String>> indexedKits; // Arena name -> kits it is indexed under
     private File arenasFile;
     private YamlConfiguration arenasConfig;
-    private double defaultXOffset = 500.0; // Default X-axis offset for arena instances
-    private double defaultZOffset = 500.0; // Default Z-axis offset for arena instances
-    private ExecutorService asyncExecutor = Executors.newFixedThreadPool(3); // Thread pool for async operations
+    private ArenaPersister persister; // Writes arenas.yml off the main thread
+    private boolean persistInstances; // False to keep pool instances out of arenas.yml
+    private ArenaSlotAllocator slotAllocator; // Grid positions for arena instances
+    private ArenaWorldPool worldPool; // Void worlds that instances are spread across
+    private PasteScheduler pasteScheduler; // Tick-budgeted writer for all arena pastes
+    private SchematicCache schematicCache; // Size-bounded cache of schematic clipboards
+    private EntitySweeper entitySweeper; // Chunk-bounded removal of drops and projectiles
+    private ArenaChunkTickets chunkTickets; // Keeps leased arenas' chunks loaded
+    private ArenaInstancePool instancePool; // Pre-warmed instances per base arena
+    private ArenaPregenerator pregenerator; // Bulk instance builds requested by admins
+    private Map<String, ArenaJournal> journals; // Arena name -> block change journal
+    private Map<Long, List<ArenaJournal>> journalsByChunk; // Chunk key -> journals overlapping that chunk
+    private final AtomicLong skippedResets = new AtomicLong(); // Resets skipped because nothing changed
+    private final AtomicLong incrementalResets = new AtomicLong(); // Resets restored from the journal
+    private final AtomicLong fullResets = new AtomicLong(); // Resets that pasted the whole schematic
+    private final Map<String, CompletableFuture<Boolean>> pendingPastes = new ConcurrentHashMap<>(); // Arena name -> paste in progress
+    private final Set<String> verifiedInstances = ConcurrentHashMap.newKeySet(); // Instances whose region matched their schematic
+    private final AtomicLong verifications = new AtomicLong(); // Instance regions checked against their schematic
+    private final AtomicLong quarantines = new AtomicLong(); // Checks that found an instance not matching its schematic
+    private final ExecutorService verifier = Executors.newSingleThreadExecutor(); // Hashes captured instance regions
+    private boolean verifyInstances;
+    private int maxRepairs;
+    private final Executor mainThreadExecutor; // Runs continuations on the server thread
     
     public ArenaManager(MangoParty plugin) {
         this.plugin = plugin;
-        this.arenas = new HashMap<>();
-        this.reservedArenas = ConcurrentHashMap.newKeySet();
+        this.arenas = new ConcurrentHashMap<>();
+        this.leases = new ConcurrentHashMap<>();
+        this.freeArenas = ConcurrentHashMap.newKeySet();
+        this.freeArenasByKit = new ConcurrentHashMap<>();
+        this.baseArenasByKit = new ConcurrentHashMap<>();
+        this.indexedKits = new ConcurrentHashMap<>();
+        this.journals = new ConcurrentHashMap<>();
+        this.journalsByChunk = new ConcurrentHashMap<>();
         this.arenasFile = new File(plugin.getDataFolder(), "arenas.yml");
-        loadArenas();
+        this.mainThreadExecutor = task -> {
+            if (Bukkit.isPrimaryThread()) {
+                task.run();
+            } else {
+                Bukkit.getScheduler().runTask(plugin, task);
+            }
+        };
+        this.worldPool = new ArenaWorldPool(plugin); // Before loading, so instance locations resolve their worlds
+        this.slotAllocator = new ArenaSlotAllocator(plugin, worldPool);
+        this.persistInstances = plugin.getConfig().getBoolean("arena.persist-instances", false);
+        this.verifyInstances = plugin.getConfig().getBoolean("arena.verify.enabled", true);
+        this.maxRepairs = Math.max(0, plugin.getConfig().getInt("arena.verify.max-repairs", 2));
+        this.pasteScheduler = new PasteScheduler(plugin);
+        this.entitySweeper = new EntitySweeper(plugin);
+        this.chunkTickets = new ArenaChunkTickets(plugin);
+        this.schematicCache = new SchematicCache(plugin);
+        this.instancePool = new ArenaInstancePool(plugin, this);
+        this.pregenerator = new ArenaPregenerator(plugin, this);
+        
+        this.leaseTtlMillis = Math.max(1L, plugin.getConfig().getLong("arena.lease.ttl", 300L)) * 1000L;
+        long reapInterval = Math.max(20L, plugin.getConfig().getLong("arena.lease.reap-interval", 600L));
+        this.leaseReaper = Bukkit.getScheduler().runTaskTimer(plugin, this::reapLeases, reapInterval, reapInterval);
     }
     
-    private void loadArenas() {
-        plugin.getLogger().info("Attempting to load arenas...");
+    /**
+     * Parses arenas.yml on a worker thread. Nothing is registered until {@link #publishArenas(LoadedArenas)}.
+     * 
+     * @param workers The startup worker pool
+     * @return A future completing with the parsed arenas
+     */
+    public CompletableFuture<LoadedArenas> loadArenasAsync(Executor workers) {
         if (!arenasFile.exists()) {
             plugin.getLogger().info("arenas.yml not found, saving default resource.");
             plugin.saveResource("arenas.yml", false);
         }
+        return CompletableFuture.supplyAsync(this::loadArenas, workers);
+    }
+    
+    /**
+     * Registers parsed arenas and starts everything that depends on them. Called on the main thread
+     * once startup loading has finished.
+     * 
+     * @param loaded The parsed arenas
+     */
+    public void publishArenas(LoadedArenas loaded) {
+        this.arenasConfig = loaded.config;
+        this.persister = new ArenaPersister(plugin, arenasFile, arenasConfig);
+        if (!loaded.staleInstances.isEmpty()) {
+            persister.markDirty();
+        }
+        for (Arena arena : loaded.arenas.values()) {
+            resolvePoints(arena, loaded.points.get(arena));
+            plugin.getLogger().info("Arena " + arena.getName() + " is complete: " + arena.isComplete());
+        }
+        for (Arena stale : loaded.staleInstances) {
+            resolvePoints(stale, loaded.points.get(stale));
+        }
+        arenas.putAll(loaded.arenas);
+        
+        // Changes made while the server was down are unknown, so each arena's first reset is a full paste
+        for (Arena arena : arenas.values()) {
+            trackArena(arena, false);
+            indexArena(arena);
+        }
+        claimInstanceSlots();
+        clearStaleInstances(loaded.staleInstances);
         
-        arenasConfig = YamlConfiguration.loadConfiguration(arenasFile);
+        for (Arena arena : arenas.values()) {
+            if (arena.isInstance()) {
+                instancePool.adopt(arena);
+            }
+        }
+        instancePool.start();
+    }
+    
+    /**
+     * Loads all arenas from arenas.yml without registering them.
+     * 
+     * @return The parsed configuration and arenas
+     */
+    private LoadedArenas loadArenas() {
+        plugin.getLogger().info("Attempting to load arenas...");
+        YamlConfiguration config = YamlConfiguration.loadConfiguration(arenasFile);
         plugin.getLogger().info("Loaded arenas.yml configuration.");
         
-        ConfigurationSection arenasSection = arenasConfig.getConfigurationSection("arenas");
+        Map<String, Arena> loaded = new LinkedHashMap<>();
+        List<Arena> staleInstances = new ArrayList<>();
+        Map<Arena, Map<String, RawLocation>> points = new IdentityHashMap<>();
+        ConfigurationSection arenasSection = config.getConfigurationSection("arenas");
         if (arenasSection != null) {
             plugin.getLogger().info("Found 'arenas' section in config. Processing arenas...");
             for (String arenaName : arenasSection.getKeys(false)) {
                 plugin.getLogger().info("Processing arena: " + arenaName);
                 ConfigurationSection arenaSection = arenasSection.getConfigurationSection(arenaName);
-                if (arenaSection != null) {
-                    Arena arena = loadArenaFromConfig(arenaName, arenaSection);
+                if (arenaSection != null && !persistInstances && arenaSection.getBoolean("is_instance")) {
+                    // Left over from an earlier run; its region is cleared and the pool builds fresh instances
+                    Arena stale = loadArenaFromConfig(arenaName, arenaSection, points);
+                    if (stale != null) {
+                        staleInstances.add(stale);
+                    }
+                    arenasSection.set(arenaName, null);
+                } else if (arenaSection != null) {
+                    Arena arena = loadArenaFromConfig(arenaName, arenaSection, points);
                     if (arena != null) {
-                        arenas.put(arenaName, arena);
+                        loaded.put(arenaName, arena);
                         plugin.getLogger().info("Successfully loaded and added arena: " + arenaName);
                     } else {
                         plugin.getLogger().warning("Failed to load arena: " + arenaName + ". Skipping.");
@@ -85,36 +217,51 @@ public class ArenaManager {
         } else {
             plugin.getLogger().info("No 'arenas' section found in arenas.yml.");
         }
-        plugin.getLogger().info("Finished loading arenas. Total arenas loaded: " + arenas.size());
+        plugin.getLogger().info("Finished loading arenas. Total arenas loaded: " + loaded.size());
+        return new LoadedArenas(config, loaded, staleInstances, points);
+    }
+    
+    /**
+     * Arenas parsed from arenas.yml, waiting to be published on the main thread.
+     */
+    public static class LoadedArenas {
+        private final YamlConfiguration config;
+        private final Map<String, Arena> arenas;
+        private final List<Arena> staleInstances; // Instances left by an earlier run when instances are not persisted
+        private final Map<Arena, Map<String, RawLocation>> points; // Arena -> point name -> location without its world
+        
+        private LoadedArenas(YamlConfiguration config, Map<String, Arena> arenas, List<Arena> staleInstances,
+                             Map<Arena, Map<String, RawLocation>> points) {
+            this.config = config;
+            this.arenas = arenas;
+            this.staleInstances = staleInstances;
+            this.points = points;
+        }
+        
+        public int size() {
+            return arenas.size();
+        }
     }
     
-    private Arena loadArenaFromConfig(String name, ConfigurationSection section) {
+    /**
+     * Parses one arena. Runs on a startup worker, so its corners, center and spawns are only parsed into
+     * {@code points}; they are set on the arena once {@link #resolvePoints(Arena, Map)} can look up their worlds.
+     */
+    private Arena loadArenaFromConfig(String name, ConfigurationSection section, Map<Arena, Map<String, RawLocation>> points) {
         plugin.getLogger().info("Loading arena from config: " + name);
         try {
             String world = section.getString("world");
             Arena arena = new Arena(name, world);
             plugin.getLogger().info("Arena " + name + " world: " + world);
             
-            if (section.contains("corner1")) {
-                arena.setCorner1(deserializeLocation(section.getConfigurationSection("corner1")));
-                plugin.getLogger().info("Arena " + name + " corner1 loaded.");
-            }
-            if (section.contains("corner2")) {
-                arena.setCorner2(deserializeLocation(section.getConfigurationSection("corner2")));
-                plugin.getLogger().info("Arena " + name + " corner2 loaded.");
-            }
-            if (section.contains("center")) {
-                arena.setCenter(deserializeLocation(section.getConfigurationSection("center")));
-                plugin.getLogger().info("Arena " + name + " center loaded.");
-            }
-            if (section.contains("spawn1")) {
-                arena.setSpawn1(deserializeLocation(section.getConfigurationSection("spawn1")));
-                plugin.getLogger().info("Arena " + name + " spawn1 loaded.");
-            }
-            if (section.contains("spawn2")) {
-                arena.setSpawn2(deserializeLocation(section.getConfigurationSection("spawn2")));
-                plugin.getLogger().info("Arena " + name + " spawn2 loaded.");
+            Map<String, RawLocation> arenaPoints = new LinkedHashMap<>();
+            for (String point : POINTS) {
+                if (section.contains(point)) {
+                    arenaPoints.put(point, RawLocation.parse(section.getConfigurationSection(point)));
+                    plugin.getLogger().info("Arena " + name + " " + point + " loaded.");
+                }
             }
+            points.put(arena, arenaPoints);
             
             // Load allowed kits
             if (section.contains("allowed_kits")) {
@@ -145,7 +292,7 @@ public class ArenaManager {
                 plugin.getLogger().info("Arena " + name + " z_offset: " + arena.getZOffset());
             }
             
-            plugin.getLogger().info("Successfully loaded arena: " + name + ". Is complete: " + arena.isComplete());
+            plugin.getLogger().info("Successfully parsed arena: " + name);
             return arena;
         } catch (Exception e) {
             plugin.getLogger().warning("Failed to load arena: " + name + " - " + e.getMessage());
@@ -155,15 +302,50 @@ public class ArenaManager {
         }
     }
     
-    private Location deserializeLocation(ConfigurationSection section) {
-        String world = section.getString("world");
-        double x = section.getDouble("x");
-        double y = section.getDouble("y");
-        double z = section.getDouble("z");
-        float yaw = (float) section.getDouble("yaw", 0);
-        float pitch = (float) section.getDouble("pitch", 0);
+    /**
+     * Sets an arena's parsed corners, center and spawns, looking up their worlds. Must run on the main thread.
+     */
+    private void resolvePoints(Arena arena, Map<String, RawLocation> arenaPoints) {
+        if (arenaPoints == null) return;
+        
+        for (Map.Entry<String, RawLocation> entry : arenaPoints.entrySet()) {
+            Location location = entry.getValue().resolve();
+            switch (entry.getKey()) {
+                case "corner1": arena.setCorner1(location); break;
+                case "corner2": arena.setCorner2(location); break;
+                case "center": arena.setCenter(location); break;
+                case "spawn1": arena.setSpawn1(location); break;
+                case "spawn2": arena.setSpawn2(location); break;
+            }
+        }
+    }
+    
+    /**
+     * A location read from arenas.yml whose world has not been looked up yet, since worlds can only be
+     * looked up on the main thread.
+     */
+    private static final class RawLocation {
+        private final String world;
+        private final double x, y, z;
+        private final float yaw, pitch;
         
-        return new Location(Bukkit.getWorld(world), x, y, z, yaw, pitch);
+        private RawLocation(String world, double x, double y, double z, float yaw, float pitch) {
+            this.world = world;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.yaw = yaw;
+            this.pitch = pitch;
+        }
+        
+        private static RawLocation parse(ConfigurationSection section) {
+            return new RawLocation(section.getString("world"), section.getDouble("x"), section.getDouble("y"), section.getDouble("z"),
+                    (float) section.getDouble("yaw", 0), (float) section.getDouble("pitch", 0));
+        }
+        
+        private Location resolve() {
+            return new Location(world != null ? Bukkit.getWorld(world) : null, x, y, z, yaw, pitch);
+        }
     }
     
     private void serializeLocation(ConfigurationSection section, Location location) {
@@ -188,11 +370,10 @@ public class ArenaManager {
     }
     
     public Arena getAvailableArena() {
-        plugin.getLogger().info("Searching for an available arena...");
-        for (Arena arena : arenas.values()) {
-            plugin.getLogger().info("Checking arena: " + arena.getName() + ", isComplete: " + arena.isComplete() + ", isReserved: " + reservedArenas.contains(arena.getName()));
-            if (arena.isComplete() && !reservedArenas.contains(arena.getName())) {
-                plugin.getLogger().info("Found available arena: " + arena.getName());
+        for (String name : freeArenas) {
+            Arena arena = arenas.get(name);
+            if (arena != null && !leases.containsKey(name)) {
+                plugin.getLogger().fine("Found available arena: " + name);
                 return arena;
             }
         }
@@ -201,46 +382,114 @@ public class ArenaManager {
     }
     
     public Arena getAvailableArenaForKit(String kitName) {
-        plugin.getLogger().info("Searching for available arena for kit: " + kitName);
-        // First, try to find an existing available arena that allows this kit
-        for (Arena arena : arenas.values()) {
-            plugin.getLogger().info("Checking arena: " + arena.getName() + ", isComplete: " + arena.isComplete() + ", isReserved: " + reservedArenas.contains(arena.getName()) + ", isKitAllowed: " + arena.isKitAllowed(kitName) + ", isInstance: " + arena.isInstance());
-            if (arena.isComplete() && !reservedArenas.contains(arena.getName()) &&
-                arena.isKitAllowed(kitName) && !arena.isInstance()) { // Prefer non-instance arenas first
-                plugin.getLogger().info("Found available non-instance arena for kit " + kitName + ": " + arena.getName());
-                return arena;
+        // First, try a free non-instance arena that allows this kit
+        Set<String> free = freeArenasByKit.get(kitName);
+        if (free != null) {
+            for (String name : free) {
+                Arena arena = arenas.get(name);
+                if (arena != null && !leases.containsKey(name)) {
+                    plugin.getLogger().fine("Found available non-instance arena for kit " + kitName + ": " + name);
+                    return arena;
+                }
             }
         }
 
-        plugin.getLogger().info("No non-instance arena found for kit " + kitName + ". Checking for available instances...");
-        // If no non-instance arena is available, check for available instances
-        for (Arena arena : arenas.values()) {
-            if (arena.isComplete() && !reservedArenas.contains(arena.getName()) &&
-                arena.isKitAllowed(kitName) && arena.isInstance()) {
-                plugin.getLogger().info("Found available instance arena for kit " + kitName + ": " + arena.getName());
-                return arena;
-            }
+        // If no non-instance arena is available, lease a pre-warmed instance of a base arena that allows this kit
+        Set<String> bases = baseArenasByKit.get(kitName);
+        if (bases == null || bases.isEmpty()) {
+            plugin.getLogger().warning("No base arena found to create an instance for kit: " + kitName + ". Cannot provide an arena.");
+            return null; // No available arenas and no base arena to create an instance
         }
 
-        plugin.getLogger().info("No available arena (instance or non-instance) found for kit " + kitName + ". Attempting to create a new instance.");
-        // If no available arena (instance or non-instance) is found, create a new instance
         Arena baseArena = null;
-        for (Arena a : arenas.values()) {
-            // Find a complete, non-instance base arena that allows this kit
-            if (a.isComplete() && a.isKitAllowed(kitName) && !a.isInstance()) {
-                baseArena = a;
-                plugin.getLogger().info("Found base arena for instance creation: " + a.getName());
-                break;
+        for (String name : bases) {
+            Arena base = arenas.get(name);
+            if (base == null) continue;
+
+            Arena instance = instancePool.pollReady(base);
+            if (instance != null) {
+                plugin.getLogger().fine("Leased pooled instance for kit " + kitName + ": " + instance.getName());
+                return instance;
+            }
+            if (baseArena == null) {
+                baseArena = base;
             }
         }
 
         if (baseArena != null) {
-            plugin.getLogger().info("Creating new arena instance from " + baseArena.getName() + " for kit: " + kitName);
-            return createArenaInstance(baseArena, kitName);
+            plugin.getLogger().info("Instance pool empty for kit " + kitName + ". Creating new instance from " + baseArena.getName());
+            return instancePool.acquire(baseArena, kitName);
         }
+        return null;
+    }
 
-        plugin.getLogger().warning("No base arena found to create an instance for kit: " + kitName + ". Cannot provide an arena.");
-        return null; // No available arenas and no base arena to create an instance
+    /**
+     * Adds an arena to the free and per-kit indexes, replacing any previous entry.
+     * Called whenever an arena is created, loaded or saved, since saving follows every edit.
+     *
+     * @param arena The arena to index
+     */
+    private void indexArena(Arena arena) {
+        unindexArena(arena.getName());
+        if (!arena.isComplete()) return;
+
+        List<String> kits = new ArrayList<>(arena.getAllowedKits());
+        indexedKits.put(arena.getName(), kits);
+        if (!arena.isInstance()) {
+            for (String kit : kits) {
+                baseArenasByKit.computeIfAbsent(kit, k -> ConcurrentHashMap.newKeySet()).add(arena.getName());
+            }
+        }
+        setIndexedFree(arena.getName(), !leases.containsKey(arena.getName()));
+    }
+
+    /**
+     * Removes an arena from every index.
+     *
+     * @param arenaName The arena name
+     */
+    private void unindexArena(String arenaName) {
+        setIndexedFree(arenaName, false);
+        List<String> kits = indexedKits.remove(arenaName);
+        if (kits == null) return;
+
+        for (String kit : kits) {
+            Set<String> bases = baseArenasByKit.get(kit);
+            if (bases != null) {
+                bases.remove(arenaName);
+            }
+        }
+    }
+
+    /**
+     * Moves an indexed arena in or out of the free sets.
+     */
+    private void setIndexedFree(String arenaName, boolean free) {
+        List<String> kits = indexedKits.get(arenaName);
+        if (kits == null) {
+            freeArenas.remove(arenaName);
+            return;
+        }
+
+        Arena arena = arenas.get(arenaName);
+        boolean base = arena != null && !arena.isInstance();
+        if (free) {
+            freeArenas.add(arenaName);
+        } else {
+            freeArenas.remove(arenaName);
+        }
+        if (!base) return;
+
+        for (String kit : kits) {
+            if (free) {
+                freeArenasByKit.computeIfAbsent(kit, k -> ConcurrentHashMap.newKeySet()).add(arenaName);
+            } else {
+                Set<String> set = freeArenasByKit.get(kit);
+                if (set != null) {
+                    set.remove(arenaName);
+                }
+            }
+        }
     }
 
     private Location offsetLocation(Location original, double xOffset, double zOffset) {
@@ -292,96 +541,41 @@ public class ArenaManager {
     }
     
     public Arena createArenaInstance(Arena originalArena, String kitName) {
+        return createArenaInstance(originalArena, kitName, PasteScheduler.Priority.URGENT);
+    }
+    
+    /**
+     * Creates a new instance of an arena and queues its schematic paste.
+     * 
+     * @param originalArena The arena to copy
+     * @param kitName The kit the instance is created for, or null when pre-warming
+     * @param priority The paste priority, BACKGROUND for pool refills and URGENT when a match is waiting
+     * @return The new instance, or null if it could not be created
+     */
+    public Arena createArenaInstance(Arena originalArena, String kitName, PasteScheduler.Priority priority) {
         plugin.getLogger().info("Attempting to create arena instance for original arena: " + originalArena.getName() + " for kit: " + kitName);
         if (originalArena == null || !originalArena.isComplete()) {
             plugin.getLogger().warning("Original arena is null or incomplete. Cannot create instance.");
             return null;
         }
         
-        // Find the next available instance number
-        int instanceNumber = 1;
+        // Take an instance number for the name, then space on the chosen world's grid
         String baseName = originalArena.getName();
-        while (arenas.containsKey(baseName + "_instance" + instanceNumber)) {
-            instanceNumber++;
-        }
-        plugin.getLogger().info("Next instance number for " + baseName + ": " + instanceNumber);
-        
+        int instanceNumber = slotAllocator.allocateNumber(originalArena);
         String instanceName = baseName + "_instance" + instanceNumber;
-        Arena instance = new Arena(instanceName, originalArena.getWorld());
+        World world = worldPool.selectWorld(originalArena, arenas.values());
+        ArenaSlotAllocator.Placement placement = slotAllocator.allocate(instanceName, originalArena, world, arenas.values());
+        plugin.getLogger().info("Allocated space at " + placement.getMinX() + ", " + placement.getMinZ() + " in " + world.getName() + " for " + instanceName);
+        
+        Arena instance = new Arena(instanceName, world.getName());
         plugin.getLogger().info("Created new Arena object for instance: " + instanceName);
         
         // Copy settings from original arena
         instance.setInstance(true);
         instance.setOriginalArena(originalArena.getName());
+        instance.setInstanceState(Arena.InstanceState.CREATED);
         instance.setInstanceNumber(instanceNumber);
-        instance.setXOffset(originalArena.getXOffset() > 0 ? originalArena.getXOffset() : defaultXOffset);
-        instance.setZOffset(originalArena.getZOffset() > 0 ? originalArena.getZOffset() : defaultZOffset);
-        plugin.getLogger().info("Instance settings copied. XOffset: " + instance.getXOffset() + ", ZOffset: " + instance.getZOffset());
-        
-        // Calculate new center position based on offset
-        double newX = originalArena.getCenter().getX() + (instanceNumber * 500.0);
-        double newZ = originalArena.getCenter().getZ();
-        Location newCenter = new Location(
-            originalArena.getCenter().getWorld(),
-            newX,
-            originalArena.getCenter().getY(),
-            newZ
-        );
-        instance.setCenter(newCenter);
-        plugin.getLogger().info("New center calculated: " + newCenter.toString());
-        
-        // Calculate new spawn and corner positions based on offsets from center
-        if (originalArena.getSpawn1() != null && originalArena.getCenter() != null) {
-            Location spawn1Offset = originalArena.getSpawn1Offset();
-            Location newSpawn1 = new Location(
-                newCenter.getWorld(),
-                newCenter.getX() + spawn1Offset.getX(),
-                newCenter.getY() + spawn1Offset.getY(),
-                newCenter.getZ() + spawn1Offset.getZ(),
-                originalArena.getSpawn1().getYaw(),
-                originalArena.getSpawn1().getPitch()
-            );
-            instance.setSpawn1(newSpawn1);
-            plugin.getLogger().info("New spawn1 calculated: " + newSpawn1.toString());
-        }
-        
-        if (originalArena.getSpawn2() != null && originalArena.getCenter() != null) {
-            Location spawn2Offset = originalArena.getSpawn2Offset();
-            Location newSpawn2 = new Location(
-                newCenter.getWorld(),
-                newCenter.getX() + spawn2Offset.getX(),
-                newCenter.getY() + spawn2Offset.getY(),
-                newCenter.getZ() + spawn2Offset.getZ(),
-                originalArena.getSpawn2().getYaw(),
-                originalArena.getSpawn2().getPitch()
-            );
-            instance.setSpawn2(newSpawn2);
-            plugin.getLogger().info("New spawn2 calculated: " + newSpawn2.toString());
-        }
-        
-        if (originalArena.getCorner1() != null && originalArena.getCenter() != null) {
-            Location corner1Offset = originalArena.getCorner1Offset();
-            Location newCorner1 = new Location(
-                newCenter.getWorld(),
-                newCenter.getX() + corner1Offset.getX(),
-                newCenter.getY() + corner1Offset.getY(),
-                newCenter.getZ() + corner1Offset.getZ()
-            );
-            instance.setCorner1(newCorner1);
-            plugin.getLogger().info("New corner1 calculated: " + newCorner1.toString());
-        }
-        
-        if (originalArena.getCorner2() != null && originalArena.getCenter() != null) {
-            Location corner2Offset = originalArena.getCorner2Offset();
-            Location newCorner2 = new Location(
-                newCenter.getWorld(),
-                newCenter.getX() + corner2Offset.getX(),
-                newCenter.getY() + corner2Offset.getY(),
-                newCenter.getZ() + corner2Offset.getZ()
-            );
-            instance.setCorner2(newCorner2);
-            plugin.getLogger().info("New corner2 calculated: " + newCorner2.toString());
-        }
+        placeInstance(originalArena, instance, placement, world);
         
         // Copy allowed kits
         instance.setAllowedKits(new ArrayList<>(originalArena.getAllowedKits()));
@@ -390,119 +584,236 @@ public class ArenaManager {
         // Save the instance
         arenas.put(instanceName, instance);
         saveArena(instance);
+        trackArena(instance, true); // The fresh paste below is the journal's baseline
         plugin.getLogger().info("Instance " + instanceName + " saved and added to arenas map.");
         
-        // Paste the schematic at the new location
-        boolean pasteSuccess = pasteSchematicForInstance(originalArena, instance);
-        plugin.getLogger().info("Schematic paste for " + instanceName + " successful: " + pasteSuccess);
+        // Paste the schematic at the new location; match starts wait on this through pasteSchematic
+        CompletableFuture<Boolean> paste = trackPaste(instanceName, pasteSchematicForInstance(originalArena, instance, priority)
+                .thenComposeAsync(success -> success ? verifyInstance(instance, priority) : CompletableFuture.completedFuture(false), mainThreadExecutor));
+        paste.thenAcceptAsync(success -> {
+            plugin.getLogger().info("Schematic paste for " + instanceName + " successful: " + success);
+            if (!success) {
+                // Nothing trustworthy is in the region, so the first lease must paste it in full
+                ArenaJournal journal = journals.get(instanceName);
+                if (journal != null) {
+                    journal.invalidate();
+                }
+            }
+            if (instance.getInstanceState() == Arena.InstanceState.CREATED) {
+                instance.setInstanceState(Arena.InstanceState.READY);
+            }
+        }, mainThreadExecutor);
         
         return instance;
     }
     
-    private boolean pasteSchematicForInstance(Arena originalArena, Arena instance) {
-        plugin.getLogger().info("Attempting to paste schematic for instance: " + instance.getName() + " from original arena: " + originalArena.getName());
-        try {
-            String schematicName = originalArena.getName();
+    /**
+     * Positions an instance in the space it was given, half the padding in from the space's edge, copying the
+     * original arena's spawns and corners relative to the new center. Only the shape is taken from the original
+     * arena; the position comes from the world's grid alone.
+     *
+     * @param originalArena The base arena
+     * @param instance The instance to position
+     * @param placement The space the instance holds
+     * @param world The world the instance is placed in
+     */
+    private void placeInstance(Arena originalArena, Arena instance, ArenaSlotAllocator.Placement placement, World world) {
+        // The offsets keep their arenas.yml meaning and are carried over from the base arena; the space the
+        // instance holds is only known to the allocator, see ArenaSlotAllocator#getPlacement
+        instance.setXOffset(originalArena.getXOffset());
+        instance.setZOffset(originalArena.getZOffset());
+        
+        // Move the center by whole blocks, so the minimum corner lands exactly at the placement
+        ArenaGeometry geometry = originalArena.getGeometry();
+        int inset = slotAllocator.getPadding() / 2;
+        Location newCenter = new Location(
+            world,
+            originalArena.getCenter().getX() + (placement.getMinX() + inset - geometry.getMinX()),
+            originalArena.getCenter().getY(),
+            originalArena.getCenter().getZ() + (placement.getMinZ() + inset - geometry.getMinZ())
+        );
+        instance.setCenter(newCenter);
+        plugin.getLogger().info("New center calculated: " + newCenter.toString());
+        
+        // Calculate new spawn and corner positions based on offsets from center
+        if (geometry.getSpawn1Offset() != null) {
+            instance.setSpawn1(geometry.getSpawn1Offset().applyTo(newCenter));
+        }
+        if (geometry.getSpawn2Offset() != null) {
+            instance.setSpawn2(geometry.getSpawn2Offset().applyTo(newCenter));
+        }
+        if (geometry.getCorner1Offset() != null) {
+            instance.setCorner1(geometry.getCorner1Offset().applyTo(newCenter));
+        }
+        if (geometry.getCorner2Offset() != null) {
+            instance.setCorner2(geometry.getCorner2Offset().applyTo(newCenter));
+        }
+    }
+    
+    /**
+     * Claims numbers and grid space for instances loaded from arenas.yml, moving any that sit off the grid,
+     * overlap another instance or come too close to a base arena. Moved instances get a full paste on first use.
+     */
+    private void claimInstanceSlots() {
+        int moved = 0;
+        for (Arena instance : new ArrayList<>(arenas.values())) {
+            if (!instance.isInstance() || instance.getOriginalArena() == null) continue;
             
-            // Try to get clipboard from cache first
-            Clipboard clipboard = schematicCache.get(schematicName);
+            Arena base = arenas.get(instance.getOriginalArena());
+            if (base == null || !base.isComplete() || instance.getCenter() == null) continue;
             
-            // If not in cache, load it from disk
-            if (clipboard == null) {
-                File schematicsDir = new File(plugin.getDataFolder(), "schematics");
-                File schematicFile = new File(schematicsDir, schematicName + ".schem");
-                plugin.getLogger().info("Schematic file path: " + schematicFile.getAbsolutePath());
-                
-                if (!schematicFile.exists()) {
-                    plugin.getLogger().warning("Schematic file not found for original arena: " + originalArena.getName() + ". Path: " + schematicFile.getAbsolutePath());
-                    return false;
-                }
-                
-                ClipboardFormat format = ClipboardFormats.findByAlias("schem");
-                if (format == null) {
-                    format = ClipboardFormats.findByAlias("schematic");
-                }
-                if (format == null) {
-                    plugin.getLogger().severe("No schematic format found for reading!");
-                    return false;
-                }
-                plugin.getLogger().info("Using clipboard format: " + format.getName());
-                
-                try (ClipboardReader reader = format.getReader(new FileInputStream(schematicFile))) {
-                    clipboard = reader.read();
-                    plugin.getLogger().info("Clipboard read successfully. Clipboard dimensions: " + clipboard.getDimensions().toString());
-                    // Cache the clipboard for future use
-                    schematicCache.put(schematicName, clipboard);
-                }
+            if (!slotAllocator.claimNumber(base, instance.getInstanceNumber())) {
+                plugin.getLogger().warning("Instance " + instance.getName() + " has no usable instance number, leaving it in place");
+                continue;
             }
             
-            // Safely adapt the world with null check
-            if (instance.getCorner1() == null || instance.getCorner1().getWorld() == null) {
-                plugin.getLogger().warning("Cannot paste schematic: corner1 or its world is null for instance " + instance.getName());
-                return false;
+            World world = instance.getCenter().getWorld() != null ? instance.getCenter().getWorld() : base.getCenter().getWorld();
+            if (slotAllocator.claim(instance, world, arenas.values()) == null) {
+                placeInstance(base, instance, slotAllocator.allocate(instance.getName(), base, world, arenas.values()), world);
+                saveArena(instance); // New bounds invalidate the journal
+                moved++;
             }
-            
-            com.sk89q.worldedit.world.World world = BukkitAdapter.adapt(instance.getCorner1().getWorld());
-            plugin.getLogger().info("Adapted Bukkit world to WorldEdit world: " + world.getName());
-            
-            // Create a final copy of the clipboard for use in the lambda
-            final Clipboard finalClipboard = clipboard;
-            
-            // Use async operation for better performance
-            Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
-                try (EditSession editSession = WorldEdit.getInstance().newEditSession(world)) {
-                    // Calculate the minimum point where the schematic should be pasted
-                    BlockVector3 pasteLocation = BlockVector3.at(
-                        Math.min(instance.getCorner1().getBlockX(), instance.getCorner2().getBlockX()),
-                        Math.min(instance.getCorner1().getBlockY(), instance.getCorner2().getBlockY()),
-                        Math.min(instance.getCorner1().getBlockZ(), instance.getCorner2().getBlockZ())
-                    );
-                    
-                    // Set fast mode to true for better performance
-                    editSession.setFastMode(true);
-                    
-                    Operation operation = new ClipboardHolder(finalClipboard)
-                        .createPaste(editSession)
-                        .to(pasteLocation)
-                        .ignoreAirBlocks(true) // Ignore air blocks for better performance
-                        .build();
-                    
-                    Operations.complete(operation);
-                    plugin.getLogger().info("Schematic pasted successfully for instance " + instance.getName());
-                } catch (Exception e) {
-                    plugin.getLogger().severe("Failed to paste schematic for arena instance " + instance.getName() + ": " + e.getMessage());
-                }
-            });
-            
-            return true;
-        } catch (Exception e) {
-            plugin.getLogger().severe("Failed to paste schematic for arena instance " + instance.getName() + ": " + e.getMessage());
-            e.printStackTrace();
-            return false;
         }
+        if (moved > 0) {
+            plugin.getLogger().info("Moved " + moved + " arena instances onto the instance grid");
+        }
+    }
+    
+    /**
+     * Checks whether any instances of a base arena exist. A base arena's bounds cannot change while they do,
+     * since its instances were sized and placed from them.
+     *
+     * @param baseArenaName The base arena name
+     * @return True if at least one instance of the arena exists
+     */
+    public boolean hasInstances(String baseArenaName) {
+        for (Arena arena : arenas.values()) {
+            if (arena.isInstance() && baseArenaName.equals(arena.getOriginalArena())) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Pastes the original arena's schematic at an instance's location.
+     * 
+     * @param originalArena The arena the instance was created from
+     * @param instance The instance to paste
+     * @param priority The paste priority
+     * @return A future completing with true once the blocks are in the world, or false if the paste failed
+     */
+    private CompletableFuture<Boolean> pasteSchematicForInstance(Arena originalArena, Arena instance, PasteScheduler.Priority priority) {
+        plugin.getLogger().info("Attempting to paste schematic for instance: " + instance.getName() + " from original arena: " + originalArena.getName());
+        
+        // Safely adapt the world with null check
+        if (instance.getGeometry() == null || instance.getCorner1().getWorld() == null) {
+            plugin.getLogger().warning("Cannot paste schematic: corners or world are null for instance " + instance.getName());
+            return CompletableFuture.completedFuture(false);
+        }
+        
+        // Calculate the minimum point where the schematic should be pasted
+        ArenaGeometry geometry = instance.getGeometry();
+        BlockVector3 pasteLocation = BlockVector3.at(geometry.getMinX(), geometry.getMinY(), geometry.getMinZ());
+        
+        return schematicCache.get(originalArena.getName()).thenComposeAsync(source -> {
+            if (source == null) {
+                plugin.getLogger().warning("No schematic available for original arena: " + originalArena.getName());
+                return CompletableFuture.completedFuture(false);
+            }
+            
+            // Air is written too: a slot can hold leftovers of an earlier instance, and verification
+            // expects the schematic's air to be air in the world
+            return pasteScheduler.submit(instance.getName(),
+                    source.createJob(instance.getCorner1().getWorld(), pasteLocation, true),
+                    priority);
+        }, mainThreadExecutor);
     }
     
     /**
      * Reserves an arena so it cannot be used for other matches.
+     * The lease is taken atomically, so of two callers racing for the same arena only one succeeds.
+     * Reserving again with the same owner renews the existing lease.
      * 
      * @param arenaName The name of the arena to reserve
-     * @return True if the arena was successfully reserved, false otherwise
+     * @param owner The ID of the match or duel that will use the arena
+     * @return True if the owner now holds the arena, false if it is leased to someone else
      */
-    public boolean reserveArena(String arenaName) {
-        if (arenaName == null) return false;
+    public boolean reserveArena(String arenaName, String owner) {
+        if (arenaName == null || owner == null) return false;
         
-        // Check if already reserved
-        if (reservedArenas.contains(arenaName)) {
+        ArenaLease lease = new ArenaLease(arenaName, owner, POOL_LEASE_OWNER.equals(owner) ? POOL_HOLD_MILLIS : leaseTtlMillis);
+        ArenaLease existing = leases.putIfAbsent(arenaName, lease);
+        if (existing != null) {
+            if (existing.isOwnedBy(owner)) {
+                // A pool hold belongs to whichever caller it was handed to, so the pool cannot hold an arena twice
+                if (POOL_LEASE_OWNER.equals(owner)) return false;
+                existing.renew(leaseTtlMillis);
+                return true;
+            }
+            // Take over an instance the pool handed out to this caller
+            if (existing.isOwnedBy(POOL_LEASE_OWNER) && leases.replace(arenaName, existing, lease)) {
+                Arena held = arenas.get(arenaName);
+                mainThreadExecutor.execute(() -> chunkTickets.acquire(held, owner));
+                plugin.getLogger().fine("Reserved pooled arena: " + arenaName + " for " + owner);
+                return true;
+            }
             return false;
         }
         
-        reservedArenas.add(arenaName);
-        plugin.getLogger().fine("Reserved arena: " + arenaName);
+        Arena arena = arenas.get(arenaName);
+        if (arena != null && arena.isInstance()) {
+            arena.setInstanceState(Arena.InstanceState.LEASED);
+        }
+        setIndexedFree(arenaName, false);
+        instancePool.onReserved(arena);
+        mainThreadExecutor.execute(() -> chunkTickets.acquire(arena, owner));
+        plugin.getLogger().fine("Reserved arena: " + arenaName + " for " + owner);
         return true;
     }
     
+    /**
+     * Releases an arena whatever lease it is under.
+     * 
+     * @param arenaName The name of the arena to release
+     */
     public void releaseArena(String arenaName) {
-        reservedArenas.remove(arenaName);
+        if (arenaName == null) return;
+        
+        ArenaLease lease = leases.remove(arenaName);
+        if (lease != null) {
+            onLeaseEnded(arenaName);
+        }
+    }
+    
+    /**
+     * Releases an arena only if it is leased to the given owner, e.g. when a match switches arenas
+     * or fails to start and must not free an arena another match has since taken.
+     * 
+     * @param arenaName The name of the arena to release
+     * @param owner The ID of the match or duel releasing it
+     */
+    public void releaseArena(String arenaName, String owner) {
+        if (arenaName == null) return;
+        
+        ArenaLease lease = leases.get(arenaName);
+        if (lease != null && lease.isOwnedBy(owner) && leases.remove(arenaName, lease)) {
+            onLeaseEnded(arenaName);
+        }
+    }
+    
+    private void onLeaseEnded(String arenaName) {
+        Arena arena = arenas.get(arenaName);
+        if (arena != null && arena.getInstanceState() == Arena.InstanceState.QUARANTINED && reclaimInstance(arena)) {
+            return; // Failed verification and could not be repaired
+        }
+        if (arena != null && arena.isInstance()) {
+            arena.setInstanceState(Arena.InstanceState.IDLE);
+        }
+        setIndexedFree(arenaName, true);
+        mainThreadExecutor.execute(() -> chunkTickets.release(arenaName));
+        // Released instances go back to the pool for the next match
+        instancePool.offer(arena);
     }
     
     /**
@@ -512,11 +823,60 @@ public class ArenaManager {
      * @return True if the arena is reserved, false otherwise
      */
     public boolean isArenaReserved(String arenaName) {
-        return arenaName != null && reservedArenas.contains(arenaName);
+        return arenaName != null && leases.containsKey(arenaName);
     }
     
-    public void saveArena(Arena arena) {
-        plugin.getLogger().info("Saving arena: " + arena.getName());
+    /**
+     * Renews leases whose owner is still running and reclaims the rest once they expire,
+     * resetting the arena before it becomes free again.
+     */
+    private void reapLeases() {
+        long now = System.currentTimeMillis();
+        for (ArenaLease lease : leases.values()) {
+            if (!lease.isExpired(now)) continue;
+            
+            CompletableFuture<Boolean> pending = pendingPastes.get(lease.getArenaName());
+            if (isLeaseOwnerActive(lease.getOwner()) || (pending != null && !pending.isDone())) {
+                lease.renew(leaseTtlMillis);
+                continue;
+            }
+            
+            if (lease.isOwnedBy(POOL_LEASE_OWNER)) {
+                // Handed out by the pool but never reserved, so it was not used and needs no reset
+                releaseArena(lease.getArenaName(), POOL_LEASE_OWNER);
+                continue;
+            }
+            
+            plugin.getLogger().warning("Reclaiming arena " + lease.getArenaName() + " from " + lease.getOwner() +
+                    ", which ended without releasing it (leased " + (lease.getAgeMillis() / 1000) + "s ago)");
+            lease.renew(leaseTtlMillis); // Hold the arena while it is reset
+            Arena arena = arenas.get(lease.getArenaName());
+            if (arena != null) {
+                resetAndRelease(arena);
+            } else {
+                leases.remove(lease.getArenaName(), lease);
+            }
+        }
+    }
+    
+    private boolean isLeaseOwnerActive(String owner) {
+        MatchManager matchManager = plugin.getMatchManager();
+        DuelManager duelManager = plugin.getDuelManager();
+        return (matchManager != null && matchManager.isMatchActive(owner)) ||
+               (duelManager != null && duelManager.isDuelActive(owner));
+    }
+    
+    /**
+     * @return A read-only view of the current arena leases
+     */
+    public Collection<ArenaLease> getLeases() {
+        return Collections.unmodifiableCollection(leases.values());
+    }
+    
+    /**
+     * Copies an arena's settings into its arenas.yml section.
+     */
+    private void writeArenaSection(Arena arena) {
         ConfigurationSection arenaSection = arenasConfig.createSection("arenas." + arena.getName());
         arenaSection.set("world", arena.getWorld());
         plugin.getLogger().info("Arena " + arena.getName() + " world set to: " + arena.getWorld());
@@ -551,20 +911,122 @@ public class ArenaManager {
         arenaSection.set("x_offset", arena.getXOffset());
         arenaSection.set("z_offset", arena.getZOffset());
         plugin.getLogger().info("Arena " + arena.getName() + " instance info saved: is_instance=" + arena.isInstance() + ", original_arena=" + arena.getOriginalArena() + ", instance_number=" + arena.getInstanceNumber() + ", x_offset=" + arena.getXOffset() + ", z_offset=" + arena.getZOffset());
+    }
+    
+    public void saveArena(Arena arena) {
+        plugin.getLogger().info("Saving arena: " + arena.getName());
         
-        try {
-            arenasConfig.save(arenasFile);
-            plugin.getLogger().info("Arena " + arena.getName() + " successfully saved to file.");
-        } catch (IOException e) {
-            plugin.getLogger().severe("Could not save arena " + arena.getName() + ": " + e.getMessage());
-            e.printStackTrace();
+        // Transient instances can be kept out of arenas.yml entirely; they are rebuilt by the pool after a restart
+        boolean persist = !arena.isInstance() || persistInstances;
+        if (persist) {
+            writeArenaSection(arena);
+        }
+        
+        refreshJournal(arena);
+        if (arenas.get(arena.getName()) == arena) {
+            indexArena(arena); // Kits or completeness may have changed
+        }
+        
+        // Written off the main thread, coalesced with other changes
+        if (persist) {
+            persister.markDirty();
         }
     }
 
     public void deleteArena(String name) {
+        removeArena(name, true);
+    }
+    
+    /**
+     * Takes an idle instance out of service: it is removed from the registry right away, and its region is
+     * cleared in the background before its chunks and grid slot are given up.
+     * 
+     * @param instance The instance to reclaim
+     * @return True if the instance was reclaimed, false if it is in use
+     */
+    public boolean reclaimInstance(Arena instance) {
+        if (instance == null || !instance.isInstance() || isArenaReserved(instance.getName())) {
+            return false;
+        }
+        CompletableFuture<Boolean> pending = pendingPastes.get(instance.getName());
+        if (pending != null && !pending.isDone()) {
+            return false;
+        }
+        
+        instance.setInstanceState(Arena.InstanceState.RECLAIMED);
+        removeArena(instance.getName(), false); // The slot stays taken until the region is clear
+        clearInstanceRegion(instance);
+        plugin.getLogger().fine("Reclaimed idle instance " + instance.getName());
+        return true;
+    }
+    
+    /**
+     * Clears an instance's region, then releases its chunks and grid slot.
+     */
+    private void clearInstanceRegion(Arena instance) {
+        World world = instance.getCorner1() != null ? instance.getCorner1().getWorld() : null;
+        ArenaGeometry geometry = instance.getGeometry();
+        if (world == null || geometry == null) {
+            slotAllocator.release(instance);
+            return;
+        }
+        
+        pasteScheduler.submit(instance.getName(),
+                new PasteScheduler.ClearRegionJob(world, geometry.getMinX(), geometry.getMinY(), geometry.getMinZ(),
+                        geometry.getMaxX(), geometry.getMaxY(), geometry.getMaxZ()),
+                PasteScheduler.Priority.BACKGROUND).whenComplete((cleared, error) -> {
+            for (int cx = geometry.getMinChunkX(); cx <= geometry.getMaxChunkX(); cx++) {
+                for (int cz = geometry.getMinChunkZ(); cz <= geometry.getMaxChunkZ(); cz++) {
+                    world.unloadChunkRequest(cx, cz);
+                }
+            }
+            slotAllocator.release(instance);
+        });
+    }
+    
+    /**
+     * Clears the regions of instances left in arenas.yml by an earlier run, holding their grid slots until done.
+     */
+    private void clearStaleInstances(List<Arena> staleInstances) {
+        for (Arena stale : staleInstances) {
+            Arena base = arenas.get(stale.getOriginalArena());
+            if (base != null && base.isComplete()) {
+                slotAllocator.claimNumber(base, stale.getInstanceNumber());
+            }
+            if (stale.getCorner1() != null) {
+                slotAllocator.hold(stale, stale.getCorner1().getWorld());
+            }
+            clearInstanceRegion(stale);
+        }
+        if (!staleInstances.isEmpty()) {
+            plugin.getLogger().info("Clearing " + staleInstances.size() + " arena instances left over from the last run");
+        }
+    }
+    
+    /**
+     * Removes an arena from the registry, its indexes and arenas.yml.
+     * 
+     * @param name The arena name
+     * @param releaseSlot False to keep an instance's grid slot taken, e.g. while its region is still being cleared
+     */
+    private void removeArena(String name, boolean releaseSlot) {
         plugin.getLogger().info("Attempting to delete arena: " + name);
         if (arenas.containsKey(name)) {
-            arenas.remove(name);
+            Arena removed = arenas.remove(name);
+            untrackArena(name);
+            chunkTickets.releaseNow(name);
+            verifiedInstances.remove(name);
+            unindexArena(name);
+            if (removed.isInstance()) {
+                instancePool.remove(removed);
+                if (releaseSlot) {
+                    slotAllocator.release(removed);
+                }
+            } else {
+                instancePool.removeBase(name);
+                slotAllocator.removeBase(name);
+                schematicCache.invalidate(name);
+            }
             plugin.getLogger().info("Arena " + name + " removed from in-memory map.");
         } else {
             plugin.getLogger().warning("Arena " + name + " not found in in-memory map for deletion.");
@@ -572,17 +1034,10 @@ public class ArenaManager {
         
         if (arenasConfig.contains("arenas." + name)) {
             arenasConfig.set("arenas." + name, null);
+            persister.markDirty();
             plugin.getLogger().info("Arena " + name + " marked for deletion in config.");
         } else {
-            plugin.getLogger().warning("Arena " + name + " not found in config for deletion.");
-        }
-
-        try {
-            arenasConfig.save(arenasFile);
-            plugin.getLogger().info("Arena " + name + " successfully deleted from file.");
-        } catch (IOException e) {
-            plugin.getLogger().severe("Could not delete arena " + name + ": " + e.getMessage());
-            e.printStackTrace();
+            plugin.getLogger().fine("Arena " + name + " not found in config for deletion.");
         }
     }
     
@@ -612,16 +1067,9 @@ public class ArenaManager {
             }
             
             com.sk89q.worldedit.world.World world = BukkitAdapter.adapt(arena.getCorner1().getWorld());
-            BlockVector3 min = BlockVector3.at(
-                Math.min(arena.getCorner1().getBlockX(), arena.getCorner2().getBlockX()),
-                Math.min(arena.getCorner1().getBlockY(), arena.getCorner2().getBlockY()),
-                Math.min(arena.getCorner1().getBlockZ(), arena.getCorner2().getBlockZ())
-            );
-            BlockVector3 max = BlockVector3.at(
-                Math.max(arena.getCorner1().getBlockX(), arena.getCorner2().getBlockX()),
-                Math.max(arena.getCorner1().getBlockY(), arena.getCorner2().getBlockY()),
-                Math.max(arena.getCorner1().getBlockZ(), arena.getCorner2().getBlockZ())
-            );
+            ArenaGeometry geometry = arena.getGeometry();
+            BlockVector3 min = BlockVector3.at(geometry.getMinX(), geometry.getMinY(), geometry.getMinZ());
+            BlockVector3 max = BlockVector3.at(geometry.getMaxX(), geometry.getMaxY(), geometry.getMaxZ());
             
             CuboidRegion region = new CuboidRegion(world, min, max);
             
@@ -645,6 +1093,30 @@ public class ArenaManager {
                 try (ClipboardWriter writer = format.getWriter(new FileOutputStream(schematicFile))) {
                     writer.write(clipboard);
                 }
+                
+                // Also write the native snapshot used for pasting; the cache rebuilds it from the .schem if this fails
+                try {
+                    ArenaSnapshot.write(new File(schematicsDir, arena.getName() + ArenaSnapshot.EXTENSION), clipboard);
+                } catch (IOException e) {
+                    plugin.getLogger().warning("Failed to write arena snapshot for " + arena.getName() + ": " + e.getMessage());
+                }
+                
+                // Record what instances of this arena must contain once pasted
+                try {
+                    new PasteScheduler.ClipboardSource(clipboard).computeChecksum()
+                            .write(new File(schematicsDir, arena.getName() + RegionChecksum.EXTENSION));
+                } catch (IOException e) {
+                    plugin.getLogger().warning("Failed to write region checksum for " + arena.getName() + ": " + e.getMessage());
+                }
+            }
+            
+            // Make sure the next paste uses the schematic just written
+            schematicCache.invalidate(arena.getName());
+            
+            // The world as saved is now the baseline the journal restores to
+            ArenaJournal journal = journals.get(arena.getName());
+            if (journal != null) {
+                journal.reset();
             }
             
             plugin.getLogger().info("Saved schematic for arena: " + arena.getName());
@@ -656,132 +1128,450 @@ public class ArenaManager {
         }
     }
     
-    // Cache for schematics to avoid loading from disk each time
-    private Map<String, Clipboard> schematicCache = new ConcurrentHashMap<>();
-    
     /**
      * Pastes a schematic for an arena.
      * Optimized with caching and asynchronous loading.
      * 
      * @param arena The arena to paste the schematic for
-     * @return True if the paste operation was initiated successfully, false otherwise
+     * @return A future completing with true once the arena's blocks match its schematic, or false if the paste failed
+     */
+    public CompletableFuture<Boolean> pasteSchematic(Arena arena) {
+        return pasteSchematic(arena, PasteScheduler.Priority.URGENT);
+    }
+    
+    /**
+     * Pastes a schematic for an arena with the given paste priority.
+     * 
+     * @param arena The arena to paste the schematic for
+     * @param priority URGENT when a match is waiting for the arena, NORMAL for post-match resets
+     * @return A future completing with true once the arena's blocks match its schematic, or false if the paste failed
      */
-    public boolean pasteSchematic(Arena arena) {
+    public CompletableFuture<Boolean> pasteSchematic(Arena arena, PasteScheduler.Priority priority) {
         if (arena == null || !arena.isComplete()) {
             plugin.getLogger().warning("Cannot paste schematic for incomplete arena.");
-            return false;
+            return CompletableFuture.completedFuture(false);
         }
         
         // Additional null checks for corner locations
         if (arena.getCorner1() == null || arena.getCorner2() == null) {
             plugin.getLogger().warning("Cannot paste schematic: arena corners are null for arena " + arena.getName());
-            return false;
+            return CompletableFuture.completedFuture(false);
         }
         
         // Check if world is null
         if (arena.getCorner1().getWorld() == null || arena.getCorner2().getWorld() == null) {
             plugin.getLogger().warning("Cannot paste schematic: arena corner worlds are null for arena " + arena.getName());
-            return false;
+            return CompletableFuture.completedFuture(false);
         }
         
-        try {
-            String schematicName;
-            
-            // For instances, use the original arena's schematic
-            if (arena.isInstance() && arena.getOriginalArena() != null) {
-                schematicName = arena.getOriginalArena();
-            } else {
-                schematicName = arena.getName();
+        // Let a paste already running for this arena finish first so the two never interleave
+        CompletableFuture<Boolean> pending = pendingPastes.get(arena.getName());
+        if (pending != null && !pending.isDone()) {
+            pasteScheduler.promote(arena.getName(), priority);
+            return pending.thenComposeAsync(done -> pasteSchematic(arena, priority), mainThreadExecutor);
+        }
+        
+        // Skip untouched arenas, and restore only the journaled blocks when the journal fully describes what changed
+        ArenaJournal journal = journals.get(arena.getName());
+        if (journal != null && journal.isEmpty()) {
+            skippedResets.incrementAndGet();
+            plugin.getLogger().fine("Arena " + arena.getName() + " is unchanged, skipping regeneration");
+            return CompletableFuture.completedFuture(true);
+        }
+        if (journal != null && !journal.isOverflowed()) {
+            incrementalResets.incrementAndGet();
+            return trackPaste(arena.getName(), restoreFromJournal(arena, journal, priority));
+        }
+        
+        fullResets.incrementAndGet();
+        CompletableFuture<Boolean> paste = pasteFull(arena, journal, priority);
+        if (arena.isInstance() && !verifiedInstances.contains(arena.getName())) {
+            paste = paste.thenComposeAsync(success -> success ? verifyInstance(arena, priority) : CompletableFuture.completedFuture(false), mainThreadExecutor);
+        }
+        return trackPaste(arena.getName(), paste);
+    }
+    
+    /**
+     * Pastes an arena's whole schematic over its region, writing air, and starts a fresh journal.
+     */
+    private CompletableFuture<Boolean> pasteFull(Arena arena, ArenaJournal journal, PasteScheduler.Priority priority) {
+        // For instances, use the original arena's schematic
+        String schematicName = arena.isInstance() && arena.getOriginalArena() != null ? arena.getOriginalArena() : arena.getName();
+        
+        // Calculate the minimum point where the schematic should be pasted
+        ArenaGeometry geometry = arena.getGeometry();
+        BlockVector3 pasteLocation = BlockVector3.at(geometry.getMinX(), geometry.getMinY(), geometry.getMinZ());
+        
+        return schematicCache.get(schematicName).thenComposeAsync(source -> {
+            if (source == null) {
+                return CompletableFuture.completedFuture(false);
             }
             
-            // Try to get clipboard from cache first
-            Clipboard clipboard = schematicCache.get(schematicName);
+            // The full paste below brings the arena back to its schematic, so start a fresh journal
+            if (journal != null) {
+                journal.reset();
+            }
             
-            // If not in cache, load it from disk
-            if (clipboard == null) {
-                File schematicsDir = new File(plugin.getDataFolder(), "schematics");
-                File schematicFile = new File(schematicsDir, schematicName + ".schem");
-                
-                if (!schematicFile.exists()) {
-                    plugin.getLogger().warning("Schematic file not found: " + schematicFile.getPath());
-                    return false;
+            // Air must be written so blocks placed during the match are removed
+            return pasteScheduler.submit(arena.getName(),
+                    source.createJob(arena.getCorner1().getWorld(), pasteLocation, true),
+                    priority);
+        }, mainThreadExecutor);
+    }
+    
+    /**
+     * Checks a freshly pasted instance against the checksum recorded for its schematic. A mismatched instance
+     * is quarantined and pasted again in full, up to the configured number of repairs; one that still does not
+     * match is discarded. Instances that match are not checked again.
+     * 
+     * @param instance The instance that was pasted
+     * @param priority The priority for repair pastes
+     * @return A future completing with true if the instance matches its schematic
+     */
+    private CompletableFuture<Boolean> verifyInstance(Arena instance, PasteScheduler.Priority priority) {
+        if (!verifyInstances || verifiedInstances.contains(instance.getName())) {
+            return CompletableFuture.completedFuture(true);
+        }
+        
+        return checkInstance(instance, priority, 0).thenApplyAsync(verified -> {
+            if (verified) {
+                if (instance.getInstanceState() == Arena.InstanceState.QUARANTINED) {
+                    instance.setInstanceState(isArenaReserved(instance.getName()) ? Arena.InstanceState.LEASED : Arena.InstanceState.READY);
                 }
-                
-                clipboard = loadSchematicFromFile(schematicFile);
-                if (clipboard == null) return false;
-                
-                // Cache for future use
-                schematicCache.put(schematicName, clipboard);
+                return true;
             }
             
-            // Safely adapt the world with null check
-            if (arena.getCorner1() == null || arena.getCorner1().getWorld() == null) {
-                plugin.getLogger().warning("Cannot paste schematic: corner1 or its world is null for arena " + arena.getName());
-                return false;
+            plugin.getLogger().warning("Instance " + instance.getName() + " could not be repaired and will be discarded");
+            instance.setInstanceState(Arena.InstanceState.QUARANTINED);
+            ArenaJournal journal = journals.get(instance.getName());
+            if (journal != null) {
+                journal.invalidate();
+            }
+            // Once this paste is no longer pending; a leased instance is reclaimed when its lease ends
+            Bukkit.getScheduler().runTask(plugin, () -> reclaimInstance(instance));
+            return false;
+        }, mainThreadExecutor);
+    }
+    
+    private CompletableFuture<Boolean> checkInstance(Arena instance, PasteScheduler.Priority priority, int repairs) {
+        return schematicCache.getChecksum(instance.getOriginalArena()).thenComposeAsync(expected -> {
+            ArenaGeometry geometry = instance.getGeometry();
+            World world = instance.getCorner1() != null ? instance.getCorner1().getWorld() : null;
+            if (expected == null || geometry == null || world == null || !arenas.containsKey(instance.getName())) {
+                return CompletableFuture.completedFuture(true); // Nothing to verify against
             }
             
-            com.sk89q.worldedit.world.World world = BukkitAdapter.adapt(arena.getCorner1().getWorld());
-            
-            // Create a final copy of the clipboard for use in the lambda
-            final Clipboard finalClipboard = clipboard;
-            
-            // Use our thread pool for better resource management
-            asyncExecutor.submit(() -> {
-                try (EditSession editSession = WorldEdit.getInstance().newEditSession(world)) {
-                    // Calculate the minimum point where the schematic should be pasted
-                    BlockVector3 pasteLocation = BlockVector3.at(
-                        Math.min(arena.getCorner1().getBlockX(), arena.getCorner2().getBlockX()),
-                        Math.min(arena.getCorner1().getBlockY(), arena.getCorner2().getBlockY()),
-                        Math.min(arena.getCorner1().getBlockZ(), arena.getCorner2().getBlockZ())
-                    );
-                    
-                    // Set fast mode to true for better performance
-                    editSession.setFastMode(true);
-                    
-                    Operation operation = new ClipboardHolder(finalClipboard)
-                        .createPaste(editSession)
-                        .to(pasteLocation)
-                        .ignoreAirBlocks(true) // Ignore air blocks for better performance
-                        .build();
-                    
-                    Operations.complete(operation);
-                    plugin.getLogger().fine("Schematic pasted successfully for " + arena.getName());
-                } catch (Exception e) {
-                    plugin.getLogger().log(Level.SEVERE, "Failed to paste schematic for arena " + arena.getName(), e);
+            // Chunk snapshots are taken here on the main thread and hashed on the verifier thread
+            RegionChecksum.WorldCapture capture = expected.capture(world, geometry.getMinX(), geometry.getMinY(), geometry.getMinZ());
+            return CompletableFuture.supplyAsync(() -> expected.matchWorld(capture), verifier).thenComposeAsync(mismatched -> {
+                verifications.incrementAndGet();
+                if (mismatched == 0) {
+                    verifiedInstances.add(instance.getName());
+                    return CompletableFuture.completedFuture(true);
                 }
-            });
-            
-            return true;
-        } catch (Exception e) {
-            plugin.getLogger().log(Level.SEVERE, "Failed to paste schematic for arena " + arena.getName(), e);
-            return false;
+                
+                quarantines.incrementAndGet();
+                plugin.getLogger().warning("Instance " + instance.getName() + " does not match its schematic (" + mismatched + " of " +
+                        expected.getSectionCount() + " sections differ)" + (repairs < maxRepairs ? ", pasting it again" : ""));
+                if (repairs >= maxRepairs) {
+                    return CompletableFuture.completedFuture(false);
+                }
+                
+                instance.setInstanceState(Arena.InstanceState.QUARANTINED);
+                fullResets.incrementAndGet();
+                return pasteFull(instance, journals.get(instance.getName()), priority).thenComposeAsync(success -> success
+                        ? checkInstance(instance, priority, repairs + 1)
+                        : CompletableFuture.completedFuture(false), mainThreadExecutor);
+            }, mainThreadExecutor);
+        }, mainThreadExecutor);
+    }
+    
+    /**
+     * Resets an arena and returns it to the free set once the reset has finished,
+     * so no match can be handed an arena that is still being restored.
+     * 
+     * @param arena The arena to reset and release
+     * @return A future completing with the reset result after the arena has been released
+     */
+    public CompletableFuture<Boolean> resetAndRelease(Arena arena) {
+        if (arena == null) return CompletableFuture.completedFuture(false);
+        
+        // Keep the lease alive while the reset runs so the reaper leaves it alone
+        ArenaLease lease = leases.get(arena.getName());
+        if (lease != null) {
+            lease.renew(leaseTtlMillis);
         }
+        if (arena.isInstance()) {
+            arena.setInstanceState(Arena.InstanceState.RESETTING);
+        }
+        
+        return pasteSchematic(arena, PasteScheduler.Priority.NORMAL).handleAsync((success, error) -> {
+            boolean reset = error == null && Boolean.TRUE.equals(success);
+            if (!reset) {
+                plugin.getLogger().warning("Reset failed for arena " + arena.getName() + ", it will be fully pasted before its next use");
+                ArenaJournal journal = journals.get(arena.getName());
+                if (journal != null) {
+                    journal.invalidate();
+                }
+            }
+            releaseArena(arena.getName());
+            return reset;
+        }, mainThreadExecutor);
     }
     
     /**
-     * Loads a schematic from a file.
+     * Records a paste as in progress for an arena until it completes.
+     */
+    private CompletableFuture<Boolean> trackPaste(String arenaName, CompletableFuture<Boolean> paste) {
+        pendingPastes.put(arenaName, paste);
+        paste.whenComplete((success, error) -> pendingPastes.remove(arenaName, paste));
+        return paste;
+    }
+    
+    /**
+     * @return An executor that runs tasks on the server thread, inline when already on it
+     */
+    public Executor getMainThreadExecutor() {
+        return mainThreadExecutor;
+    }
+    
+    /**
+     * Queues the journaled original block data to be written back into the world and clears the journal.
      * 
-     * @param schematicFile The file to load the schematic from
-     * @return The loaded clipboard, or null if loading failed
+     * @param arena The arena being reset
+     * @param journal The arena's change journal
+     * @param priority The paste priority
+     * @return A future completing once every journaled block has been restored
      */
-    private Clipboard loadSchematicFromFile(File schematicFile) {
-        try {
-            ClipboardFormat format = ClipboardFormats.findByFile(schematicFile);
-            if (format == null) {
-                plugin.getLogger().warning("Unknown schematic format for file: " + schematicFile.getName());
-                return null;
+    private CompletableFuture<Boolean> restoreFromJournal(Arena arena, ArenaJournal journal, PasteScheduler.Priority priority) {
+        World world = arena.getCorner1().getWorld();
+        Map<Long, BlockData> entries = journal.drain();
+        
+        plugin.getLogger().fine("Restoring " + entries.size() + " journaled blocks for arena " + arena.getName());
+        return pasteScheduler.submit(arena.getName(), new PasteScheduler.BlockDataPasteJob(world, entries), priority);
+    }
+    
+    /**
+     * Starts journaling block changes for an arena, replacing any previous journal.
+     * 
+     * @param arena The arena to journal
+     * @param clean True if the arena currently matches its schematic, false to force a full paste on the next reset
+     */
+    private void trackArena(Arena arena, boolean clean) {
+        untrackArena(arena.getName());
+        if (arena.getCorner1() == null || arena.getCorner2() == null || arena.getCorner1().getWorld() == null) {
+            return;
+        }
+        
+        ArenaJournal journal = new ArenaJournal(arena, plugin.getConfig().getInt("arena.journal.max-entries", 20000));
+        if (!clean) {
+            journal.invalidate();
+        }
+        journals.put(arena.getName(), journal);
+        
+        for (int cx = journal.getMinX() >> 4; cx <= journal.getMaxX() >> 4; cx++) {
+            for (int cz = journal.getMinZ() >> 4; cz <= journal.getMaxZ() >> 4; cz++) {
+                journalsByChunk.computeIfAbsent(chunkKey(cx, cz), k -> new CopyOnWriteArrayList<>()).add(journal);
             }
-            
-            try (ClipboardReader reader = format.getReader(new FileInputStream(schematicFile))) {
-                return reader.read();
+        }
+    }
+    
+    /**
+     * Stops journaling an arena and removes it from the chunk index.
+     */
+    private void untrackArena(String arenaName) {
+        ArenaJournal journal = journals.remove(arenaName);
+        if (journal == null) return;
+        
+        for (int cx = journal.getMinX() >> 4; cx <= journal.getMaxX() >> 4; cx++) {
+            for (int cz = journal.getMinZ() >> 4; cz <= journal.getMaxZ() >> 4; cz++) {
+                long key = chunkKey(cx, cz);
+                List<ArenaJournal> list = journalsByChunk.get(key);
+                if (list != null) {
+                    list.remove(journal);
+                    if (list.isEmpty()) {
+                        journalsByChunk.remove(key);
+                    }
+                }
             }
-        } catch (Exception e) {
-            plugin.getLogger().log(Level.WARNING, "Error loading schematic from file: " + schematicFile.getName(), e);
-            return null;
         }
     }
     
+    /**
+     * Re-creates an arena's journal if its bounds no longer match, e.g. after a corner was moved.
+     */
+    private void refreshJournal(Arena arena) {
+        ArenaJournal journal = journals.get(arena.getName());
+        ArenaGeometry geometry = arena.getGeometry();
+        if (journal != null && geometry != null
+                && journal.getMinX() == geometry.getMinX() && journal.getMinY() == geometry.getMinY()
+                && journal.getMinZ() == geometry.getMinZ() && journal.getMaxX() == geometry.getMaxX()
+                && journal.getMaxY() == geometry.getMaxY() && journal.getMaxZ() == geometry.getMaxZ()) {
+            return;
+        }
+        trackArena(arena, false);
+    }
+    
+    /**
+     * Finds the journal of the arena containing a block position.
+     * 
+     * @param worldName The world of the block
+     * @param x The block X coordinate
+     * @param y The block Y coordinate
+     * @param z The block Z coordinate
+     * @return The journal covering the position, or null if it is outside every arena
+     */
+    public ArenaJournal getJournalAt(String worldName, int x, int y, int z) {
+        List<ArenaJournal> candidates = journalsByChunk.get(chunkKey(x >> 4, z >> 4));
+        if (candidates == null) return null;
+        
+        for (ArenaJournal journal : candidates) {
+            if (journal.contains(x, y, z) && journal.getWorldName().equals(worldName)) {
+                return journal;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * @param arenaName The arena name
+     * @return The arena's change journal, or null if the arena is not journaled
+     */
+    public ArenaJournal getJournal(String arenaName) {
+        return journals.get(arenaName);
+    }
+    
+    /**
+     * @return The number of resets skipped because the arena was unchanged
+     */
+    public long getSkippedResets() {
+        return skippedResets.get();
+    }
+    
+    /**
+     * @return The number of resets restored from the change journal
+     */
+    public long getIncrementalResets() {
+        return incrementalResets.get();
+    }
+    
+    /**
+     * @return The number of times an instance's region was checked against its schematic
+     */
+    public long getVerifications() {
+        return verifications.get();
+    }
+    
+    /**
+     * @return The number of instance checks that found the region did not match its schematic
+     */
+    public long getQuarantines() {
+        return quarantines.get();
+    }
+    
+    /**
+     * @return The number of resets that pasted the full schematic
+     */
+    public long getFullResets() {
+        return fullResets.get();
+    }
+    
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+    
+    /**
+     * @return A read-only live view of all arenas; use the lookup methods rather than scanning it on hot paths
+     */
     public Map<String, Arena> getArenas() {
-        return new HashMap<>(arenas);
+        return Collections.unmodifiableMap(arenas);
+    }
+    
+    /**
+     * @return The pool of pre-warmed arena instances
+     */
+    public ArenaInstancePool getInstancePool() {
+        return instancePool;
+    }
+    
+    /**
+     * @return The cache of schematic clipboards
+     */
+    public SchematicCache getSchematicCache() {
+        return schematicCache;
+    }
+    
+    /**
+     * Regenerates an arena and waits until its chunks are held in memory, so players can be teleported
+     * in without a synchronous chunk load. The arena should be leased, which is what starts the chunk loads.
+     * 
+     * @param arena The arena to prepare
+     * @return A future completing with true once the arena is pasted and resident, or false if the paste failed
+     */
+    public CompletableFuture<Boolean> prepareArena(Arena arena) {
+        return pasteSchematic(arena).thenCombine(chunkTickets.whenResident(arena.getName()), (ready, waited) -> ready);
+    }
+    
+    /**
+     * @param arenaName The arena name
+     * @return A future completing with the result of the paste running for the arena, or with true if none is running
+     */
+    public CompletableFuture<Boolean> whenPasted(String arenaName) {
+        CompletableFuture<Boolean> pending = pendingPastes.get(arenaName);
+        return pending != null ? pending : CompletableFuture.completedFuture(true);
+    }
+    
+    /**
+     * @return The bulk instance builder behind /mango arena pregen
+     */
+    public ArenaPregenerator getPregenerator() {
+        return pregenerator;
+    }
+    
+    /**
+     * @return The void worlds arena instances are placed in
+     */
+    public ArenaWorldPool getWorldPool() {
+        return worldPool;
+    }
+    
+    /**
+     * @return The holder of leased arenas' chunk tickets
+     */
+    public ArenaChunkTickets getChunkTickets() {
+        return chunkTickets;
+    }
+    
+    /**
+     * @return The service that clears arenas of non-player entities
+     */
+    public EntitySweeper getEntitySweeper() {
+        return entitySweeper;
+    }
+    
+    /**
+     * @return The scheduler that performs all arena block writes
+     */
+    public PasteScheduler getPasteScheduler() {
+        return pasteScheduler;
+    }
+    
+    /**
+     * Stops background arena work on plugin disable.
+     */
+    public void cleanup() {
+        if (persister != null) {
+            persister.shutdown(); // Null if the plugin was disabled before arenas finished loading
+        }
+        if (leaseReaper != null) {
+            leaseReaper.cancel();
+            leaseReaper = null;
+        }
+        pregenerator.shutdown();
+        instancePool.shutdown();
+        chunkTickets.shutdown();
+        verifier.shutdownNow();
+        pasteScheduler.shutdown();
+        schematicCache.shutdown();
     }
 }
@@ -0,0 +1,117 @@
+package me.moiz.mangoparty.managers;
+
+import me.moiz.mangoparty.MangoParty;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * Write-behind persistence for arenas.yml.
+ * Changes mark the file dirty and are coalesced into one write per flush delay. The main thread only copies
+ * the configuration's values; YAML serialization and disk I/O happen on a single writer thread, and the file
+ * is replaced atomically through a temporary file so a crash never leaves it half written.
+ */
+public class ArenaPersister {
+    private final MangoParty plugin;
+    private final File file;
+    private final YamlConfiguration config;
+    private final ExecutorService writer;
+    private final long flushDelay;
+    private BukkitTask flushTask;
+
+    /**
+     * Constructs a new ArenaPersister.
+     *
+     * @param plugin The MangoParty plugin instance
+     * @param file The file to write
+     * @param config The live configuration, only accessed from the main thread
+     */
+    public ArenaPersister(MangoParty plugin, File file, YamlConfiguration config) {
+        this.plugin = plugin;
+        this.file = file;
+        this.config = config;
+        this.writer = Executors.newSingleThreadExecutor();
+        this.flushDelay = Math.max(1L, plugin.getConfig().getLong("arena.persist-delay", 40L));
+    }
+
+    /**
+     * Schedules a write of the configuration, merging with any write already scheduled.
+     */
+    public void markDirty() {
+        if (flushTask != null) return;
+
+        flushTask = Bukkit.getScheduler().runTaskLater(plugin, this::flush, flushDelay);
+    }
+
+    /**
+     * Copies the configuration and hands it to the writer thread.
+     */
+    private void flush() {
+        flushTask = null;
+        YamlConfiguration snapshot = snapshot();
+        writer.execute(() -> write(snapshot));
+    }
+
+    /**
+     * Copies every value so the writer thread never touches the live configuration.
+     */
+    private YamlConfiguration snapshot() {
+        YamlConfiguration snapshot = new YamlConfiguration();
+        for (Map.Entry<String, Object> entry : config.getValues(true).entrySet()) {
+            Object value = entry.getValue();
+            if (value instanceof ConfigurationSection) {
+                continue; // Leaves recreate their parent sections
+            }
+            snapshot.set(entry.getKey(), value instanceof List ? new ArrayList<>((List<?>) value) : value);
+        }
+        return snapshot;
+    }
+
+    private void write(YamlConfiguration snapshot) {
+        File temp = new File(file.getParentFile(), file.getName() + ".tmp");
+        try {
+            Files.write(temp.toPath(), snapshot.saveToString().getBytes(StandardCharsets.UTF_8));
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            plugin.getLogger().log(Level.SEVERE, "Could not save " + file.getName(), e);
+        }
+    }
+
+    /**
+     * Writes any pending changes and waits for the writer thread to finish. Called on plugin disable.
+     */
+    public void shutdown() {
+        boolean pending = flushTask != null;
+        if (pending) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(10, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("Timed out waiting for pending arena writes");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (pending) {
+            write(snapshot());
+        }
+    }
+}
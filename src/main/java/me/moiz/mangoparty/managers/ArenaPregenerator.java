@@ -0,0 +1,313 @@
+package me.moiz.mangoparty.managers;
+
+import me.moiz.mangoparty.MangoParty;
+import me.moiz.mangoparty.models.Arena;
+import net.md_5.bungee.api.ChatMessageType;
+import net.md_5.bungee.api.chat.TextComponent;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Builds arena instances in bulk ahead of an event, e.g. through {@code /mango arena pregen}.
+ * Each job brings one base arena up to a target number of instances, keeping a few pastes in flight at a
+ * time at background priority so the paste scheduler's tick limits apply, and starting no new instance
+ * while the server is already behind. Jobs can be paused, resumed and cancelled; since the target counts
+ * instances that already exist, running the same command again resumes where an earlier job stopped.
+ * Finished jobs keep their instances in the pool until they are cancelled.
+ */
+public class ArenaPregenerator {
+    private final MangoParty plugin;
+    private final ArenaManager arenaManager;
+    private final Map<String, Job> jobs; // Base arena name -> job, main thread only
+    private final int maxInFlight;
+    private final long tickBudgetNanos;
+    private final long lagThresholdNanos;
+    private final int progressInterval;
+    private BukkitTask task;
+    private long lastTickAt;
+    private int ticks;
+
+    /**
+     * Constructs a new ArenaPregenerator.
+     *
+     * @param plugin The MangoParty plugin instance
+     * @param arenaManager The arena manager that creates the instances
+     */
+    public ArenaPregenerator(MangoParty plugin, ArenaManager arenaManager) {
+        this.plugin = plugin;
+        this.arenaManager = arenaManager;
+        this.jobs = new LinkedHashMap<>();
+        this.maxInFlight = Math.max(1, plugin.getConfig().getInt("arena.pregen.max-in-flight", 4));
+        this.tickBudgetNanos = Math.max(1L, plugin.getConfig().getLong("arena.pregen.tick-budget", 5L)) * 1_000_000L;
+        this.lagThresholdNanos = Math.max(50L, plugin.getConfig().getLong("arena.pregen.lag-threshold", 60L)) * 1_000_000L;
+        this.progressInterval = Math.max(1, plugin.getConfig().getInt("arena.pregen.progress-interval", 20));
+    }
+
+    /**
+     * Starts bringing a base arena up to the given number of instances. A job already running for the
+     * arena takes the new target and is resumed.
+     *
+     * @param baseArena The base arena to build instances of
+     * @param target The number of instances the arena should have once the job finishes
+     * @param requester The player to report progress to, or null
+     * @return The job
+     */
+    public Job start(Arena baseArena, int target, Player requester) {
+        Job job = jobs.get(baseArena.getName());
+        if (job == null || job.isFinished()) {
+            job = new Job(baseArena.getName(), arenaManager.getInstancePool().getInstanceCount(baseArena.getName()));
+            jobs.put(baseArena.getName(), job);
+        }
+        job.target = target;
+        job.requester = requester != null ? requester.getUniqueId() : null;
+        job.paused = false;
+        job.resumedAt = System.currentTimeMillis();
+
+        // Keep the pool from trimming what this job builds once it sits idle
+        arenaManager.getInstancePool().hold(baseArena.getName(), target);
+        if (task == null) {
+            lastTickAt = System.nanoTime();
+            task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+        }
+        plugin.getLogger().info("Pre-generating " + baseArena.getName() + " up to " + target + " instances (" +
+                job.getExisting() + " already built)");
+        return job;
+    }
+
+    /**
+     * Stops starting new instances for a job. Pastes already running are allowed to finish.
+     *
+     * @param baseArenaName The base arena name
+     * @return True if a running job was paused
+     */
+    public boolean pause(String baseArenaName) {
+        Job job = jobs.get(baseArenaName);
+        if (job == null || job.paused || job.isFinished()) return false;
+
+        job.activeMillis += System.currentTimeMillis() - job.resumedAt;
+        job.paused = true;
+        return true;
+    }
+
+    /**
+     * @param baseArenaName The base arena name
+     * @return True if a paused job was resumed
+     */
+    public boolean resume(String baseArenaName) {
+        Job job = jobs.get(baseArenaName);
+        if (job == null || !job.paused) return false;
+
+        job.paused = false;
+        job.resumedAt = System.currentTimeMillis();
+        return true;
+    }
+
+    /**
+     * Stops a job and releases its hold on the pool, so instances beyond the pool's own target are
+     * reclaimed once they have been idle for the pool's idle timeout.
+     *
+     * @param baseArenaName The base arena name
+     * @return True if there was a job to cancel
+     */
+    public boolean cancel(String baseArenaName) {
+        Job job = jobs.remove(baseArenaName);
+        if (job == null) return false;
+
+        job.cancelled = true;
+        arenaManager.getInstancePool().hold(baseArenaName, 0);
+        plugin.getLogger().info("Cancelled pre-generation of " + baseArenaName + " (" + job.built + " built)");
+        return true;
+    }
+
+    /**
+     * Starts instances for each running job while the tick budget allows, and reports progress.
+     */
+    private void tick() {
+        long now = System.nanoTime();
+        boolean lagging = now - lastTickAt > lagThresholdNanos;
+        lastTickAt = now;
+        long deadline = now + tickBudgetNanos;
+
+        boolean active = false;
+        for (Job job : new ArrayList<>(jobs.values())) {
+            if (job.isFinished()) continue;
+
+            active = true;
+            if (job.paused || lagging) continue;
+
+            while (job.inFlight < maxInFlight && job.getRemaining() > 0 && System.nanoTime() < deadline) {
+                if (!submit(job)) break;
+            }
+        }
+
+        if (++ticks % progressInterval == 0) {
+            for (Job job : jobs.values()) {
+                if (!job.isFinished()) {
+                    sendProgress(job);
+                }
+            }
+        }
+
+        if (!active) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    private boolean submit(Job job) {
+        Arena baseArena = arenaManager.getArena(job.baseArenaName);
+        Arena instance = baseArena != null ? arenaManager.createArenaInstance(baseArena, null, PasteScheduler.Priority.BACKGROUND) : null;
+        if (instance == null) {
+            jobs.remove(job.baseArenaName);
+            job.cancelled = true;
+            arenaManager.getInstancePool().hold(job.baseArenaName, 0);
+            notify(job, "§cPre-generation of " + job.baseArenaName + " stopped: could not create an instance.");
+            return false;
+        }
+
+        arenaManager.getInstancePool().adopt(instance);
+        job.inFlight++;
+        job.submitted++;
+        arenaManager.whenPasted(instance.getName()).whenCompleteAsync((success, error) -> {
+            job.inFlight--;
+            if (success != null && success) {
+                job.built++;
+            } else {
+                job.failed++;
+            }
+            if (job.isFinished() && !job.cancelled) {
+                finish(job);
+            }
+        }, arenaManager.getMainThreadExecutor());
+        return true;
+    }
+
+    private void finish(Job job) {
+        job.activeMillis += System.currentTimeMillis() - job.resumedAt;
+        String summary = "Pre-generated " + job.built + " instances of " + job.baseArenaName + " in " +
+                formatDuration(job.activeMillis) + (job.failed > 0 ? " (" + job.failed + " failed)" : "");
+        plugin.getLogger().info(summary);
+        notify(job, "§a" + summary + ".");
+    }
+
+    private void sendProgress(Job job) {
+        Player player = job.requester != null ? Bukkit.getPlayer(job.requester) : null;
+        if (player == null) return;
+
+        String eta = job.paused ? "§epaused" : "§7ETA §f" + (job.getEtaMillis() < 0 ? "--" : formatDuration(job.getEtaMillis()));
+        player.spigot().sendMessage(ChatMessageType.ACTION_BAR, new TextComponent("§6Pregen " + job.baseArenaName + ": §f" +
+                job.getCompleted() + "/" + job.target + " §7(" + job.inFlight + " pasting) " + eta));
+    }
+
+    private void notify(Job job, String message) {
+        Player player = job.requester != null ? Bukkit.getPlayer(job.requester) : null;
+        if (player != null) {
+            player.sendMessage(message);
+        }
+    }
+
+    private static String formatDuration(long millis) {
+        long seconds = millis / 1000;
+        return seconds >= 60 ? (seconds / 60) + "m" + (seconds % 60) + "s" : seconds + "s";
+    }
+
+    /**
+     * @param baseArenaName The base arena name
+     * @return The arena's job, finished or not, or null if it has none
+     */
+    public Job getJob(String baseArenaName) {
+        return jobs.get(baseArenaName);
+    }
+
+    /**
+     * @return All jobs that have not been cancelled
+     */
+    public Collection<Job> getJobs() {
+        return Collections.unmodifiableCollection(jobs.values());
+    }
+
+    /**
+     * Stops every job. Called on plugin disable.
+     */
+    public void shutdown() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        for (Job job : jobs.values()) {
+            job.cancelled = true;
+        }
+        jobs.clear();
+    }
+
+    /**
+     * Progress of bringing one base arena up to its target, main thread only.
+     */
+    public static class Job {
+        private final String baseArenaName;
+        private final int existing; // Instances the arena had when the job started
+        private final long startedAt = System.currentTimeMillis();
+        private UUID requester;
+        private int target;
+        private int submitted;
+        private int inFlight;
+        private int built;
+        private int failed;
+        private boolean paused;
+        private boolean cancelled;
+        private long resumedAt;
+        private long activeMillis; // Time spent unpaused before the last resume
+
+        private Job(String baseArenaName, int existing) {
+            this.baseArenaName = baseArenaName;
+            this.existing = existing;
+        }
+
+        private int getRemaining() {
+            return target - existing - submitted;
+        }
+
+        public String getBaseArenaName() { return baseArenaName; }
+        public int getTarget() { return target; }
+        public int getExisting() { return existing; }
+        public int getBuilt() { return built; }
+        public int getFailed() { return failed; }
+        public int getInFlight() { return inFlight; }
+        public boolean isPaused() { return paused; }
+        public long getStartedAt() { return startedAt; }
+
+        /**
+         * @return The instances the arena has that are pasted, including those that existed before the job
+         */
+        public int getCompleted() {
+            return existing + built;
+        }
+
+        /**
+         * @return True once every instance the job started has finished pasting and none are left to start
+         */
+        public boolean isFinished() {
+            return cancelled || (getRemaining() <= 0 && inFlight == 0);
+        }
+
+        /**
+         * @return The estimated time left from the rate so far, in milliseconds, or -1 before any instance finished
+         */
+        public long getEtaMillis() {
+            long active = activeMillis + (paused ? 0 : System.currentTimeMillis() - resumedAt);
+            int done = built + failed;
+            if (done == 0) return -1;
+
+            int left = Math.max(0, target - existing - done);
+            return active * left / done;
+        }
+    }
+}
@@ -0,0 +1,313 @@
+package me.moiz.mangoparty.managers;
+
+import me.moiz.mangoparty.MangoParty;
+import me.moiz.mangoparty.models.Arena;
+import me.moiz.mangoparty.models.ArenaGeometry;
+import org.bukkit.World;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands out instance numbers and world space for arena instances.
+ * Numbers are kept per base arena and only name the instance. Space comes from one grid per world, shared by
+ * the instances of every base arena, so instances can never overlap each other whichever arena or world they
+ * were copied from. Cells are square and sized in whole chunks; an arena that does not fit one cell with its
+ * padding takes a block of cells. Cells are filled row by row away from the world's grid origin, released cells
+ * are reused first, and cells within the padding of a base arena in the same world are never used.
+ * Instance worlds are laid out from 0,0, and a base arena's own world from the configured grid origin.
+ */
+public class ArenaSlotAllocator {
+    private static final int COLUMNS = 32; // Cells per grid row
+
+    private final ArenaWorldPool worldPool;
+    private final Map<String, BitSet> numbers; // Base arena name -> instance numbers in use
+    private final Map<String, Grid> grids; // World name -> cell grid
+    private final Map<String, Placement> placements; // Instance name -> cells it holds
+    private final int padding;
+    private final int cellSize;
+    private final int originX;
+    private final int originZ;
+
+    /**
+     * Constructs a new ArenaSlotAllocator.
+     *
+     * @param plugin The MangoParty plugin instance
+     * @param worldPool The instance worlds, which are laid out from 0,0
+     */
+    public ArenaSlotAllocator(MangoParty plugin, ArenaWorldPool worldPool) {
+        this.worldPool = worldPool;
+        this.numbers = new ConcurrentHashMap<>();
+        this.grids = new ConcurrentHashMap<>();
+        this.placements = new ConcurrentHashMap<>();
+        this.padding = Math.max(0, plugin.getConfig().getInt("arena.instance-padding", 32));
+        this.cellSize = toChunks(Math.max(16, plugin.getConfig().getInt("arena.instance-grid.cell-size", 256)));
+        this.originX = toChunks(plugin.getConfig().getInt("arena.instance-grid.origin-x", 10000));
+        this.originZ = toChunks(plugin.getConfig().getInt("arena.instance-grid.origin-z", 0));
+    }
+
+    /**
+     * Takes the lowest free instance number of the base arena.
+     *
+     * @param baseArena The base arena
+     * @return The instance number, starting at 1
+     */
+    public int allocateNumber(Arena baseArena) {
+        BitSet used = numbers.computeIfAbsent(baseArena.getName(), name -> new BitSet());
+        synchronized (used) {
+            int number = used.nextClearBit(1);
+            used.set(number);
+            return number;
+        }
+    }
+
+    /**
+     * Marks an instance number as taken by an instance that already exists, e.g. one loaded from arenas.yml.
+     *
+     * @param baseArena The base arena
+     * @param number The instance number
+     * @return False if the number was already taken
+     */
+    public boolean claimNumber(Arena baseArena, int number) {
+        if (number < 1) return false;
+
+        BitSet used = numbers.computeIfAbsent(baseArena.getName(), name -> new BitSet());
+        synchronized (used) {
+            if (used.get(number)) return false;
+
+            used.set(number);
+            return true;
+        }
+    }
+
+    /**
+     * Takes free space for a new instance of the base arena.
+     *
+     * @param instanceName The name of the instance the space is for
+     * @param baseArena The base arena, whose bounds size the space
+     * @param world The world the instance is placed in
+     * @param arenas Every registered arena, so the space stays clear of the base arenas in the world
+     * @return The space taken
+     */
+    public Placement allocate(String instanceName, Arena baseArena, World world, Collection<Arena> arenas) {
+        ArenaGeometry geometry = baseArena.getGeometry();
+        int cols = cellsFor(geometry.getWidth());
+        int rows = cellsFor(geometry.getLength());
+        Grid grid = gridFor(world);
+
+        synchronized (grid) {
+            int lastCol = Math.max(COLUMNS, cols) - cols;
+            for (int row = 0; ; row++) {
+                for (int col = 0; col <= lastCol; col++) {
+                    Placement placement = new Placement(grid, col, row, cols, rows);
+                    if (grid.isFree(placement) && !touchesBase(placement, world, arenas)) {
+                        grid.mark(placement, true);
+                        placements.put(instanceName, placement);
+                        return placement;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Takes the space an existing instance already occupies, e.g. one loaded from arenas.yml.
+     * Fails if the instance does not sit where this grid would place it, or if its space is taken.
+     *
+     * @param instance The instance
+     * @param world The world the instance is in
+     * @param arenas Every registered arena, so the space stays clear of the base arenas in the world
+     * @return The space taken, or null if the instance needs to move
+     */
+    public Placement claim(Arena instance, World world, Collection<Arena> arenas) {
+        ArenaGeometry geometry = instance.getGeometry();
+        if (geometry == null || world == null) return null;
+
+        Grid grid = gridFor(world);
+        int x = geometry.getMinX() - padding / 2 - grid.originX;
+        int z = geometry.getMinZ() - padding / 2 - grid.originZ;
+        if (x < 0 || z < 0 || x % cellSize != 0 || z % cellSize != 0) return null;
+
+        Placement placement = new Placement(grid, x / cellSize, z / cellSize,
+                cellsFor(geometry.getWidth()), cellsFor(geometry.getLength()));
+        synchronized (grid) {
+            if (!grid.isFree(placement) || touchesBase(placement, world, arenas)) return null;
+
+            grid.mark(placement, true);
+            placements.put(instance.getName(), placement);
+            return placement;
+        }
+    }
+
+    /**
+     * Holds the cells an old instance covers while its region is cleared, wherever it sits and even if another
+     * old instance overlaps it, so no new instance is pasted there until the clear is done.
+     *
+     * @param instance The instance being cleared
+     * @param world The world the instance is in
+     */
+    public void hold(Arena instance, World world) {
+        ArenaGeometry geometry = instance.getGeometry();
+        if (geometry == null || world == null) return;
+
+        Grid grid = gridFor(world);
+        int inset = padding / 2;
+        int firstCol = Math.floorDiv(geometry.getMinX() - inset - grid.originX, cellSize);
+        int firstRow = Math.floorDiv(geometry.getMinZ() - inset - grid.originZ, cellSize);
+        int lastCol = Math.floorDiv(geometry.getMaxX() + inset - grid.originX, cellSize);
+        int lastRow = Math.floorDiv(geometry.getMaxZ() + inset - grid.originZ, cellSize);
+        Placement placement = new Placement(grid, firstCol, firstRow, lastCol - firstCol + 1, lastRow - firstRow + 1);
+        synchronized (grid) {
+            grid.mark(placement, true);
+            placements.put(instance.getName(), placement);
+        }
+    }
+
+    /**
+     * Returns an instance's number and space once the instance has been deleted and its region cleared.
+     *
+     * @param instance The instance
+     */
+    public void release(Arena instance) {
+        BitSet used = instance.getOriginalArena() != null ? numbers.get(instance.getOriginalArena()) : null;
+        if (used != null) {
+            synchronized (used) {
+                used.clear(instance.getInstanceNumber());
+            }
+        }
+
+        Placement placement = placements.remove(instance.getName());
+        if (placement != null) {
+            synchronized (placement.grid) {
+                placement.grid.mark(placement, false);
+            }
+        }
+    }
+
+    /**
+     * Forgets the instance numbers of a deleted base arena.
+     *
+     * @param baseArenaName The base arena name
+     */
+    public void removeBase(String baseArenaName) {
+        numbers.remove(baseArenaName);
+    }
+
+    /**
+     * @param instanceName The instance name
+     * @return The cells the instance holds, or null if it holds none
+     */
+    public Placement getPlacement(String instanceName) {
+        return placements.get(instanceName);
+    }
+
+    /**
+     * @return The blocks of empty space kept around each instance
+     */
+    public int getPadding() {
+        return padding;
+    }
+
+    private boolean touchesBase(Placement placement, World world, Collection<Arena> arenas) {
+        int minX = placement.getMinX();
+        int minZ = placement.getMinZ();
+        int maxX = minX + placement.getWidth() - 1;
+        int maxZ = minZ + placement.getLength() - 1;
+        for (Arena arena : arenas) {
+            ArenaGeometry geometry = arena.getGeometry();
+            if (arena.isInstance() || geometry == null || !world.getName().equals(arena.getWorld())) continue;
+
+            if (geometry.getMinX() - padding <= maxX && geometry.getMaxX() + padding >= minX &&
+                geometry.getMinZ() - padding <= maxZ && geometry.getMaxZ() + padding >= minZ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Grid gridFor(World world) {
+        return grids.computeIfAbsent(world.getName(), name -> worldPool.isInstanceWorld(world)
+                ? new Grid(0, 0)
+                : new Grid(originX, originZ));
+    }
+
+    private int cellsFor(int blocks) {
+        return (blocks + padding + cellSize - 1) / cellSize;
+    }
+
+    private static int toChunks(int blocks) {
+        return ((blocks + 15) >> 4) << 4;
+    }
+
+    /**
+     * The cells of one world's grid that are taken, guarded by the grid itself.
+     */
+    private static class Grid {
+        private final int originX;
+        private final int originZ;
+        private final Map<Long, Integer> used = new HashMap<>(); // Packed column and row -> holders, above 1 only for old overlapping instances
+
+        private Grid(int originX, int originZ) {
+            this.originX = originX;
+            this.originZ = originZ;
+        }
+
+        private boolean isFree(Placement placement) {
+            for (int col = placement.col; col < placement.col + placement.cols; col++) {
+                for (int row = placement.row; row < placement.row + placement.rows; row++) {
+                    if (used.containsKey(pack(col, row))) return false;
+                }
+            }
+            return true;
+        }
+
+        private void mark(Placement placement, boolean taken) {
+            for (int col = placement.col; col < placement.col + placement.cols; col++) {
+                for (int row = placement.row; row < placement.row + placement.rows; row++) {
+                    if (taken) {
+                        used.merge(pack(col, row), 1, Integer::sum);
+                    } else {
+                        used.computeIfPresent(pack(col, row), (cell, holders) -> holders > 1 ? holders - 1 : null);
+                    }
+                }
+            }
+        }
+
+        private static long pack(int col, int row) {
+            return ((long) col << 32) | (row & 0xFFFFFFFFL);
+        }
+    }
+
+    /**
+     * A block of grid cells held by one instance.
+     */
+    public final class Placement {
+        private final Grid grid;
+        private final int col, row;
+        private final int cols, rows;
+
+        private Placement(Grid grid, int col, int row, int cols, int rows) {
+            this.grid = grid;
+            this.col = col;
+            this.row = row;
+            this.cols = cols;
+            this.rows = rows;
+        }
+
+        /**
+         * @return The X of the first block of the held cells
+         */
+        public int getMinX() { return grid.originX + col * cellSize; }
+
+        /**
+         * @return The Z of the first block of the held cells
+         */
+        public int getMinZ() { return grid.originZ + row * cellSize; }
+
+        public int getWidth() { return cols * cellSize; }
+        public int getLength() { return rows * cellSize; }
+    }
+}
@@ -0,0 +1,269 @@
+package me.moiz.mangoparty.managers;
+
+import com.sk89q.worldedit.extent.clipboard.Clipboard;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.world.block.BaseBlock;
+import com.sk89q.worldedit.world.block.BlockState;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * MangoParty's own arena block format: a palette of block data strings followed by run-length encoded
+ * palette indices in y, z, x order. Files are memory-mapped on load, so pasting streams straight from
+ * the page cache without building a WorldEdit clipboard. The .schem file remains the interchange format.
+ *
+ * Layout (big-endian): magic, version, flags, width, height, length, offset x/y/z from the paste origin,
+ * palette size, palette entries (UTF strings), run count, then runs of (palette index, length) ints.
+ */
+public class ArenaSnapshot implements PasteScheduler.PasteSource {
+    public static final String EXTENSION = ".mpsnap";
+
+    private static final int MAGIC = 0x4D50534E; // "MPSN"
+    private static final int VERSION = 1;
+    private static final int FLAG_TILE_ENTITIES = 1;
+    private static final int BYTES_PER_PALETTE_ENTRY = 64; // BlockData wrapper, array slot and air flag
+    private static final int BASE_BYTES = 256; // The snapshot itself and its buffer view
+
+    private final int width, height, length;
+    private final int offsetX, offsetY, offsetZ;
+    private final BlockData[] palette;
+    private final boolean[] airPalette;
+    private final boolean tileEntities;
+    private final ByteBuffer runs;
+    private final int runCount;
+
+    private ArenaSnapshot(int width, int height, int length, int offsetX, int offsetY, int offsetZ,
+                          BlockData[] palette, boolean tileEntities, ByteBuffer runs, int runCount) {
+        this.width = width;
+        this.height = height;
+        this.length = length;
+        this.offsetX = offsetX;
+        this.offsetY = offsetY;
+        this.offsetZ = offsetZ;
+        this.palette = palette;
+        this.airPalette = new boolean[palette.length];
+        for (int i = 0; i < palette.length; i++) {
+            airPalette[i] = palette[i].getMaterial().isAir();
+        }
+        this.tileEntities = tileEntities;
+        this.runs = runs;
+        this.runCount = runCount;
+    }
+
+    /**
+     * Encodes a clipboard into a snapshot file. The file is written to a temporary name and moved into place,
+     * so readers never see a partial snapshot.
+     *
+     * @param file The snapshot file to write
+     * @param clipboard The clipboard to encode
+     * @throws IOException If the file could not be written
+     */
+    public static void write(File file, Clipboard clipboard) throws IOException {
+        BlockVector3 min = clipboard.getRegion().getMinimumPoint();
+        BlockVector3 max = clipboard.getRegion().getMaximumPoint();
+        BlockVector3 offset = min.subtract(clipboard.getOrigin());
+        int width = max.getX() - min.getX() + 1;
+        int height = max.getY() - min.getY() + 1;
+        int length = max.getZ() - min.getZ() + 1;
+
+        Map<BlockState, Integer> indices = new IdentityHashMap<>();
+        List<String> palette = new ArrayList<>();
+        ByteArrayOutputStream runBytes = new ByteArrayOutputStream();
+        DataOutputStream runOut = new DataOutputStream(runBytes);
+        boolean tileEntities = false;
+        int runCount = 0;
+        int runIndex = -1;
+        int runLength = 0;
+
+        for (int y = 0; y < height; y++) {
+            for (int z = 0; z < length; z++) {
+                for (int x = 0; x < width; x++) {
+                    BaseBlock full = clipboard.getFullBlock(BlockVector3.at(min.getX() + x, min.getY() + y, min.getZ() + z));
+                    if (full.hasNbtData()) {
+                        tileEntities = true;
+                    }
+
+                    int index = indices.computeIfAbsent(full.toImmutableState(), state -> {
+                        palette.add(state.getAsString());
+                        return palette.size() - 1;
+                    });
+                    if (index == runIndex) {
+                        runLength++;
+                        continue;
+                    }
+                    if (runLength > 0) {
+                        runOut.writeInt(runIndex);
+                        runOut.writeInt(runLength);
+                        runCount++;
+                    }
+                    runIndex = index;
+                    runLength = 1;
+                }
+            }
+        }
+        if (runLength > 0) {
+            runOut.writeInt(runIndex);
+            runOut.writeInt(runLength);
+            runCount++;
+        }
+
+        File temp = new File(file.getParentFile(), file.getName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(temp))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(tileEntities ? FLAG_TILE_ENTITIES : 0);
+            out.writeInt(width);
+            out.writeInt(height);
+            out.writeInt(length);
+            out.writeInt(offset.getX());
+            out.writeInt(offset.getY());
+            out.writeInt(offset.getZ());
+            out.writeInt(palette.size());
+            for (String state : palette) {
+                out.writeUTF(state);
+            }
+            out.writeInt(runCount);
+            runBytes.writeTo(out);
+        }
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Memory-maps a snapshot file and decodes its palette.
+     *
+     * @param file The snapshot file
+     * @return The snapshot
+     * @throws IOException If the file is missing, truncated or not a snapshot
+     */
+    public static ArenaSnapshot read(File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r");
+             FileChannel channel = raf.getChannel()) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not an arena snapshot: " + file.getName());
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported arena snapshot version " + version + ": " + file.getName());
+            }
+            int flags = buffer.getInt();
+            int width = buffer.getInt();
+            int height = buffer.getInt();
+            int length = buffer.getInt();
+            int offsetX = buffer.getInt();
+            int offsetY = buffer.getInt();
+            int offsetZ = buffer.getInt();
+
+            BlockData[] palette = new BlockData[buffer.getInt()];
+            for (int i = 0; i < palette.length; i++) {
+                byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+                buffer.get(bytes);
+                palette[i] = Bukkit.createBlockData(new String(bytes, StandardCharsets.UTF_8));
+            }
+
+            int runCount = buffer.getInt();
+            if (buffer.remaining() < (long) runCount * 8) {
+                throw new IOException("Truncated arena snapshot: " + file.getName());
+            }
+            ByteBuffer runs = buffer.slice();
+
+            return new ArenaSnapshot(width, height, length, offsetX, offsetY, offsetZ,
+                    palette, (flags & FLAG_TILE_ENTITIES) != 0, runs, runCount);
+        }
+    }
+
+    @Override
+    public PasteScheduler.PasteJob createJob(World world, BlockVector3 to, boolean writeAir) {
+        return new PasteScheduler.SnapshotPasteJob(this, world, to, writeAir);
+    }
+
+    @Override
+    public long getWeight() {
+        // Runs are mapped and paged in by the OS; only the palette lives on the heap
+        return BASE_BYTES + (long) palette.length * BYTES_PER_PALETTE_ENTRY;
+    }
+
+    @Override
+    public RegionChecksum computeChecksum() {
+        int[] hashes = new int[palette.length];
+        for (int i = 0; i < palette.length; i++) {
+            hashes[i] = RegionChecksum.hashOf(palette[i]);
+        }
+
+        RegionChecksum checksum = RegionChecksum.empty(offsetX, offsetY, offsetZ, width, height, length);
+        ByteBuffer reader = newRunReader();
+        int x = 0, y = 0, z = 0;
+        for (int run = 0; run < runCount; run++) {
+            int hash = hashes[reader.getInt()];
+            for (int remaining = reader.getInt(); remaining > 0; remaining--) {
+                checksum.mix(x, y, z, hash);
+                if (++x == width) {
+                    x = 0;
+                    if (++z == length) {
+                        z = 0;
+                        y++;
+                    }
+                }
+            }
+        }
+        return checksum;
+    }
+
+    /**
+     * @return True if the source region contained containers, signs or other blocks with NBT data,
+     *         which this format does not carry
+     */
+    public boolean hasTileEntities() {
+        return tileEntities;
+    }
+
+    public int getWidth() { return width; }
+    public int getHeight() { return height; }
+    public int getLength() { return length; }
+    public int getOffsetX() { return offsetX; }
+    public int getOffsetY() { return offsetY; }
+    public int getOffsetZ() { return offsetZ; }
+    public int getRunCount() { return runCount; }
+
+    /**
+     * @param index A palette index
+     * @return The block data for the index
+     */
+    public BlockData getBlockData(int index) {
+        return palette[index];
+    }
+
+    /**
+     * @param index A palette index
+     * @return True if the palette entry is air
+     */
+    public boolean isAir(int index) {
+        return airPalette[index];
+    }
+
+    /**
+     * @return A read-only view of the runs with its own position, for a single reader
+     */
+    public ByteBuffer newRunReader() {
+        return runs.asReadOnlyBuffer();
+    }
+}
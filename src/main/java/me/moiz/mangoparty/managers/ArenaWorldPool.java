@@ -0,0 +1,193 @@
+package me.moiz.mangoparty.managers;
+
+import me.moiz.mangoparty.MangoParty;
+import me.moiz.mangoparty.models.Arena;
+import org.bukkit.Bukkit;
+import org.bukkit.GameRule;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.WorldCreator;
+import org.bukkit.generator.ChunkGenerator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Empty worlds that arena instances are spread across, so concurrent matches are not all ticked,
+ * saved and chunk-managed by the world the base arenas were built in.
+ * New instances go to the world with the fewest leased instances, then the fewest instances overall.
+ * With no instance worlds configured, instances stay in their base arena's world.
+ * Where an instance goes inside its world is decided by that world's grid in {@link ArenaSlotAllocator},
+ * never by the base arena's coordinates, so bases built at the same spot in different worlds cannot collide.
+ */
+public class ArenaWorldPool {
+    private final MangoParty plugin;
+    private final List<World> worlds;
+
+    /**
+     * Constructs a new ArenaWorldPool, loading or creating the configured instance worlds.
+     *
+     * @param plugin The MangoParty plugin instance
+     */
+    public ArenaWorldPool(MangoParty plugin) {
+        this.plugin = plugin;
+        this.worlds = new ArrayList<>();
+
+        if (!plugin.getConfig().getBoolean("arena.instance-worlds.enabled", false)) return;
+
+        for (String name : plugin.getConfig().getStringList("arena.instance-worlds.names")) {
+            World world = loadWorld(name);
+            if (world != null) {
+                worlds.add(world);
+            }
+        }
+        plugin.getLogger().info("Using " + worlds.size() + " instance worlds for arena instances");
+    }
+
+    private World loadWorld(String name) {
+        World world = Bukkit.getWorld(name);
+        if (world == null) {
+            world = new WorldCreator(name)
+                    .generator(new VoidGenerator())
+                    .generateStructures(false)
+                    .createWorld();
+        }
+        if (world == null) {
+            plugin.getLogger().warning("Could not load instance world " + name);
+            return null;
+        }
+
+        world.setGameRule(GameRule.DO_MOB_SPAWNING, false);
+        world.setGameRule(GameRule.DO_DAYLIGHT_CYCLE, false);
+        world.setGameRule(GameRule.DO_WEATHER_CYCLE, false);
+        world.setGameRule(GameRule.DO_FIRE_TICK, false);
+        world.setGameRule(GameRule.SPAWN_CHUNK_RADIUS, 0);
+        world.setAutoSave(false); // Instances are rebuilt from schematics, nothing here needs saving
+        return world;
+    }
+
+    /**
+     * Picks the world for a new instance.
+     *
+     * @param baseArena The base arena being instanced
+     * @param arenas Every registered arena, used to count each world's instances
+     * @return The least loaded instance world, or the base arena's world if none are configured
+     */
+    public World selectWorld(Arena baseArena, Collection<Arena> arenas) {
+        World fallback = baseArena.getCenter().getWorld();
+        if (worlds.isEmpty()) return fallback;
+
+        Map<String, Occupancy> occupancy = getOccupancy(arenas);
+        World best = null;
+        Occupancy bestLoad = null;
+        for (World world : worlds) {
+            Occupancy load = occupancy.get(world.getName());
+            if (best == null || load.compareTo(bestLoad) < 0) {
+                best = world;
+                bestLoad = load;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Counts the instances placed in each instance world.
+     *
+     * @param arenas Every registered arena
+     * @return Instance world name -> occupancy, in configuration order
+     */
+    public Map<String, Occupancy> getOccupancy(Collection<Arena> arenas) {
+        Map<String, Occupancy> occupancy = new LinkedHashMap<>();
+        for (World world : worlds) {
+            occupancy.put(world.getName(), new Occupancy(world));
+        }
+        for (Arena arena : arenas) {
+            if (!arena.isInstance()) continue;
+
+            Occupancy load = occupancy.get(arena.getWorld());
+            if (load == null) continue;
+
+            load.instances++;
+            if (arena.getInstanceState() == Arena.InstanceState.LEASED || arena.getInstanceState() == Arena.InstanceState.RESETTING) {
+                load.leased++;
+            }
+        }
+        return occupancy;
+    }
+
+    /**
+     * @param world A world
+     * @return True if the world is one of the instance worlds, whose grids start at 0, 0
+     */
+    public boolean isInstanceWorld(World world) {
+        for (World instanceWorld : worlds) {
+            if (instanceWorld.getName().equals(world.getName())) return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return The instance worlds, empty if instances share their base arena's world
+     */
+    public List<World> getWorlds() {
+        return Collections.unmodifiableList(worlds);
+    }
+
+    /**
+     * How busy an instance world is.
+     */
+    public static class Occupancy implements Comparable<Occupancy> {
+        private final World world;
+        private int instances;
+        private int leased;
+
+        private Occupancy(World world) {
+            this.world = world;
+        }
+
+        public World getWorld() { return world; }
+        public int getInstances() { return instances; }
+        public int getLeased() { return leased; }
+        public int getPlayers() { return world.getPlayers().size(); }
+        public int getLoadedChunks() { return world.getLoadedChunks().length; }
+
+        @Override
+        public int compareTo(Occupancy other) {
+            if (leased != other.leased) return Integer.compare(leased, other.leased);
+            return Integer.compare(instances, other.instances);
+        }
+    }
+
+    /**
+     * Generates nothing; every block in an instance world comes from a pasted arena.
+     */
+    private static class VoidGenerator extends ChunkGenerator {
+        @Override
+        public boolean shouldGenerateNoise() { return false; }
+
+        @Override
+        public boolean shouldGenerateSurface() { return false; }
+
+        @Override
+        public boolean shouldGenerateCaves() { return false; }
+
+        @Override
+        public boolean shouldGenerateDecorations() { return false; }
+
+        @Override
+        public boolean shouldGenerateMobs() { return false; }
+
+        @Override
+        public boolean shouldGenerateStructures() { return false; }
+
+        @Override
+        public Location getFixedSpawnLocation(World world, Random random) {
+            return new Location(world, 0, 64, 0);
+        }
+    }
+}
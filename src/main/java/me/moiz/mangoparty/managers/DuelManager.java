@@ -5,18 +5,16 @@ import me.moiz.mangoparty.models.Arena;
 import me.moiz.mangoparty.models.Duel;
 import me.moiz.mangoparty.models.Kit;
 import me.moiz.mangoparty.models.Match;
+import me.moiz.mangoparty.models.PlayerSession;
 import net.md_5.bungee.api.chat.ClickEvent;
 import net.md_5.bungee.api.chat.ComponentBuilder;
 import net.md_5.bungee.api.chat.HoverEvent;
 import net.md_5.bungee.api.chat.TextComponent;
 import org.bukkit.Bukkit;
 import org.bukkit.GameMode;
-import org.bukkit.Location;
 import org.bukkit.Sound;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -26,15 +24,13 @@ public class DuelManager {
     private MangoParty plugin;
     private Map<UUID, Duel> pendingDuels; // Target player UUID -> Duel
     private Map<String, Duel> activeDuels; // Duel ID -> Duel
-    private Map<UUID, String> playerDuels; // Player UUID -> Duel ID
-    private Map<String, BukkitTask> countdownTasks; // Duel ID -> Task
+    private Map<String, GameTicker.Timeout> countdownTasks; // Duel ID -> countdown on the game ticker
     private Map<UUID, UUID> duelIdMap; // Duel UUID -> Target UUID (for callback lookup)
     
     public DuelManager(MangoParty plugin) {
         this.plugin = plugin;
         this.pendingDuels = new HashMap<>();
         this.activeDuels = new HashMap<>();
-        this.playerDuels = new HashMap<>();
         this.countdownTasks = new HashMap<>();
         this.duelIdMap = new HashMap<>();
     }
@@ -139,23 +135,20 @@ public class DuelManager {
         target.playSound(target.getLocation(), Sound.ENTITY_EXPERIENCE_ORB_PICKUP, 1.0f, 1.0f);
         
         // Set expiration timer
-        duel.setExpirationTask(new BukkitRunnable() {
-            @Override
-            public void run() {
-                if (pendingDuels.remove(target.getUniqueId()) != null) {
-                    if (challenger.isOnline()) {
-                        challenger.sendMessage(plugin.getConfig().getString("messages.prefix") + 
-                                             plugin.getConfig().getString("messages.player-duel.challenge-expired")
-                                             .replace("{target}", target.getName()));
-                    }
-                    if (target.isOnline()) {
-                        target.sendMessage(plugin.getConfig().getString("messages.prefix") + 
-                                       plugin.getConfig().getString("messages.player-duel.challenge-expired-target")
-                                       .replace("{challenger}", challenger.getName()));
-                    }
+        duel.setExpirationTask(plugin.getGameTicker().after(1200L, () -> {
+            if (pendingDuels.remove(target.getUniqueId()) != null) {
+                if (challenger.isOnline()) {
+                    challenger.sendMessage(plugin.getConfig().getString("messages.prefix") + 
+                                         plugin.getConfig().getString("messages.player-duel.challenge-expired")
+                                         .replace("{target}", target.getName()));
+                }
+                if (target.isOnline()) {
+                    target.sendMessage(plugin.getConfig().getString("messages.prefix") + 
+                                   plugin.getConfig().getString("messages.player-duel.challenge-expired-target")
+                                   .replace("{challenger}", challenger.getName()));
                 }
             }
-        }.runTaskLater(plugin, 1200L)); // 60 seconds
+        })); // 60 seconds
     }
     
     /**
@@ -242,26 +235,9 @@ public class DuelManager {
             return;
         }
         
-        // Find an available arena that allows this kit
+        // Find an available arena that allows this kit, leasing an instance if none is free
         Arena arena = plugin.getArenaManager().getAvailableArenaForKit(kit.getName());
         
-        // If no available arena found, create an instance of the original arena
-        if (arena == null) {
-            // Find a base arena that allows this kit
-            Arena baseArena = null;
-            for (Arena a : plugin.getArenaManager().getArenas().values()) {
-                if (a.isComplete() && a.isKitAllowed(kit.getName()) && !a.isInstance()) {
-                    baseArena = a;
-                    break;
-                }
-            }
-            
-            // If we found a base arena, create an instance
-            if (baseArena != null) {
-                arena = plugin.getArenaManager().createArenaInstance(baseArena, kit.getName());
-            }
-        }
-        
         if (arena == null) {
             accepter.sendMessage(plugin.getConfig().getString("messages.prefix") + 
                                plugin.getConfig().getString("messages.player-duel.no-available-arenas"));
@@ -271,11 +247,16 @@ public class DuelManager {
             return;
         }
         
-        // Reserve arena
-        plugin.getArenaManager().reserveArena(arena.getName());
-        
-        // Generate duel ID
+        // Generate duel ID and reserve the arena under it
         String duelId = "duel_" + System.currentTimeMillis() + "_" + (int)(Math.random() * 1000);
+        if (!plugin.getArenaManager().reserveArena(arena.getName(), duelId)) {
+            accepter.sendMessage(plugin.getConfig().getString("messages.prefix") + 
+                               plugin.getConfig().getString("messages.player-duel.no-available-arenas"));
+            challenger.sendMessage(plugin.getConfig().getString("messages.prefix") + 
+                                plugin.getConfig().getString("messages.player-duel.no-available-arenas"));
+            pendingDuels.remove(accepter.getUniqueId());
+            return;
+        }
         
         // Set up duel
         duel.setId(duelId);
@@ -284,8 +265,8 @@ public class DuelManager {
         
         // Store duel
         activeDuels.put(duelId, duel);
-        playerDuels.put(challenger.getUniqueId(), duelId);
-        playerDuels.put(accepter.getUniqueId(), duelId);
+        plugin.getSessionManager().joinDuel(challenger.getUniqueId(), duel);
+        plugin.getSessionManager().joinDuel(accepter.getUniqueId(), duel);
         
         // Remove from pending
         pendingDuels.remove(accepter.getUniqueId());
@@ -405,23 +386,55 @@ public class DuelManager {
             plugin.getLogger().warning("Cannot set gamerule: arena center or world is null for arena " + arena.getName());
         }
         
-        // Regenerate arena
-        plugin.getArenaManager().pasteSchematic(arena);
+        // Regenerate arena and only bring players in once its blocks are in place and its chunks are loaded
+        plugin.getArenaManager().prepareArena(arena).thenAcceptAsync(ready -> {
+            if (!activeDuels.containsKey(duel.getId()) || duel.getState() != Duel.DuelState.PREPARING) {
+                return; // Duel was ended while the arena was loading
+            }
+            
+            if (!ready) {
+                plugin.getLogger().warning("Arena " + arena.getName() + " failed to load for duel " + duel.getId());
+                abortDuel(duel, "§cThe arena failed to load. The duel has been cancelled.");
+                return;
+            }
+            
+            // Heal and feed players
+            player1.setHealth(20.0);
+            player1.setFoodLevel(20);
+            player1.setSaturation(20.0f);
+            player2.setHealth(20.0);
+            player2.setFoodLevel(20);
+            player2.setSaturation(20.0f);
+            
+            // Teleport players to their spawns
+            player1.teleport(arena.getSpawn1());
+            player2.teleport(arena.getSpawn2());
+            
+            // Start countdown
+            startDuelCountdown(duel);
+        }, plugin.getArenaManager().getMainThreadExecutor());
+    }
+    
+    /**
+     * Cancel a duel that never started, e.g. because its arena failed to load
+     */
+    private void abortDuel(Duel duel, String reason) {
+        Player player1 = duel.getChallenger();
+        Player player2 = duel.getTarget();
         
-        // Heal and feed players
-        player1.setHealth(20.0);
-        player1.setFoodLevel(20);
-        player1.setSaturation(20.0f);
-        player2.setHealth(20.0);
-        player2.setFoodLevel(20);
-        player2.setSaturation(20.0f);
+        activeDuels.remove(duel.getId());
+        plugin.getSessionManager().leaveDuel(player1.getUniqueId(), duel);
+        plugin.getSessionManager().leaveDuel(player2.getUniqueId(), duel);
+        plugin.getScoreboardManager().cancelTask(duel.getId());
         
-        // Teleport players to their spawns
-        player1.teleport(arena.getSpawn1());
-        player2.teleport(arena.getSpawn2());
+        for (Player player : new Player[]{player1, player2}) {
+            if (player.isOnline()) {
+                player.sendMessage(reason);
+                plugin.getScoreboardManager().removeScoreboard(player);
+            }
+        }
         
-        // Start countdown
-        startDuelCountdown(duel);
+        plugin.getArenaManager().resetAndRelease(duel.getArena());
     }
     
     /**
@@ -450,11 +463,11 @@ public class DuelManager {
         player1.setWalkSpeed(0.0f);
         player2.setWalkSpeed(0.0f);
         
-        BukkitTask countdownTask = new BukkitRunnable() {
+        GameTicker.Timeout countdownTask = plugin.getGameTicker().repeat(0L, 20L, new GameTicker.Task() {
             int countdown = 10; // Increased countdown time to give more time to organize inventory
             
             @Override
-            public void run() {
+            public void run(GameTicker.Timeout timeout) {
                 if (countdown > 0) {
                     // Display countdown with colorful emoji numbers
                     String countdownNumber;
@@ -557,11 +570,11 @@ public class DuelManager {
                         endDuel(duel, player1.isOnline() ? player1.getUniqueId() : player2.getUniqueId());
                     }
                     
-                    this.cancel();
+                    timeout.cancel();
                     countdownTasks.remove(duel.getId());
                 }
             }
-        }.runTaskTimer(plugin, 0L, 20L);
+        });
         
         countdownTasks.put(duel.getId(), countdownTask);
     }
@@ -594,24 +607,21 @@ public class DuelManager {
         }
         
         // Clear titles after 1 second
-        Bukkit.getScheduler().runTaskLater(plugin, () -> {
+        plugin.getGameTicker().after(20L, () -> {
             if (player1.isOnline()) {
                 player1.sendTitle("", "", 0, 0, 0);
             }
             if (player2.isOnline()) {
                 player2.sendTitle("", "", 0, 0, 0);
             }
-        }, 20L);
+        });
     }
     
     /**
      * Handle a player death in a duel
      */
     public void handlePlayerDeath(Player player) {
-        String duelId = playerDuels.get(player.getUniqueId());
-        if (duelId == null) return;
-        
-        Duel duel = activeDuels.get(duelId);
+        Duel duel = getPlayerDuel(player);
         if (duel == null) return;
         
         // Determine winner of the round
@@ -665,10 +675,10 @@ public class DuelManager {
             }
             
             // Wait 2 seconds before proceeding to next round
-            Bukkit.getScheduler().runTaskLater(plugin, () -> {
+            plugin.getGameTicker().after(40L, () -> {
                 // Prepare for next round
                 prepareNextRound(duel);
-            }, 40L); // 40 ticks = 2 seconds
+            }); // 40 ticks = 2 seconds
         }
     }
     
@@ -698,14 +708,14 @@ public class DuelManager {
         }
         
         // Clear all entities and drops in the arena
-        clearArenaEntities(arena);
-        
-        // Regenerate arena
-        plugin.getArenaManager().pasteSchematic(arena);
+        plugin.getArenaManager().getEntitySweeper().sweepNow(arena);
         
-        // Wait 1 second after regeneration
-        Bukkit.getScheduler().runTaskLater(plugin, () -> {
+        // Regenerate arena and continue once the blocks are back in place
+        plugin.getArenaManager().prepareArena(arena).thenAcceptAsync(ready -> {
             if (!activeDuels.containsKey(duel.getId())) return; // Duel was ended
+            if (!ready) {
+                plugin.getLogger().warning("Arena " + arena.getName() + " failed to regenerate between rounds of duel " + duel.getId());
+            }
             
             // Teleport players back to spawn points
             if (player1.isOnline()) {
@@ -758,43 +768,7 @@ public class DuelManager {
             
             // Start countdown for next round
             startNextRoundCountdown(duel);
-        }, 20L); // 1 second delay
-    }
-    
-    /**
-     * Clear all entities and drops within an arena's boundaries
-     */
-    private void clearArenaEntities(Arena arena) {
-        if (arena == null || arena.getCorner1() == null || arena.getCorner2() == null) {
-            return;
-        }
-        
-        // Get arena boundaries
-        Location corner1 = arena.getCorner1();
-        Location corner2 = arena.getCorner2();
-        double minX = Math.min(corner1.getX(), corner2.getX());
-        double minY = Math.min(corner1.getY(), corner2.getY());
-        double minZ = Math.min(corner1.getZ(), corner2.getZ());
-        double maxX = Math.max(corner1.getX(), corner2.getX());
-        double maxY = Math.max(corner1.getY(), corner2.getY());
-        double maxZ = Math.max(corner1.getZ(), corner2.getZ());
-        
-        // Get all entities in the world
-        corner1.getWorld().getEntities().forEach(entity -> {
-            // Skip players
-            if (entity instanceof Player) {
-                return;
-            }
-            
-            // Check if entity is within arena boundaries
-            Location loc = entity.getLocation();
-            if (loc.getX() >= minX && loc.getX() <= maxX &&
-                loc.getY() >= minY && loc.getY() <= maxY &&
-                loc.getZ() >= minZ && loc.getZ() <= maxZ) {
-                // Remove the entity
-                entity.remove();
-            }
-        });
+        }, plugin.getArenaManager().getMainThreadExecutor());
     }
     
     /**
@@ -819,11 +793,11 @@ public class DuelManager {
             player2.setInvulnerable(true); // Make player invincible during countdown
         }
         
-        BukkitTask countdownTask = new BukkitRunnable() {
+        GameTicker.Timeout countdownTask = plugin.getGameTicker().repeat(0L, 20L, new GameTicker.Task() {
             int countdown = 5;
             
             @Override
-            public void run() {
+            public void run(GameTicker.Timeout timeout) {
                 if (countdown > 0) {
                     // Display countdown
                     if (player1.isOnline()) {
@@ -839,11 +813,11 @@ public class DuelManager {
                     // Start the round
                     startRound(duel);
                     
-                    this.cancel();
+                    timeout.cancel();
                     countdownTasks.remove(duel.getId());
                 }
             }
-        }.runTaskTimer(plugin, 0L, 20L);
+        });
         
         countdownTasks.put(duel.getId(), countdownTask);
     }
@@ -885,11 +859,8 @@ public class DuelManager {
             player2.sendTitle(winner != null && winner.equals(player2) ? "§6§lVICTORY!" : "§c§lDEFEAT!", winMessage, 10, 60, 10);
         }
         
-        // Release the arena
-        plugin.getArenaManager().releaseArena(duel.getArena().getName());
-        
         // Teleport players to spawn after 3 seconds
-        Bukkit.getScheduler().runTaskLater(plugin, () -> {
+        plugin.getGameTicker().after(60L, () -> {
             // Reset player states
             if (player1.isOnline()) {
                 player1.setGameMode(GameMode.SURVIVAL);
@@ -927,36 +898,44 @@ public class DuelManager {
             
             // Remove duel
             activeDuels.remove(duel.getId());
-            playerDuels.remove(player1.getUniqueId());
-            playerDuels.remove(player2.getUniqueId());
+            plugin.getSessionManager().leaveDuel(player1.getUniqueId(), duel);
+            plugin.getSessionManager().leaveDuel(player2.getUniqueId(), duel);
             
             // Cancel scoreboard update task
             plugin.getScoreboardManager().cancelTask(duel.getId());
             
             // Cancel countdown task if exists
-            BukkitTask task = countdownTasks.remove(duel.getId());
-            if (task != null && !task.isCancelled()) {
+            GameTicker.Timeout task = countdownTasks.remove(duel.getId());
+            if (task != null) {
                 task.cancel();
             }
             
-            // Regenerate arena
-            plugin.getArenaManager().pasteSchematic(duel.getArena());
-        }, 60L); // 3 seconds delay
+            // Regenerate the arena; it only returns to the free set once the reset is done
+            plugin.getArenaManager().resetAndRelease(duel.getArena());
+        }); // 3 seconds delay
     }
     
     /**
      * Get a player's active duel
      */
     public Duel getPlayerDuel(Player player) {
-        String duelId = playerDuels.get(player.getUniqueId());
-        return duelId != null ? activeDuels.get(duelId) : null;
+        PlayerSession session = plugin.getSessionManager().get(player);
+        return session != null ? session.getDuel() : null;
     }
     
     /**
      * Check if a player is in a duel
      */
     public boolean isInDuel(Player player) {
-        return playerDuels.containsKey(player.getUniqueId());
+        PlayerSession session = plugin.getSessionManager().get(player);
+        return session != null && session.getDuel() != null;
+    }
+    
+    /**
+     * Check if a duel with the given ID is still running
+     */
+    public boolean isDuelActive(String duelId) {
+        return duelId != null && activeDuels.containsKey(duelId);
     }
     
     /**
@@ -981,21 +960,18 @@ public class DuelManager {
         }
         
         // Check if player is in an active duel
-        String duelId = playerDuels.get(player.getUniqueId());
-        if (duelId != null) {
-            Duel duel = activeDuels.get(duelId);
-            if (duel != null) {
-                // Determine the winner (the player who didn't disconnect)
-                UUID winnerUuid;
-                if (player.getUniqueId().equals(duel.getChallenger().getUniqueId())) {
-                    winnerUuid = duel.getTarget().getUniqueId();
-                } else {
-                    winnerUuid = duel.getChallenger().getUniqueId();
-                }
-                
-                // End the duel
-                endDuel(duel, winnerUuid);
+        Duel duel = getPlayerDuel(player);
+        if (duel != null) {
+            // Determine the winner (the player who didn't disconnect)
+            UUID winnerUuid;
+            if (player.getUniqueId().equals(duel.getChallenger().getUniqueId())) {
+                winnerUuid = duel.getTarget().getUniqueId();
+            } else {
+                winnerUuid = duel.getChallenger().getUniqueId();
             }
+            
+            // End the duel
+            endDuel(duel, winnerUuid);
         }
     }
     
@@ -1012,10 +988,8 @@ public class DuelManager {
         pendingDuels.clear();
         
         // Cancel all countdown tasks
-        for (BukkitTask task : countdownTasks.values()) {
-            if (task != null && !task.isCancelled()) {
-                task.cancel();
-            }
+        for (GameTicker.Timeout task : countdownTasks.values()) {
+            task.cancel();
         }
         countdownTasks.clear();
         
@@ -1043,6 +1017,5 @@ public class DuelManager {
         }
         
         activeDuels.clear();
-        playerDuels.clear();
     }
 }
\ No newline at end of file
@@ -0,0 +1,151 @@
+package me.moiz.mangoparty.managers;
+
+import me.moiz.mangoparty.MangoParty;
+import me.moiz.mangoparty.models.Arena;
+import me.moiz.mangoparty.models.ArenaGeometry;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Removes dropped items, projectiles and other non-player entities from arenas.
+ * Only the chunks covering an arena's bounds are enumerated, and all sweeps queued during a tick
+ * are done in a single pass in which each chunk is visited once, however many arenas overlap it.
+ */
+public class EntitySweeper {
+    private final MangoParty plugin;
+    private final Map<String, Sweep> queued; // Arena name -> pending sweep, main thread only
+    private boolean passScheduled;
+    private long removedEntities;
+
+    /**
+     * Constructs a new EntitySweeper.
+     *
+     * @param plugin The MangoParty plugin instance
+     */
+    public EntitySweeper(MangoParty plugin) {
+        this.plugin = plugin;
+        this.queued = new LinkedHashMap<>();
+    }
+
+    /**
+     * Queues an arena for the next sweep pass, which runs on the following tick.
+     *
+     * @param arena The arena to clear of entities
+     */
+    public void queue(Arena arena) {
+        Sweep sweep = Sweep.of(arena);
+        if (sweep == null) return;
+
+        queued.put(arena.getName(), sweep);
+        if (!passScheduled) {
+            passScheduled = true;
+            Bukkit.getScheduler().runTask(plugin, this::runPass);
+        }
+    }
+
+    /**
+     * Clears an arena of entities immediately, e.g. right before players are brought in.
+     *
+     * @param arena The arena to clear of entities
+     */
+    public void sweepNow(Arena arena) {
+        Sweep sweep = Sweep.of(arena);
+        if (sweep == null) return;
+
+        queued.remove(arena.getName());
+        List<Sweep> single = new ArrayList<>(1);
+        single.add(sweep);
+        sweep(sweep.world, single);
+    }
+
+    private void runPass() {
+        passScheduled = false;
+        if (queued.isEmpty()) return;
+
+        Map<World, List<Sweep>> byWorld = new HashMap<>();
+        for (Sweep sweep : queued.values()) {
+            byWorld.computeIfAbsent(sweep.world, w -> new ArrayList<>()).add(sweep);
+        }
+        queued.clear();
+
+        for (Map.Entry<World, List<Sweep>> entry : byWorld.entrySet()) {
+            sweep(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Visits every loaded chunk touched by the given sweeps once and removes the entities inside any of them.
+     * Unloaded chunks are skipped rather than loaded; their entities are not in any match.
+     */
+    private void sweep(World world, List<Sweep> sweeps) {
+        Map<Long, List<Sweep>> byChunk = new HashMap<>();
+        for (Sweep sweep : sweeps) {
+            for (int cx = sweep.geometry.getMinChunkX(); cx <= sweep.geometry.getMaxChunkX(); cx++) {
+                for (int cz = sweep.geometry.getMinChunkZ(); cz <= sweep.geometry.getMaxChunkZ(); cz++) {
+                    byChunk.computeIfAbsent(chunkKey(cx, cz), k -> new ArrayList<>(1)).add(sweep);
+                }
+            }
+        }
+
+        for (Map.Entry<Long, List<Sweep>> entry : byChunk.entrySet()) {
+            int cx = (int) (entry.getKey() >> 32);
+            int cz = (int) (long) entry.getKey();
+            if (!world.isChunkLoaded(cx, cz)) continue;
+
+            Chunk chunk = world.getChunkAt(cx, cz);
+            for (Entity entity : chunk.getEntities()) {
+                if (entity instanceof Player) continue;
+
+                Location loc = entity.getLocation();
+                for (Sweep sweep : entry.getValue()) {
+                    // Whole blocks, so entities standing on the far edge of the region are included
+                    if (sweep.geometry.containsInBlocks(loc.getX(), loc.getY(), loc.getZ())) {
+                        entity.remove();
+                        removedEntities++;
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    private static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    /**
+     * @return The number of entities removed since startup
+     */
+    public long getRemovedEntities() {
+        return removedEntities;
+    }
+
+    private static class Sweep {
+        private final World world;
+        private final ArenaGeometry geometry;
+
+        private Sweep(World world, ArenaGeometry geometry) {
+            this.world = world;
+            this.geometry = geometry;
+        }
+
+        private static Sweep of(Arena arena) {
+            if (arena == null || arena.getGeometry() == null) return null;
+
+            World world = arena.getCorner1().getWorld();
+            if (world == null) return null;
+
+            return new Sweep(world, arena.getGeometry());
+        }
+    }
+}
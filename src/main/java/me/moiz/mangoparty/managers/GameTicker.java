@@ -0,0 +1,244 @@
+package me.moiz.mangoparty.managers;
+
+import me.moiz.mangoparty.MangoParty;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.logging.Level;
+
+/**
+ * One plugin-wide ticker that drives every match and duel countdown, timeout and delayed action,
+ * so concurrent games share a single scheduler entry instead of one each.
+ * Timeouts are kept in a hashed timing wheel: each of its slots holds a linked list of the timeouts due
+ * on ticks that map to it, with a count of the full turns of the wheel still to wait. Scheduling and
+ * cancelling are O(1), and each tick only visits the timeouts in the current slot.
+ *
+ * Main thread only, like the Bukkit scheduler calls it replaces.
+ */
+public class GameTicker {
+    private final MangoParty plugin;
+    private final Timeout[] wheel; // Slot -> head of its timeout list
+    private final int mask;
+    private final int shift;
+    private BukkitTask task;
+    private long tick; // Ticks advanced since the ticker started
+    private int pending;
+    private long lastTickNanos;
+    private long maxTickNanos;
+    private double averageTickNanos;
+    private int lastTickRuns;
+
+    /**
+     * Constructs a new GameTicker.
+     *
+     * @param plugin The MangoParty plugin instance
+     */
+    public GameTicker(MangoParty plugin) {
+        this.plugin = plugin;
+        // Round the slot count up to a power of two so a tick maps to its slot with a mask
+        int slots = Integer.highestOneBit(Math.max(16, plugin.getConfig().getInt("ticker.wheel-slots", 512)) * 2 - 1);
+        this.wheel = new Timeout[slots];
+        this.mask = slots - 1;
+        this.shift = Integer.numberOfTrailingZeros(slots);
+    }
+
+    /**
+     * A task run by the ticker. It receives its own timeout, so a repeating task can cancel itself.
+     */
+    public interface Task {
+        void run(Timeout timeout);
+    }
+
+    /**
+     * Starts the ticker's single scheduler task.
+     */
+    public void start() {
+        if (task == null) {
+            task = Bukkit.getScheduler().runTaskTimer(plugin, this::advance, 1L, 1L);
+        }
+    }
+
+    /**
+     * Runs a task once after a delay.
+     *
+     * @param delay Ticks to wait; 0 runs it on the next tick
+     * @param action The action to run
+     * @return The timeout, which can be cancelled
+     */
+    public Timeout after(long delay, Runnable action) {
+        return schedule(delay, 0L, timeout -> action.run());
+    }
+
+    /**
+     * Runs a task repeatedly until its timeout is cancelled.
+     *
+     * @param delay Ticks before the first run; 0 runs it on the next tick
+     * @param period Ticks between runs
+     * @param task The task to run
+     * @return The timeout, which can be cancelled
+     */
+    public Timeout repeat(long delay, long period, Task task) {
+        return schedule(delay, Math.max(1L, period), task);
+    }
+
+    private Timeout schedule(long delay, long period, Task task) {
+        Timeout timeout = new Timeout(this, task, period);
+        insert(timeout, Math.max(1L, delay));
+        return timeout;
+    }
+
+    private void insert(Timeout timeout, long delay) {
+        long due = tick + delay;
+        int slot = (int) (due & mask);
+        timeout.slot = slot;
+        timeout.rounds = (delay - 1) >> shift; // Full turns before the slot comes round on the due tick
+        timeout.prev = null;
+        timeout.next = wheel[slot];
+        if (wheel[slot] != null) {
+            wheel[slot].prev = timeout;
+        }
+        wheel[slot] = timeout;
+        pending++;
+    }
+
+    private void unlink(Timeout timeout) {
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            wheel[timeout.slot] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        // Next is kept so a slot walk that is standing on this timeout can still move past it
+        timeout.prev = null;
+        timeout.slot = -1;
+        pending--;
+    }
+
+    /**
+     * Moves the wheel one tick and runs the timeouts due in the new slot.
+     */
+    private void advance() {
+        long start = System.nanoTime();
+        tick++;
+        int runs = 0;
+
+        int slot = (int) (tick & mask);
+        Timeout timeout = wheel[slot];
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            if (timeout.slot != slot) {
+                // Cancelled by a task that ran earlier in this walk
+            } else if (timeout.rounds > 0) {
+                timeout.rounds--;
+            } else {
+                unlink(timeout);
+                runs++;
+                try {
+                    timeout.task.run(timeout);
+                } catch (Throwable t) {
+                    plugin.getLogger().log(Level.WARNING, "Ticker task failed", t);
+                    timeout.cancelled = true;
+                }
+                if (timeout.period > 0 && !timeout.cancelled && timeout.slot < 0) {
+                    insert(timeout, timeout.period);
+                }
+            }
+            timeout = next;
+        }
+
+        lastTickRuns = runs;
+        lastTickNanos = System.nanoTime() - start;
+        maxTickNanos = Math.max(maxTickNanos, lastTickNanos);
+        averageTickNanos += (lastTickNanos - averageTickNanos) * 0.05; // Roughly the last few seconds
+    }
+
+    /**
+     * @return The number of timeouts waiting to run
+     */
+    public int getPending() {
+        return pending;
+    }
+
+    /**
+     * @return The number of timeouts run on the last tick
+     */
+    public int getLastTickRuns() {
+        return lastTickRuns;
+    }
+
+    /**
+     * @return The time the last tick took, in milliseconds
+     */
+    public double getLastTickMillis() {
+        return lastTickNanos / 1_000_000.0;
+    }
+
+    /**
+     * @return The moving average time per tick, in milliseconds
+     */
+    public double getAverageTickMillis() {
+        return averageTickNanos / 1_000_000.0;
+    }
+
+    /**
+     * @return The longest tick so far, in milliseconds
+     */
+    public double getMaxTickMillis() {
+        return maxTickNanos / 1_000_000.0;
+    }
+
+    /**
+     * Stops the ticker and drops every timeout. Called on plugin disable.
+     */
+    public void shutdown() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        for (int slot = 0; slot < wheel.length; slot++) {
+            for (Timeout timeout = wheel[slot]; timeout != null; timeout = timeout.next) {
+                timeout.cancelled = true;
+            }
+            wheel[slot] = null;
+        }
+        pending = 0;
+    }
+
+    /**
+     * A scheduled task's place on the wheel.
+     */
+    public static final class Timeout {
+        private final GameTicker ticker;
+        private final Task task;
+        private final long period; // 0 for one-shot timeouts
+        private Timeout prev;
+        private Timeout next;
+        private int slot = -1; // -1 while not on the wheel
+        private long rounds;
+        private boolean cancelled;
+
+        private Timeout(GameTicker ticker, Task task, long period) {
+            this.ticker = ticker;
+            this.task = task;
+            this.period = period;
+        }
+
+        /**
+         * Stops the task from running again. Safe to call from the task itself, or more than once.
+         */
+        public void cancel() {
+            if (cancelled) return;
+
+            cancelled = true;
+            if (slot >= 0) {
+                ticker.unlink(this);
+            }
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
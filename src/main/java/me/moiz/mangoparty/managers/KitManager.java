@@ -14,9 +14,13 @@ import org.bukkit.scheduler.BukkitTask;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.logging.Level;
 
@@ -57,44 +61,56 @@ public class KitManager {
             }
         }
         
-        loadKits();
         scheduleAutoSave();
     }
     
     /**
-     * Loads all kits from the kits directory.
-     * Optimized with better error handling and logging.
+     * Loads all kits from the kits directory, parsing each file as its own task on the worker pool.
+     * Nothing is registered until {@link #publishKits(Map)}.
+     *
+     * @param workers The startup worker pool
+     * @return A future completing with the loaded kits, keyed by lowercase name
      */
-    private void loadKits() {
+    public CompletableFuture<Map<String, Kit>> loadKitsAsync(Executor workers) {
         plugin.getLogger().info("Loading kits from " + kitsDir.getAbsolutePath());
         File[] kitFiles = kitsDir.listFiles((dir, name) -> name.endsWith(".yml"));
         
         if (kitFiles == null || kitFiles.length == 0) {
             plugin.getLogger().info("No kit files found");
-            return;
+            return CompletableFuture.completedFuture(new HashMap<>());
         }
         
-        int loadedCount = 0;
-        int failedCount = 0;
+        List<CompletableFuture<Kit>> loads = new ArrayList<>(kitFiles.length);
+        for (File kitFile : kitFiles) {
+            String kitName = kitFile.getName().replace(".yml", "");
+            loads.add(CompletableFuture.supplyAsync(() -> loadKitFromFile(kitName, kitFile), workers));
+        }
         
-        kitsLock.writeLock().lock();
-        try {
-            for (File kitFile : kitFiles) {
-                String kitName = kitFile.getName().replace(".yml", "");
-                Kit kit = loadKitFromFile(kitName, kitFile);
-                
+        return CompletableFuture.allOf(loads.toArray(new CompletableFuture[0])).thenApply(v -> {
+            Map<String, Kit> loaded = new HashMap<>();
+            for (CompletableFuture<Kit> load : loads) {
+                Kit kit = load.join();
                 if (kit != null) {
-                    kits.put(kitName.toLowerCase(), kit); // Store with lowercase key for case-insensitive lookup
-                    loadedCount++;
-                } else {
-                    failedCount++;
+                    loaded.put(kit.getName().toLowerCase(), kit); // Store with lowercase key for case-insensitive lookup
                 }
             }
+            plugin.getLogger().info("Loaded " + loaded.size() + " kits successfully. Failed to load " + (kitFiles.length - loaded.size()) + " kits.");
+            return loaded;
+        });
+    }
+    
+    /**
+     * Registers loaded kits. Called on the main thread once startup loading has finished.
+     *
+     * @param loaded The loaded kits, keyed by lowercase name
+     */
+    public void publishKits(Map<String, Kit> loaded) {
+        kitsLock.writeLock().lock();
+        try {
+            kits.putAll(loaded);
         } finally {
             kitsLock.writeLock().unlock();
         }
-        
-        plugin.getLogger().info("Loaded " + loadedCount + " kits successfully. Failed to load " + failedCount + " kits.");
     }
     
     /**
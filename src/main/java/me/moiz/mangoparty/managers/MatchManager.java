@@ -5,13 +5,12 @@ import me.moiz.mangoparty.models.Arena;
 import me.moiz.mangoparty.models.Kit;
 import me.moiz.mangoparty.models.Match;
 import me.moiz.mangoparty.models.Party;
+import me.moiz.mangoparty.models.PlayerSession;
 import org.bukkit.Bukkit;
 import org.bukkit.GameMode;
-import org.bukkit.Location;
 import org.bukkit.Sound;
 import org.bukkit.entity.Player;
 import org.bukkit.scheduler.BukkitRunnable;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -24,9 +23,8 @@ import java.util.logging.Level;
 public class MatchManager {
     private final MangoParty plugin;
     private final Map<String, Match> activeMatches;
-    private final Map<UUID, String> playerMatches; // Player UUID -> Match ID
-    private final Map<String, BukkitTask> countdownTasks; // Match ID -> Task
-    private final Map<String, Arena> arenaCache; // Cache for frequently accessed arenas
+    private final Map<String, GameTicker.Timeout> countdownTasks; // Match ID -> countdown on the game ticker
+    private final Set<String> endingMatches; // Ended matches whose players are still in the arena, so it stays leased
     
     /**
      * Constructs a new MatchManager.
@@ -36,50 +34,13 @@ public class MatchManager {
     public MatchManager(MangoParty plugin) {
         this.plugin = plugin;
         this.activeMatches = new ConcurrentHashMap<>();
-        this.playerMatches = new ConcurrentHashMap<>();
         this.countdownTasks = new ConcurrentHashMap<>();
-        this.arenaCache = new ConcurrentHashMap<>();
+        this.endingMatches = ConcurrentHashMap.newKeySet();
         
         // Schedule periodic cleanup of stale matches
         scheduleMatchCleanup();
     }
     
-    /**
-     * Clear all entities and drops within an arena's boundaries
-     */
-    private void clearArenaEntities(Arena arena) {
-        if (arena == null || arena.getCorner1() == null || arena.getCorner2() == null) {
-            return;
-        }
-        
-        // Get arena boundaries
-        Location corner1 = arena.getCorner1();
-        Location corner2 = arena.getCorner2();
-        double minX = Math.min(corner1.getX(), corner2.getX());
-        double minY = Math.min(corner1.getY(), corner2.getY());
-        double minZ = Math.min(corner1.getZ(), corner2.getZ());
-        double maxX = Math.max(corner1.getX(), corner2.getX());
-        double maxY = Math.max(corner1.getY(), corner2.getY());
-        double maxZ = Math.max(corner1.getZ(), corner2.getZ());
-        
-        // Get all entities in the world
-        corner1.getWorld().getEntities().forEach(entity -> {
-            // Skip players
-            if (entity instanceof Player) {
-                return;
-            }
-            
-            // Check if entity is within arena boundaries
-            Location loc = entity.getLocation();
-            if (loc.getX() >= minX && loc.getX() <= maxX &&
-                loc.getY() >= minY && loc.getY() <= maxY &&
-                loc.getZ() >= minZ && loc.getZ() <= maxZ) {
-                // Remove the entity
-                entity.remove();
-            }
-        });
-    }
-
     /**
      * Gets the match a player is currently in.
      * 
@@ -89,8 +50,8 @@ public class MatchManager {
     public Match getPlayerMatch(Player player) {
         if (player == null) return null;
         
-        String matchId = playerMatches.get(player.getUniqueId());
-        return matchId != null ? activeMatches.get(matchId) : null;
+        PlayerSession session = plugin.getSessionManager().get(player);
+        return session != null ? session.getMatch() : null;
     }
 
     /**
@@ -112,6 +73,7 @@ public class MatchManager {
         if (player == null || match == null) return;
         
         match.eliminatePlayer(player.getUniqueId());
+        plugin.getSessionManager().spectate(player.getUniqueId(), match);
         
         // Check if match is finished
         if (match.isFinished()) {
@@ -213,46 +175,14 @@ public class MatchManager {
     }
     
     /**
-     * Finds a suitable arena for a kit, with caching for performance.
+     * Finds a suitable arena for a kit.
      * 
      * @param kitName The name of the kit
      * @return A suitable arena, or null if none available
      */
     private Arena findSuitableArena(String kitName) {
-        // Check cache first
-        String cacheKey = "arena_for_kit_" + kitName;
-        Arena cachedArena = arenaCache.get(cacheKey);
-        
-        if (cachedArena != null && !plugin.getArenaManager().isArenaReserved(cachedArena.getName())) {
-            return cachedArena;
-        }
-        
-        // Find an available arena that allows this kit
-        Arena arena = plugin.getArenaManager().getAvailableArenaForKit(kitName);
-        
-        // If no available arena found, create an instance of the original arena
-        if (arena == null) {
-            // Find a base arena that allows this kit
-            Arena baseArena = null;
-            for (Arena a : plugin.getArenaManager().getArenas().values()) {
-                if (a.isComplete() && a.isKitAllowed(kitName) && !a.isInstance()) {
-                    baseArena = a;
-                    break;
-                }
-            }
-            
-            // If we found a base arena, create an instance
-            if (baseArena != null) {
-                arena = plugin.getArenaManager().createArenaInstance(baseArena, kitName);
-            }
-        }
-        
-        // Update cache if we found an arena
-        if (arena != null) {
-            arenaCache.put(cacheKey, arena);
-        }
-        
-        return arena;
+        // Free arenas are indexed by kit, and an instance is leased or built when none is free
+        return plugin.getArenaManager().getAvailableArenaForKit(kitName);
     }
 
     /**
@@ -283,46 +213,33 @@ public class MatchManager {
         
         // Check if kit is allowed in this arena
         if (kit != null && !arena.isKitAllowed(kit.getName())) {
-            // Try to find an available arena that allows this kit
+            // Find an available arena that allows this kit, leasing an instance if none is free
             Arena availableArena = plugin.getArenaManager().getAvailableArenaForKit(kit.getName());
-            
-            // If no available arena found, create an instance of the original arena
-            if (availableArena == null) {
-                // Find a base arena that allows this kit
-                Arena baseArena = null;
-                for (Arena a : plugin.getArenaManager().getArenas().values()) {
-                    if (a.isComplete() && a.isKitAllowed(kit.getName()) && !a.isInstance()) {
-                        baseArena = a;
-                        break;
-                    }
-                }
-                
-                // If we found a base arena, create an instance
-                if (baseArena != null) {
-                    availableArena = plugin.getArenaManager().createArenaInstance(baseArena, kit.getName());
-                }
-            }
-            
+                        
             // If we found or created an available arena, use it
             if (availableArena != null) {
                 arena = availableArena;
             }
         }
         
-        // Clear arena entities before reserving
-        clearArenaEntities(arena);
+        // Reserve the arena under the match ID so the lease can be traced back to this match
+        String matchId = generateMatchId();
+        if (!plugin.getArenaManager().reserveArena(arena.getName(), matchId)) {
+            plugin.getLogger().warning("Arena " + arena.getName() + " was taken before match " + matchId + " could reserve it");
+            return null;
+        }
         
-        // Reserve the arena
-        plugin.getArenaManager().reserveArena(arena.getName());
+        // Clear arena entities now that the arena is ours
+        plugin.getArenaManager().getEntitySweeper().sweepNow(arena);
         
         // Create match object
-        String matchId = generateMatchId();
-        Match match = Match.createWithRandomId(party, arena, kit, matchType);
+        Match match = new Match(matchId, party, arena, kit, matchType);
         
         // Assign teams if split mode
         if ("split".equalsIgnoreCase(matchType)) {
             if (!match.assignTeams()) {
                 plugin.getLogger().warning("Failed to assign teams for match: " + matchId);
+                plugin.getArenaManager().releaseArena(arena.getName(), matchId);
                 return null;
             }
         }
@@ -330,7 +247,7 @@ public class MatchManager {
         // Store match
         activeMatches.put(matchId, match);
         for (Player player : players) {
-            playerMatches.put(player.getUniqueId(), matchId);
+            plugin.getSessionManager().joinMatch(player.getUniqueId(), match);
         }
         
         // Set gamerule for immediate respawn and keep it true
@@ -340,32 +257,60 @@ public class MatchManager {
             plugin.getLogger().warning("Cannot set gamerule: arena center or world is null for arena " + arena.getName());
         }
         
-        // Regenerate arena
-        plugin.getArenaManager().pasteSchematic(arena);
-        
         // Set party as in match
         party.setInMatch(true);
         match.setState(Match.MatchState.PREPARING);
         match.updateLastActivityTime();
         
-        // Heal and feed all players
-        for (Player player : players) {
-            player.setHealth(20.0);
-            player.setFoodLevel(20);
-            player.setSaturation(20.0f);
-        }
+        // Regenerate arena and only bring players in once its blocks are in place and its chunks are loaded
+        final Arena matchArena = arena;
+        plugin.getArenaManager().prepareArena(arena).thenAcceptAsync(ready -> {
+            if (!canStartAfterPaste(match, ready)) return;
+            
+            // Heal and feed all players
+            for (Player player : players) {
+                player.setHealth(20.0);
+                player.setFoodLevel(20);
+                player.setSaturation(20.0f);
+            }
+            
+            // Teleport players based on match type
+            if ("split".equalsIgnoreCase(matchType)) {
+                startSplitMatch(players, matchArena, match);
+            } else if ("ffa".equalsIgnoreCase(matchType)) {
+                startFFAMatch(players, matchArena, match);
+            }
+            
+            // Start countdown
+            startCountdown(match);
+        }, plugin.getArenaManager().getMainThreadExecutor());
         
-        // Teleport players based on match type
-        if ("split".equalsIgnoreCase(matchType)) {
-            startSplitMatch(players, arena, match);
-        } else if ("ffa".equalsIgnoreCase(matchType)) {
-            startFFAMatch(players, arena, match);
+        return match;
+    }
+    
+    /**
+     * Checks whether a match that was waiting on its arena paste can still start.
+     * Cancels the match if the arena failed to load.
+     * 
+     * @param match The match waiting to start
+     * @param ready Whether the arena paste succeeded
+     * @return true if players can be brought into the arena, false otherwise
+     */
+    private boolean canStartAfterPaste(Match match, boolean ready) {
+        if (match.getState() != Match.MatchState.PREPARING) {
+            return false; // Match was ended while the arena was loading
         }
         
-        // Start countdown
-        startCountdown(match);
+        if (!ready) {
+            plugin.getLogger().warning("Arena " + match.getArena().getName() + " failed to load for match " + match.getId());
+            for (Player player : match.getAllPlayers()) {
+                player.sendMessage("§cThe arena failed to load. The match has been cancelled.");
+            }
+            endMatch(match);
+            return false;
+        }
         
-        return match;
+        return true;
     }
     
     /**
@@ -396,11 +341,11 @@ public class MatchManager {
         }
         
         // Start 5 second countdown
-        new BukkitRunnable() {
+        plugin.getGameTicker().repeat(0L, 20L, new GameTicker.Task() {
             int countdown = 5;
             
             @Override
-            public void run() {
+            public void run(GameTicker.Timeout timeout) {
                 if (countdown > 0) {
                     for (Player player : players) {
                         if (player.isOnline()) {
@@ -417,10 +362,10 @@ public class MatchManager {
                             player.sendTitle("§c§lFIGHT!", "", 0, 20, 0);
                         }
                     }
-                    this.cancel();
+                    timeout.cancel();
                 }
             }
-        }.runTaskTimer(plugin, 0L, 20L); // Run every second
+        }); // Run every second
     }
     
     /**
@@ -446,11 +391,11 @@ public class MatchManager {
         match.updateLastActivityTime();
         
         // Start 5 second countdown
-        new BukkitRunnable() {
+        plugin.getGameTicker().repeat(0L, 20L, new GameTicker.Task() {
             int countdown = 5;
             
             @Override
-            public void run() {
+            public void run(GameTicker.Timeout timeout) {
                 if (countdown > 0) {
                     for (Player player : players) {
                         if (player.isOnline()) {
@@ -467,10 +412,10 @@ public class MatchManager {
                             player.sendTitle("§c§lFIGHT!", "", 0, 20, 0);
                         }
                     }
-                    this.cancel();
+                    timeout.cancel();
                 }
             }
-        }.runTaskTimer(plugin, 0L, 20L); // Run every second
+        }); // Run every second
     }
 
     /**
@@ -499,48 +444,32 @@ public class MatchManager {
             return false;
         }
         
-        // Regenerate arena
-        plugin.getArenaManager().pasteSchematic(match.getArena());
-        
         Arena arena = match.getArena();
         Kit kit = match.getKit();
         
         // Check if kit is allowed in this arena
         if (kit != null && !arena.isKitAllowed(kit.getName())) {
-            // Try to find an available arena that allows this kit
+            // Find an available arena that allows this kit, leasing an instance if none is free
             Arena availableArena = plugin.getArenaManager().getAvailableArenaForKit(kit.getName());
-            
-            // If no available arena found, create an instance of the original arena
-            if (availableArena == null) {
-                // Find a base arena that allows this kit
-                Arena baseArena = null;
-                for (Arena a : plugin.getArenaManager().getArenas().values()) {
-                    if (a.isComplete() && a.isKitAllowed(kit.getName()) && !a.isInstance()) {
-                        baseArena = a;
-                        break;
-                    }
-                }
-                
-                // If we found a base arena, create an instance
-                if (baseArena != null) {
-                    availableArena = plugin.getArenaManager().createArenaInstance(baseArena, kit.getName());
-                }
-            }
-            
-            // If we found or created an available arena, use it
+                        
+            // If we found or created an available arena, use it and give back the one reserved by the caller
             if (availableArena != null) {
+                plugin.getArenaManager().releaseArena(arena.getName(), match.getId());
                 arena = availableArena;
                 match.setArena(arena);
             }
         }
         
-        // Reserve the arena
-        plugin.getArenaManager().reserveArena(arena.getName());
+        // Reserve the arena; a lease the caller already took for this match is simply renewed
+        if (!plugin.getArenaManager().reserveArena(arena.getName(), match.getId())) {
+            plugin.getLogger().warning("Arena " + arena.getName() + " is leased to another match, cannot start " + match.getId());
+            return false;
+        }
         
         // Store match
         activeMatches.put(match.getId(), match);
         for (Player player : allPlayers) {
-            playerMatches.put(player.getUniqueId(), match.getId());
+            plugin.getSessionManager().joinMatch(player.getUniqueId(), match);
         }
         
         // Set gamerule for immediate respawn
@@ -550,31 +479,34 @@ public class MatchManager {
             plugin.getLogger().warning("Cannot set gamerule: arena center or world is null for arena " + arena.getName());
         }
         
-        // Regenerate arena
-        plugin.getArenaManager().pasteSchematic(arena);
-        
         match.setState(Match.MatchState.PREPARING);
         match.updateLastActivityTime();
         
-        // Heal and feed all players
-        for (Player player : allPlayers) {
-            player.setHealth(20.0);
-            player.setFoodLevel(20);
-            player.setSaturation(20.0f);
-        }
-        
-        // Teleport teams to their spawns
-        for (Player player : allPlayers) {
-            int team = match.getPlayerTeam(player.getUniqueId());
-            if (team == 1) {
-                player.teleport(arena.getSpawn1());
-            } else if (team == 2) {
-                player.teleport(arena.getSpawn2());
+        // Regenerate arena and only bring players in once its blocks are in place and its chunks are loaded
+        final Arena matchArena = arena;
+        plugin.getArenaManager().prepareArena(arena).thenAcceptAsync(ready -> {
+            if (!canStartAfterPaste(match, ready)) return;
+            
+            // Heal and feed all players
+            for (Player player : allPlayers) {
+                player.setHealth(20.0);
+                player.setFoodLevel(20);
+                player.setSaturation(20.0f);
             }
-        }
-        
-        // Start countdown
-        startCountdown(match);
+            
+            // Teleport teams to their spawns
+            for (Player player : allPlayers) {
+                int team = match.getPlayerTeam(player.getUniqueId());
+                if (team == 1) {
+                    player.teleport(matchArena.getSpawn1());
+                } else if (team == 2) {
+                    player.teleport(matchArena.getSpawn2());
+                }
+            }
+            
+            // Start countdown
+            startCountdown(match);
+        }, plugin.getArenaManager().getMainThreadExecutor());
         
         return true;
     }
@@ -598,35 +530,22 @@ public class MatchManager {
         
         // Check if kit is allowed in this arena
         if (kit != null && !arena.isKitAllowed(kit.getName())) {
-            // Try to find an available arena that allows this kit
+            // Find an available arena that allows this kit, leasing an instance if none is free
             Arena availableArena = plugin.getArenaManager().getAvailableArenaForKit(kit.getName());
-            
-            // If no available arena found, create an instance of the original arena
-            if (availableArena == null) {
-                // Find a base arena that allows this kit
-                Arena baseArena = null;
-                for (Arena a : plugin.getArenaManager().getArenas().values()) {
-                    if (a.isComplete() && a.isKitAllowed(kit.getName()) && !a.isInstance()) {
-                        baseArena = a;
-                        break;
-                    }
-                }
-                
-                // If we found a base arena, create an instance
-                if (baseArena != null) {
-                    availableArena = plugin.getArenaManager().createArenaInstance(baseArena, kit.getName());
-                }
-            }
-            
-            // If we found or created an available arena, use it
+                        
+            // If we found or created an available arena, use it and give back the one reserved by the caller
             if (availableArena != null) {
+                plugin.getArenaManager().releaseArena(arena.getName(), match.getId());
                 arena = availableArena;
                 match.setArena(arena);
             }
         }
         
-        // Reserve the arena
-        plugin.getArenaManager().reserveArena(arena.getName());
+        // Reserve the arena; a lease the caller already took for this match is simply renewed
+        if (!plugin.getArenaManager().reserveArena(arena.getName(), match.getId())) {
+            plugin.getLogger().warning("Arena " + arena.getName() + " is leased to another match, cannot start " + match.getId());
+            return false;
+        }
         
         // Use match object from QueueManager
         
@@ -639,7 +558,7 @@ public class MatchManager {
         // Store match
         activeMatches.put(match.getId(), match);
         for (Player player : players) {
-            playerMatches.put(player.getUniqueId(), match.getId());
+            plugin.getSessionManager().joinMatch(player.getUniqueId(), match);
         }
         
         // Set gamerule for immediate respawn
@@ -649,30 +568,33 @@ public class MatchManager {
             plugin.getLogger().warning("Cannot set gamerule: arena center or world is null for arena " + arena.getName());
         }
         
-        // Regenerate arena
-        plugin.getArenaManager().pasteSchematic(arena);
-        
         match.setState(Match.MatchState.PREPARING);
         
-        // Heal and feed all players
-        for (Player player : players) {
-            player.setHealth(20.0);
-            player.setFoodLevel(20);
-            player.setSaturation(20.0f);
-        }
-        
-        // Teleport players based on teams
-        for (Player player : players) {
-            int team = match.getPlayerTeam(player.getUniqueId());
-            if (team == 1) {
-                player.teleport(arena.getSpawn1());
-            } else if (team == 2) {
-                player.teleport(arena.getSpawn2());
+        // Regenerate arena and only bring players in once its blocks are in place and its chunks are loaded
+        final Arena matchArena = arena;
+        plugin.getArenaManager().prepareArena(arena).thenAcceptAsync(ready -> {
+            if (!canStartAfterPaste(match, ready)) return;
+            
+            // Heal and feed all players
+            for (Player player : players) {
+                player.setHealth(20.0);
+                player.setFoodLevel(20);
+                player.setSaturation(20.0f);
             }
-        }
-        
-        // Start countdown
-        startCountdown(match);
+            
+            // Teleport players based on teams
+            for (Player player : players) {
+                int team = match.getPlayerTeam(player.getUniqueId());
+                if (team == 1) {
+                    player.teleport(matchArena.getSpawn1());
+                } else if (team == 2) {
+                    player.teleport(matchArena.getSpawn2());
+                }
+            }
+            
+            // Start countdown
+            startCountdown(match);
+        }, plugin.getArenaManager().getMainThreadExecutor());
         
         return true;
     }
@@ -690,9 +612,8 @@ public class MatchManager {
             return false;
         }
         
-        // Clear existing team assignments and cache
-        match.getPlayerTeams().clear();
-        match.invalidateTeamCache();
+        // Clear existing team assignments
+        match.clearTeams();
         
         Collections.shuffle(players); // Randomize teams
         
@@ -705,7 +626,7 @@ public class MatchManager {
             
             UUID playerId = players.get(i).getUniqueId();
             int team = (i < playersPerTeam) ? 1 : 2;
-            match.getPlayerTeams().put(playerId, team);
+            match.setPlayerTeam(playerId, team);
             
             // Add to the appropriate team list
             if (team == 1) {
@@ -715,15 +636,6 @@ public class MatchManager {
             }
         }
         
-        // Update team cache
-        if (!team1Players.isEmpty()) {
-            match.getTeamCache().put(1, team1Players);
-        }
-        
-        if (!team2Players.isEmpty()) {
-            match.getTeamCache().put(2, team2Players);
-        }
-        
         return !team1Players.isEmpty() && !team2Players.isEmpty();
     }
 
@@ -751,6 +663,8 @@ public class MatchManager {
             return;
         }
         
+        // Fix each starting player's stat index in roster order
+        match.registerParticipants(players);
         match.setState(Match.MatchState.COUNTDOWN);
         match.updateLastActivityTime();
         
@@ -782,11 +696,11 @@ public class MatchManager {
             }
         }
         
-        BukkitTask countdownTask = new BukkitRunnable() {
+        GameTicker.Timeout countdownTask = plugin.getGameTicker().repeat(0L, 20L, new GameTicker.Task() {
             int countdown = 5;
             
             @Override
-            public void run() {
+            public void run(GameTicker.Timeout timeout) {
                 if (countdown > 0) {
                     for (Player player : players) {
                         if (player.isOnline()) {
@@ -844,11 +758,11 @@ public class MatchManager {
                     // Update scoreboards
                     plugin.getScoreboardManager().updateMatchScoreboards(match);
                     
-                    this.cancel();
+                    timeout.cancel();
                     countdownTasks.remove(match.getId());
                 }
             }
-        }.runTaskTimer(plugin, 0L, 20L);
+        });
         
         countdownTasks.put(match.getId(), countdownTask);
     }
@@ -891,17 +805,12 @@ public class MatchManager {
             }
         }
         
-        // Regenerate arena first to ensure it's ready for future matches
-        plugin.getArenaManager().pasteSchematic(match.getArena());
-        
-        // Release the arena
-        plugin.getArenaManager().releaseArena(match.getArena().getName());
-        
         // Teleport all players to spawn after 3 seconds
-        Bukkit.getScheduler().runTaskLater(plugin, () -> {
+        plugin.getGameTicker().after(60L, () -> {
+            // Includes players who left the server and spectators who joined through /spectate
+            plugin.getSessionManager().endMatch(match);
+            
             for (Player player : players) {
-                playerMatches.remove(player.getUniqueId());
-                
                 // Reset spectator if they were spectating
                 if (match.isPlayerSpectator(player.getUniqueId())) {
                     plugin.getSpectatorListener().resetSpectator(player);
@@ -924,30 +833,46 @@ public class MatchManager {
                 // Clear any remaining titles
                 player.sendTitle("", "", 0, 0, 0);
             }
-        }, 60L); // 3 seconds delay
+            
+            // Regenerate the arena now that it is empty; it only returns to the free set once the reset is done
+            plugin.getArenaManager().resetAndRelease(match.getArena());
+            endingMatches.remove(match.getId());
+        }); // 3 seconds delay
         
         // Set party as not in match
         match.getParty().setInMatch(false);
         match.setState(Match.MatchState.FINISHED);
         
         // Clear arena entities at the end of the match
-        clearArenaEntities(match.getArena());
+        plugin.getArenaManager().getEntitySweeper().queue(match.getArena());
         
         // Cancel scoreboard update task
         plugin.getScoreboardManager().cancelTask(match.getId());
         
-        // Remove match
+        // Remove match, keeping its arena lease owned until the delayed reset above has run
+        endingMatches.add(match.getId());
         activeMatches.remove(match.getId());
         
         // Cancel countdown task if exists
-        BukkitTask task = countdownTasks.remove(match.getId());
-        if (task != null && !task.isCancelled()) {
+        GameTicker.Timeout task = countdownTasks.remove(match.getId());
+        if (task != null) {
             task.cancel();
         }
     }
     
     public boolean isInMatch(Player player) {
-        return playerMatches.containsKey(player.getUniqueId());
+        PlayerSession session = plugin.getSessionManager().get(player);
+        return session != null && session.isInMatch();
+    }
+    
+    /**
+     * Checks if a match with the given ID is still running or still has players in its arena after ending.
+     * 
+     * @param matchId The match ID
+     * @return true if the match still uses its arena, false otherwise
+     */
+    public boolean isMatchActive(String matchId) {
+        return matchId != null && (activeMatches.containsKey(matchId) || endingMatches.contains(matchId));
     }
     
     /**
@@ -960,10 +885,10 @@ public class MatchManager {
     public boolean isInSameMatch(Player player1, Player player2) {
         if (player1 == null || player2 == null) return false;
         
-        String match1Id = playerMatches.get(player1.getUniqueId());
-        String match2Id = playerMatches.get(player2.getUniqueId());
+        PlayerSession session1 = plugin.getSessionManager().get(player1);
+        PlayerSession session2 = plugin.getSessionManager().get(player2);
         
-        return match1Id != null && match1Id.equals(match2Id);
+        return session1 != null && session2 != null && session1.isInSameMatch(session2);
     }
     
     /**
@@ -974,16 +899,11 @@ public class MatchManager {
         plugin.getLogger().info("Cleaning up MatchManager resources...");
         
         // Cancel all countdown tasks
-        for (BukkitTask task : countdownTasks.values()) {
-            if (task != null && !task.isCancelled()) {
-                task.cancel();
-            }
+        for (GameTicker.Timeout task : countdownTasks.values()) {
+            task.cancel();
         }
         countdownTasks.clear();
         
-        // Clear arena cache
-        arenaCache.clear();
-        
         // Release all reserved arenas
         for (Match match : activeMatches.values()) {
             plugin.getArenaManager().releaseArena(match.getArena().getName());
@@ -1003,7 +923,9 @@ public class MatchManager {
                 }
             }
         }
+        for (Match match : activeMatches.values()) {
+            plugin.getSessionManager().endMatch(match);
+        }
         activeMatches.clear();
-        playerMatches.clear();
     }
 }
@@ -164,11 +164,18 @@ public class PartyDuelManager {
             return;
         }
         
-        // Reserve arena
-        plugin.getArenaManager().reserveArena(arena.getName());
+        // Reserve arena under the match ID
+        String matchId = "partyduel_" + System.currentTimeMillis();
+        if (!plugin.getArenaManager().reserveArena(arena.getName(), matchId)) {
+            String message = plugin.getConfig().getString("messages.party-duel.no-available-arenas", 
+                "§cNo available arenas for the duel!");
+            accepter.sendMessage(message);
+            challenger.sendMessage(message);
+            pendingDuels.remove(accepter.getUniqueId());
+            return;
+        }
         
         // Create match
-        String matchId = "partyduel_" + System.currentTimeMillis();
         Match match = new Match(matchId, challengerParty, arena, kit, "partyvs");
         
         // Assign teams
@@ -180,9 +187,10 @@ public class PartyDuelManager {
         
         // Start the match
         if (!plugin.getMatchManager().startPartyVsPartyMatch(match, challengerParty, challengedParty)) {
-            // If match failed to start, set parties as not in match
+            // If match failed to start, set parties as not in match and give the arena back
             challengerParty.setInMatch(false);
             challengedParty.setInMatch(false);
+            plugin.getArenaManager().releaseArena(match.getArena().getName(), matchId);
             
             // Notify party leaders
             Player challengerLeader = Bukkit.getPlayer(challengerParty.getLeader());
@@ -0,0 +1,540 @@
+package me.moiz.mangoparty.managers;
+
+import com.sk89q.worldedit.bukkit.BukkitAdapter;
+import com.sk89q.worldedit.extent.clipboard.Clipboard;
+import com.sk89q.worldedit.math.BlockVector3;
+import com.sk89q.worldedit.world.block.BaseBlock;
+import com.sk89q.worldedit.world.block.BlockState;
+import me.moiz.mangoparty.MangoParty;
+import me.moiz.mangoparty.models.ArenaJournal;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.Block;
+import org.bukkit.block.data.BlockData;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+
+/**
+ * Central scheduler for all arena block writes.
+ * Pastes are split into slices and written on the main thread within a per-tick block and time budget,
+ * interleaved round-robin between arenas of the same priority so one large paste cannot starve the others.
+ */
+public class PasteScheduler {
+
+    /**
+     * Priority classes, drained in declaration order each tick.
+     */
+    public enum Priority {
+        URGENT,     // A match or duel is waiting for this arena
+        NORMAL,     // Post-match resets
+        BACKGROUND  // Pool warm-up and refill
+    }
+
+    /**
+     * A unit of paste work that can be resumed across ticks.
+     */
+    public interface PasteJob {
+        /**
+         * Writes up to {@code limit} blocks.
+         *
+         * @param limit The maximum number of blocks to write
+         * @return The number of blocks processed
+         */
+        int pasteNext(int limit);
+
+        /**
+         * @return True once every block has been written
+         */
+        boolean isDone();
+    }
+
+    /**
+     * Something that can be pasted into the world, such as a clipboard or an arena snapshot.
+     */
+    public interface PasteSource {
+        /**
+         * Creates a job writing this source into the world.
+         *
+         * @param world The world to paste into
+         * @param to Where the source origin is placed
+         * @param writeAir True to write air blocks, clearing anything placed since the last paste
+         * @return A new paste job
+         */
+        PasteJob createJob(World world, BlockVector3 to, boolean writeAir);
+
+        /**
+         * @return The approximate heap memory held by this source, in bytes
+         */
+        long getWeight();
+
+        /**
+         * @return The section hashes of the blocks this source pastes
+         */
+        RegionChecksum computeChecksum();
+    }
+
+    private final MangoParty plugin;
+    private final Map<Priority, Deque<ScheduledPaste>> queues;
+    private BukkitTask tickTask;
+
+    private int blocksPerTick;
+    private long maxTickNanos;
+    private int minSlice;
+
+    private long totalBlocks;
+    private int lastTickBlocks;
+    private long lastTickNanos;
+
+    /**
+     * Constructs a new PasteScheduler and starts its tick task.
+     *
+     * @param plugin The MangoParty plugin instance
+     */
+    public PasteScheduler(MangoParty plugin) {
+        this.plugin = plugin;
+        this.queues = new EnumMap<>(Priority.class);
+        for (Priority priority : Priority.values()) {
+            queues.put(priority, new ArrayDeque<>());
+        }
+
+        this.blocksPerTick = Math.max(1, plugin.getConfig().getInt("arena.paste.blocks-per-tick", 20000));
+        this.maxTickNanos = Math.max(1L, plugin.getConfig().getLong("arena.paste.max-tick-millis", 10L)) * 1_000_000L;
+        this.minSlice = Math.max(1, plugin.getConfig().getInt("arena.paste.min-slice", 512));
+
+        this.tickTask = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+    }
+
+    /**
+     * Queues a paste job.
+     *
+     * @param arenaName The arena the job writes to
+     * @param job The job to run
+     * @param priority The priority class of the job
+     * @return A future completing with true when the job has finished, or false if it failed
+     */
+    public CompletableFuture<Boolean> submit(String arenaName, PasteJob job, Priority priority) {
+        ScheduledPaste paste = new ScheduledPaste(arenaName, job, priority);
+        queues.get(priority).addLast(paste);
+        return paste.future;
+    }
+
+    /**
+     * Moves queued jobs for an arena into a higher priority class, e.g. when a match leases an
+     * instance that is still being built in the background.
+     *
+     * @param arenaName The arena whose jobs to promote
+     * @param priority The priority to promote to
+     */
+    public void promote(String arenaName, Priority priority) {
+        for (Priority lower : Priority.values()) {
+            if (lower.ordinal() <= priority.ordinal()) continue;
+
+            Deque<ScheduledPaste> queue = queues.get(lower);
+            queue.removeIf(paste -> {
+                if (!paste.arenaName.equals(arenaName)) return false;
+                paste.priority = priority;
+                queues.get(priority).addLast(paste);
+                return true;
+            });
+        }
+    }
+
+    /**
+     * Runs queued jobs until the tick's block or time budget is spent.
+     */
+    private void tick() {
+        long start = System.nanoTime();
+        long deadline = start + maxTickNanos;
+        int budget = blocksPerTick;
+
+        for (Priority priority : Priority.values()) {
+            Deque<ScheduledPaste> queue = queues.get(priority);
+
+            while (budget > 0 && !queue.isEmpty() && System.nanoTime() < deadline) {
+                // Share what is left of the budget between the jobs in this class
+                int slice = Math.min(budget, Math.max(minSlice, budget / queue.size()));
+                ScheduledPaste paste = queue.pollFirst();
+
+                try {
+                    budget -= paste.job.pasteNext(slice);
+                } catch (Exception e) {
+                    plugin.getLogger().log(Level.SEVERE, "Paste failed for arena " + paste.arenaName, e);
+                    paste.future.complete(false);
+                    continue;
+                }
+
+                if (paste.job.isDone()) {
+                    paste.future.complete(true);
+                } else {
+                    queue.addLast(paste);
+                }
+            }
+        }
+
+        lastTickBlocks = blocksPerTick - budget;
+        lastTickNanos = System.nanoTime() - start;
+        totalBlocks += lastTickBlocks;
+    }
+
+    /**
+     * @param priority The priority class
+     * @return The number of jobs queued in that class
+     */
+    public int getQueuedJobs(Priority priority) {
+        return queues.get(priority).size();
+    }
+
+    /**
+     * @return The number of blocks written during the last tick
+     */
+    public int getLastTickBlocks() {
+        return lastTickBlocks;
+    }
+
+    /**
+     * @return The time spent writing blocks during the last tick, in milliseconds
+     */
+    public double getLastTickMillis() {
+        return lastTickNanos / 1_000_000.0;
+    }
+
+    /**
+     * @return The total number of blocks written since startup
+     */
+    public long getTotalBlocks() {
+        return totalBlocks;
+    }
+
+    /**
+     * @return The configured blocks-per-tick budget
+     */
+    public int getBlocksPerTick() {
+        return blocksPerTick;
+    }
+
+    /**
+     * Stops the tick task and fails any jobs still queued.
+     */
+    public void shutdown() {
+        if (tickTask != null) {
+            tickTask.cancel();
+            tickTask = null;
+        }
+        for (Deque<ScheduledPaste> queue : queues.values()) {
+            for (ScheduledPaste paste : queue) {
+                paste.future.complete(false);
+            }
+            queue.clear();
+        }
+    }
+
+    private static class ScheduledPaste {
+        private final String arenaName;
+        private final PasteJob job;
+        private final CompletableFuture<Boolean> future;
+        private Priority priority;
+
+        private ScheduledPaste(String arenaName, PasteJob job, Priority priority) {
+            this.arenaName = arenaName;
+            this.job = job;
+            this.priority = priority;
+            this.future = new CompletableFuture<>();
+        }
+    }
+
+    /**
+     * Paste source backed by a WorldEdit clipboard, used for schematics with tile entities.
+     */
+    public static class ClipboardSource implements PasteSource {
+        private static final long BYTES_PER_BLOCK = 8L; // Rough resident cost of one clipboard block
+
+        private final Clipboard clipboard;
+
+        public ClipboardSource(Clipboard clipboard) {
+            this.clipboard = clipboard;
+        }
+
+        @Override
+        public PasteJob createJob(World world, BlockVector3 to, boolean writeAir) {
+            return new ClipboardPasteJob(clipboard, world, to, writeAir);
+        }
+
+        @Override
+        public long getWeight() {
+            BlockVector3 dimensions = clipboard.getDimensions();
+            return (long) dimensions.getX() * dimensions.getY() * dimensions.getZ() * BYTES_PER_BLOCK;
+        }
+
+        @Override
+        public RegionChecksum computeChecksum() {
+            BlockVector3 min = clipboard.getRegion().getMinimumPoint();
+            BlockVector3 offset = min.subtract(clipboard.getOrigin());
+            BlockVector3 dimensions = clipboard.getDimensions();
+            Map<BlockState, Integer> hashes = new IdentityHashMap<>();
+            return RegionChecksum.compute(offset.getX(), offset.getY(), offset.getZ(),
+                    dimensions.getX(), dimensions.getY(), dimensions.getZ(),
+                    (x, y, z) -> hashes.computeIfAbsent(clipboard.getBlock(min.add(x, y, z)),
+                            state -> RegionChecksum.hashOf(BukkitAdapter.adapt(state))));
+        }
+
+        public Clipboard getClipboard() {
+            return clipboard;
+        }
+    }
+
+    /**
+     * Writes a WorldEdit clipboard into the world layer by layer, bottom-up.
+     * Block states are converted to Bukkit block data once per distinct state.
+     */
+    public static class ClipboardPasteJob implements PasteJob {
+        private final Clipboard clipboard;
+        private final World world;
+        private final com.sk89q.worldedit.world.World weWorld;
+        private final boolean writeAir;
+        private final BlockVector3 min;
+        private final int offsetX, offsetY, offsetZ;
+        private final int width, height, length;
+        private final long volume;
+        private final Map<BlockState, BlockData> palette;
+        private long cursor;
+
+        /**
+         * @param clipboard The clipboard to paste
+         * @param world The world to paste into
+         * @param to Where the clipboard origin is placed
+         * @param writeAir True to write air blocks, clearing anything placed since the last paste
+         */
+        public ClipboardPasteJob(Clipboard clipboard, World world, BlockVector3 to, boolean writeAir) {
+            this.clipboard = clipboard;
+            this.world = world;
+            this.weWorld = BukkitAdapter.adapt(world);
+            this.writeAir = writeAir;
+            this.min = clipboard.getRegion().getMinimumPoint();
+            BlockVector3 max = clipboard.getRegion().getMaximumPoint();
+            BlockVector3 offset = to.subtract(clipboard.getOrigin());
+            this.offsetX = offset.getX();
+            this.offsetY = offset.getY();
+            this.offsetZ = offset.getZ();
+            this.width = max.getX() - min.getX() + 1;
+            this.height = max.getY() - min.getY() + 1;
+            this.length = max.getZ() - min.getZ() + 1;
+            this.volume = (long) width * height * length;
+            this.palette = new IdentityHashMap<>();
+        }
+
+        @Override
+        public int pasteNext(int limit) {
+            int processed = 0;
+            while (processed < limit && cursor < volume) {
+                int layerSize = width * length;
+                int y = (int) (cursor / layerSize);
+                int rest = (int) (cursor % layerSize);
+                int z = rest / width;
+                int x = rest % width;
+                cursor++;
+                processed++;
+
+                BlockVector3 pos = BlockVector3.at(min.getX() + x, min.getY() + y, min.getZ() + z);
+                BaseBlock full = clipboard.getFullBlock(pos);
+                BlockData data = palette.computeIfAbsent(full.toImmutableState(), BukkitAdapter::adapt);
+                if (!writeAir && data.getMaterial().isAir()) {
+                    continue;
+                }
+
+                int worldX = pos.getX() + offsetX;
+                int worldY = pos.getY() + offsetY;
+                int worldZ = pos.getZ() + offsetZ;
+
+                if (full.hasNbtData()) {
+                    // Containers, signs and other tile entities go through WorldEdit to keep their contents
+                    weWorld.setBlock(BlockVector3.at(worldX, worldY, worldZ), full);
+                } else {
+                    world.getBlockAt(worldX, worldY, worldZ).setBlockData(data, false);
+                }
+            }
+            return processed;
+        }
+
+        @Override
+        public boolean isDone() {
+            return cursor >= volume;
+        }
+    }
+
+    /**
+     * Streams an arena snapshot into the world run by run, bottom-up.
+     * Air runs are skipped in one step when air is not being written.
+     */
+    public static class SnapshotPasteJob implements PasteJob {
+        private final ArenaSnapshot snapshot;
+        private final World world;
+        private final boolean writeAir;
+        private final ByteBuffer runs;
+        private final int baseX, baseY, baseZ;
+        private final int width, layerSize;
+        private int runsLeft;
+        private int index;
+        private int remaining;
+        private long cursor;
+
+        /**
+         * @param snapshot The snapshot to paste
+         * @param world The world to paste into
+         * @param to Where the snapshot origin is placed
+         * @param writeAir True to write air blocks, clearing anything placed since the last paste
+         */
+        public SnapshotPasteJob(ArenaSnapshot snapshot, World world, BlockVector3 to, boolean writeAir) {
+            this.snapshot = snapshot;
+            this.world = world;
+            this.writeAir = writeAir;
+            this.runs = snapshot.newRunReader();
+            this.baseX = to.getX() + snapshot.getOffsetX();
+            this.baseY = to.getY() + snapshot.getOffsetY();
+            this.baseZ = to.getZ() + snapshot.getOffsetZ();
+            this.width = snapshot.getWidth();
+            this.layerSize = snapshot.getWidth() * snapshot.getLength();
+            this.runsLeft = snapshot.getRunCount();
+        }
+
+        @Override
+        public int pasteNext(int limit) {
+            int processed = 0;
+            while (processed < limit) {
+                if (remaining == 0) {
+                    if (runsLeft == 0) break;
+                    index = runs.getInt();
+                    remaining = runs.getInt();
+                    runsLeft--;
+
+                    if (!writeAir && snapshot.isAir(index)) {
+                        cursor += remaining;
+                        remaining = 0;
+                        processed++;
+                        continue;
+                    }
+                }
+
+                BlockData data = snapshot.getBlockData(index);
+                int count = Math.min(remaining, limit - processed);
+                for (int i = 0; i < count; i++, cursor++) {
+                    int y = (int) (cursor / layerSize);
+                    int rest = (int) (cursor % layerSize);
+                    world.getBlockAt(baseX + rest % width, baseY + y, baseZ + rest / width).setBlockData(data, false);
+                }
+                remaining -= count;
+                processed += count;
+            }
+            return processed;
+        }
+
+        @Override
+        public boolean isDone() {
+            return remaining == 0 && runsLeft == 0;
+        }
+    }
+
+    /**
+     * Sets every block in a cuboid to air, top-down so nothing is left hanging mid-clear.
+     */
+    public static class ClearRegionJob implements PasteJob {
+        private final BlockData air = Bukkit.createBlockData(Material.AIR);
+        private final World world;
+        private final int minX, minZ, maxY;
+        private final int width, layerSize;
+        private final long volume;
+        private long cursor;
+
+        /**
+         * @param world The world to clear in
+         * @param minX The lowest X of the region
+         * @param minY The lowest Y of the region
+         * @param minZ The lowest Z of the region
+         * @param maxX The highest X of the region
+         * @param maxY The highest Y of the region
+         * @param maxZ The highest Z of the region
+         */
+        public ClearRegionJob(World world, int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+            this.world = world;
+            this.minX = minX;
+            this.minZ = minZ;
+            this.maxY = maxY;
+            this.width = maxX - minX + 1;
+            this.layerSize = width * (maxZ - minZ + 1);
+            this.volume = (long) layerSize * (maxY - minY + 1);
+        }
+
+        @Override
+        public int pasteNext(int limit) {
+            int processed = 0;
+            while (processed < limit && cursor < volume) {
+                int y = maxY - (int) (cursor / layerSize);
+                int rest = (int) (cursor % layerSize);
+                cursor++;
+                processed++;
+
+                Block block = world.getBlockAt(minX + rest % width, y, minZ + rest / width);
+                if (!block.getType().isAir()) {
+                    block.setBlockData(air, false);
+                }
+            }
+            return processed;
+        }
+
+        @Override
+        public boolean isDone() {
+            return cursor >= volume;
+        }
+    }
+
+    /**
+     * Writes a set of block data keyed by packed position, as produced by an arena journal.
+     */
+    public static class BlockDataPasteJob implements PasteJob {
+        private final World world;
+        private final long[] keys;
+        private final BlockData[] data;
+        private int cursor;
+
+        /**
+         * @param world The world to write into
+         * @param entries Block data keyed by {@link ArenaJournal#pack(int, int, int)} positions
+         */
+        public BlockDataPasteJob(World world, Map<Long, BlockData> entries) {
+            this.world = world;
+            this.keys = new long[entries.size()];
+            this.data = new BlockData[entries.size()];
+            int i = 0;
+            for (Map.Entry<Long, BlockData> entry : entries.entrySet()) {
+                keys[i] = entry.getKey();
+                data[i] = entry.getValue();
+                i++;
+            }
+        }
+
+        @Override
+        public int pasteNext(int limit) {
+            int end = Math.min(keys.length, cursor + limit);
+            int processed = end - cursor;
+            for (; cursor < end; cursor++) {
+                long key = keys[cursor];
+                world.getBlockAt(ArenaJournal.unpackX(key), ArenaJournal.unpackY(key), ArenaJournal.unpackZ(key))
+                        .setBlockData(data[cursor], false);
+            }
+            return processed;
+        }
+
+        @Override
+        public boolean isDone() {
+            return cursor >= keys.length;
+        }
+    }
+}
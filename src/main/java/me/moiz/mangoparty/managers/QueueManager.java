@@ -57,6 +57,11 @@ public class QueueManager {
             return;
         }
         
+        // Arenas and kits may still be loading
+        if (plugin.checkWarmingUp(player)) {
+            return;
+        }
+        
         // Check if player is already in a queue
         if (playerQueues.containsKey(player.getUniqueId())) {
             leaveQueue(player);
@@ -80,7 +85,7 @@ public class QueueManager {
         
         // Add to queues - use LinkedList for better performance when removing elements
         queues.get(mode).computeIfAbsent(kitName, k -> Collections.synchronizedList(new LinkedList<>())).add(entry);
-        playerQueues.put(player.getUniqueId(), entry);
+        track(entry);
         
         player.sendMessage("§aJoined " + mode + " queue with kit " + kit.getDisplayName());
         
@@ -103,7 +108,7 @@ public class QueueManager {
     public void leaveQueue(Player player) {
         if (player == null) return;
         
-        QueueEntry entry = playerQueues.remove(player.getUniqueId());
+        QueueEntry entry = untrack(player.getUniqueId());
         if (entry != null) {
             Map<String, List<QueueEntry>> modeQueues = queues.get(entry.getMode());
             if (modeQueues != null) {
@@ -130,7 +135,7 @@ public class QueueManager {
     public void removePlayer(UUID playerId) {
         if (playerId == null) return;
         
-        QueueEntry entry = playerQueues.remove(playerId);
+        QueueEntry entry = untrack(playerId);
         if (entry != null) {
             Map<String, List<QueueEntry>> modeQueues = queues.get(entry.getMode());
             if (modeQueues != null) {
@@ -175,7 +180,7 @@ public class QueueManager {
                     // Skip offline players or players in matches
                     if (!player.isOnline() || plugin.getMatchManager().isInMatch(player)) {
                         iterator.remove();
-                        playerQueues.remove(player.getUniqueId());
+                        untrack(player.getUniqueId());
                         continue;
                     }
                     
@@ -191,7 +196,7 @@ public class QueueManager {
                 // Remove players from queue
                 for (QueueEntry entry : matchEntries) {
                     queueList.remove(entry);
-                    playerQueues.remove(entry.getPlayer().getUniqueId());
+                    untrack(entry.getPlayer().getUniqueId());
                 }
                 
                 // Clean up empty queue
@@ -230,7 +235,7 @@ public class QueueManager {
             for (QueueEntry entry : entries) {
                 if (entry.getPlayer().isOnline()) {
                     queues.get(mode).computeIfAbsent(kitName, k -> Collections.synchronizedList(new LinkedList<>())).add(entry);
-                    playerQueues.put(entry.getPlayer().getUniqueId(), entry);
+                    track(entry);
                     entry.getPlayer().sendMessage("§cNot enough players for match! Returned to queue.");
                 }
             }
@@ -248,7 +253,7 @@ public class QueueManager {
             // Return players to queue if no arena available
             for (QueueEntry entry : entries) {
                 queues.get(mode).computeIfAbsent(kitName, k -> Collections.synchronizedList(new LinkedList<>())).add(entry);
-                playerQueues.put(entry.getPlayer().getUniqueId(), entry);
+                track(entry);
                 entry.getPlayer().sendMessage("§cNo available arenas! Returned to queue.");
             }
             return;
@@ -260,6 +265,7 @@ public class QueueManager {
             for (QueueEntry entry : entries) {
                 entry.getPlayer().sendMessage("§cKit not found! Removed from queue.");
             }
+            plugin.getArenaManager().releaseArena(arena.getName(), ArenaManager.POOL_LEASE_OWNER);
             return;
         }
         
@@ -275,20 +281,22 @@ public class QueueManager {
             tempParty.addMember(player.getUniqueId());
         }
         
+        // Create the match ID first so the arena lease is held under it
+        String matchId = "queue_" + mode + "_" + System.currentTimeMillis() + "_" + UUID.randomUUID().toString().substring(0, 8);
+        
         try {
             // Reserve the arena
-            if (!plugin.getArenaManager().reserveArena(arena.getName())) {
+            if (!plugin.getArenaManager().reserveArena(arena.getName(), matchId)) {
                 // Arena was reserved by another match, return players to queue
                 for (QueueEntry entry : entries) {
                     queues.get(mode).computeIfAbsent(kitName, k -> Collections.synchronizedList(new LinkedList<>())).add(entry);
-                    playerQueues.put(entry.getPlayer().getUniqueId(), entry);
+                    track(entry);
                     entry.getPlayer().sendMessage("§cArena was taken! Returned to queue.");
                 }
                 return;
             }
             
             // Create match object
-            String matchId = "queue_" + mode + "_" + System.currentTimeMillis() + "_" + UUID.randomUUID().toString().substring(0, 8);
             Match match = new Match(matchId, tempParty, arena, kit, "queue_" + mode);
             
             // Start the match
@@ -297,6 +305,7 @@ public class QueueManager {
             // Check if match was started successfully
             if (!matchStarted) {
                 plugin.getLogger().warning("Failed to start queue match for mode: " + mode);
+                plugin.getArenaManager().releaseArena(match.getArena().getName(), matchId);
                 
                 // Return players to queue
                 for (Player player : players) {
@@ -315,12 +324,13 @@ public class QueueManager {
             }
         } catch (Exception e) {
             plugin.getLogger().log(Level.SEVERE, "Error starting queue match", e);
+            plugin.getArenaManager().releaseArena(arena.getName(), matchId);
             
             // Return players to queue on error
             for (QueueEntry entry : entries) {
                 if (entry.getPlayer().isOnline()) {
                     queues.get(mode).computeIfAbsent(kitName, k -> Collections.synchronizedList(new LinkedList<>())).add(entry);
-                    playerQueues.put(entry.getPlayer().getUniqueId(), entry);
+                    track(entry);
                     entry.getPlayer().sendMessage("§cError starting match! Returned to queue.");
                 }
             }
@@ -368,7 +378,8 @@ public class QueueManager {
      * @return True if the player is in a queue, false otherwise
      */
     public boolean isInQueue(Player player) {
-        return player != null && playerQueues.containsKey(player.getUniqueId());
+        PlayerSession session = plugin.getSessionManager().get(player);
+        return session != null && session.getQueueEntry() != null;
     }
     
     /**
@@ -378,7 +389,29 @@ public class QueueManager {
      * @return The queue entry, or null if the player is not in a queue
      */
     public QueueEntry getPlayerQueue(Player player) {
-        return player != null ? playerQueues.get(player.getUniqueId()) : null;
+        PlayerSession session = plugin.getSessionManager().get(player);
+        return session != null ? session.getQueueEntry() : null;
+    }
+    
+    /**
+     * Records a queued player here and in their session.
+     */
+    private void track(QueueEntry entry) {
+        playerQueues.put(entry.getPlayer().getUniqueId(), entry);
+        plugin.getSessionManager().joinQueue(entry.getPlayer().getUniqueId(), entry);
+    }
+    
+    /**
+     * Forgets a queued player here and in their session.
+     * 
+     * @return The player's queue entry, or null if they were not queued
+     */
+    private QueueEntry untrack(UUID playerId) {
+        QueueEntry entry = playerQueues.remove(playerId);
+        if (entry != null) {
+            plugin.getSessionManager().leaveQueue(playerId);
+        }
+        return entry;
     }
     
     /**
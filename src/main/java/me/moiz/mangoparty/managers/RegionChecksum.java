@@ -0,0 +1,238 @@
+package me.moiz.mangoparty.managers;
+
+import org.bukkit.Bukkit;
+import org.bukkit.ChunkSnapshot;
+import org.bukkit.Material;
+import org.bukkit.World;
+import org.bukkit.block.data.BlockData;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hashes of an arena's blocks, one per 16x16x16 section counted from the region's minimum corner.
+ * The hashes of a schematic are recorded when it is saved, and an instance's region is hashed after
+ * it is pasted; a differing section means the paste did not fully land.
+ *
+ * A block hashes as its block data string, so checksums only compare equal on the same Minecraft data
+ * version; files written by another version are recomputed. Air and fluids all hash as empty space, since
+ * fluids keep flowing after a paste and would otherwise fail sections that landed correctly.
+ */
+public final class RegionChecksum {
+    public static final String EXTENSION = ".mpsum";
+
+    private static final int MAGIC = 0x4D505355; // "MPSU"
+    private static final int VERSION = 2;
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final int offsetX, offsetY, offsetZ;
+    private final int width, height, length;
+    private final int sectionsX, sectionsZ;
+    private final long[] sections;
+
+    private RegionChecksum(int offsetX, int offsetY, int offsetZ, int width, int height, int length, long[] sections) {
+        this.offsetX = offsetX;
+        this.offsetY = offsetY;
+        this.offsetZ = offsetZ;
+        this.width = width;
+        this.height = height;
+        this.length = length;
+        this.sectionsX = (width + 15) >> 4;
+        this.sectionsZ = (length + 15) >> 4;
+        this.sections = sections;
+    }
+
+    /**
+     * Supplies the hash of the block at a position relative to the region's minimum corner.
+     */
+    public interface BlockHasher {
+        int hashAt(int x, int y, int z);
+    }
+
+    /**
+     * @param data A block's data
+     * @return The block's contribution to its section hash
+     */
+    public static int hashOf(BlockData data) {
+        return isEmpty(data.getMaterial()) ? 0 : data.getAsString().hashCode();
+    }
+
+    private static boolean isEmpty(Material type) {
+        return type.isAir() || type == Material.WATER || type == Material.LAVA || type == Material.BUBBLE_COLUMN;
+    }
+
+    /**
+     * Hashes a region, visiting blocks in y, z, x order.
+     *
+     * @param offsetX The X offset of the region's minimum corner from the paste origin
+     * @param offsetY The Y offset of the region's minimum corner from the paste origin
+     * @param offsetZ The Z offset of the region's minimum corner from the paste origin
+     * @param width The region's size along X
+     * @param height The region's size along Y
+     * @param length The region's size along Z
+     * @param hasher The block hashes
+     * @return The checksum
+     */
+    public static RegionChecksum compute(int offsetX, int offsetY, int offsetZ, int width, int height, int length, BlockHasher hasher) {
+        RegionChecksum checksum = empty(offsetX, offsetY, offsetZ, width, height, length);
+        for (int y = 0; y < height; y++) {
+            for (int z = 0; z < length; z++) {
+                for (int x = 0; x < width; x++) {
+                    checksum.mix(x, y, z, hasher.hashAt(x, y, z));
+                }
+            }
+        }
+        return checksum;
+    }
+
+    /**
+     * Adds one block to its section hash. Blocks must be mixed in y, z, x order.
+     */
+    void mix(int x, int y, int z, int hash) {
+        int index = ((y >> 4) * sectionsZ + (z >> 4)) * sectionsX + (x >> 4);
+        sections[index] = (sections[index] ^ hash) * FNV_PRIME;
+    }
+
+    /**
+     * Starts an empty checksum to be filled with {@link #mix(int, int, int, int)}.
+     */
+    static RegionChecksum empty(int offsetX, int offsetY, int offsetZ, int width, int height, int length) {
+        RegionChecksum checksum = new RegionChecksum(offsetX, offsetY, offsetZ, width, height, length,
+                new long[((width + 15) >> 4) * ((height + 15) >> 4) * ((length + 15) >> 4)]);
+        Arrays.fill(checksum.sections, FNV_OFFSET);
+        return checksum;
+    }
+
+    /**
+     * Copies the chunks a pasted region covers, so it can be hashed off the main thread.
+     *
+     * @param world The world the region was pasted into
+     * @param originX The X of the paste origin
+     * @param originY The Y of the paste origin
+     * @param originZ The Z of the paste origin
+     * @return A capture to pass to {@link #matchWorld(WorldCapture)} from any thread
+     */
+    public WorldCapture capture(World world, int originX, int originY, int originZ) {
+        int minX = originX + offsetX;
+        int minZ = originZ + offsetZ;
+        Map<Long, ChunkSnapshot> chunks = new HashMap<>();
+        for (int cx = minX >> 4; cx <= (minX + width - 1) >> 4; cx++) {
+            for (int cz = minZ >> 4; cz <= (minZ + length - 1) >> 4; cz++) {
+                chunks.put(((long) cx << 32) | (cz & 0xFFFFFFFFL), world.getChunkAt(cx, cz).getChunkSnapshot(false, false, false));
+            }
+        }
+        return new WorldCapture(chunks, minX, originY + offsetY, minZ);
+    }
+
+    /**
+     * Hashes the captured world region and compares it with this checksum.
+     *
+     * @param capture The captured chunks
+     * @return The number of sections that differ
+     */
+    public int matchWorld(WorldCapture capture) {
+        RegionChecksum actual = compute(offsetX, offsetY, offsetZ, width, height, length, (x, y, z) -> {
+            int worldX = capture.minX + x;
+            int worldZ = capture.minZ + z;
+            ChunkSnapshot chunk = capture.chunks.get(((long) (worldX >> 4) << 32) | ((worldZ >> 4) & 0xFFFFFFFFL));
+            Material type = chunk.getBlockType(worldX & 15, capture.minY + y, worldZ & 15);
+            if (isEmpty(type)) {
+                return 0; // No block data string needed
+            }
+            return chunk.getBlockData(worldX & 15, capture.minY + y, worldZ & 15).getAsString().hashCode();
+        });
+
+        int mismatched = 0;
+        for (int i = 0; i < sections.length; i++) {
+            if (sections[i] != actual.sections[i]) {
+                mismatched++;
+            }
+        }
+        return mismatched;
+    }
+
+    /**
+     * @return The number of sections hashed
+     */
+    public int getSectionCount() {
+        return sections.length;
+    }
+
+    /**
+     * Writes the checksum with the server's data version. The file is replaced atomically.
+     *
+     * @param file The checksum file
+     * @throws IOException If the file could not be written
+     */
+    @SuppressWarnings("deprecation")
+    public void write(File file) throws IOException {
+        File temp = new File(file.getParentFile(), file.getName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new FileOutputStream(temp))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(Bukkit.getUnsafe().getDataVersion());
+            out.writeInt(offsetX);
+            out.writeInt(offsetY);
+            out.writeInt(offsetZ);
+            out.writeInt(width);
+            out.writeInt(height);
+            out.writeInt(length);
+            for (long section : sections) {
+                out.writeLong(section);
+            }
+        }
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Reads a checksum file written by this server's data version.
+     *
+     * @param file The checksum file
+     * @return The checksum, or null if the file was written by another version or format
+     * @throws IOException If the file could not be read
+     */
+    @SuppressWarnings("deprecation")
+    public static RegionChecksum read(File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION || in.readInt() != Bukkit.getUnsafe().getDataVersion()) {
+                return null;
+            }
+            int offsetX = in.readInt();
+            int offsetY = in.readInt();
+            int offsetZ = in.readInt();
+            int width = in.readInt();
+            int height = in.readInt();
+            int length = in.readInt();
+            long[] sections = new long[((width + 15) >> 4) * ((height + 15) >> 4) * ((length + 15) >> 4)];
+            for (int i = 0; i < sections.length; i++) {
+                sections[i] = in.readLong();
+            }
+            return new RegionChecksum(offsetX, offsetY, offsetZ, width, height, length, sections);
+        }
+    }
+
+    /**
+     * Chunk snapshots covering a pasted region.
+     */
+    public static final class WorldCapture {
+        private final Map<Long, ChunkSnapshot> chunks;
+        private final int minX, minY, minZ;
+
+        private WorldCapture(Map<Long, ChunkSnapshot> chunks, int minX, int minY, int minZ) {
+            this.chunks = chunks;
+            this.minX = minX;
+            this.minY = minY;
+            this.minZ = minZ;
+        }
+    }
+}
@@ -0,0 +1,398 @@
+package me.moiz.mangoparty.managers;
+
+import com.sk89q.worldedit.extent.clipboard.Clipboard;
+import com.sk89q.worldedit.extent.clipboard.io.ClipboardFormat;
+import com.sk89q.worldedit.extent.clipboard.io.ClipboardFormats;
+import com.sk89q.worldedit.extent.clipboard.io.ClipboardReader;
+import me.moiz.mangoparty.MangoParty;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+
+/**
+ * Size-bounded cache of arena paste sources.
+ * Arena snapshots are preferred over schematics since they are memory-mapped instead of parsed; a missing or
+ * outdated snapshot is rebuilt from the .schem file on first load. Entries are weighed by their heap cost and
+ * evicted least-recently-used once the configured byte ceiling is reached. Misses are loaded off the main
+ * thread, and the most used schematics are preloaded at startup.
+ */
+public class SchematicCache {
+    private final MangoParty plugin;
+    private final File schematicsDir;
+    private final File usageFile;
+    private final LinkedHashMap<String, CachedSource> entries; // Access-ordered for LRU eviction, guarded by this
+    private final Map<String, CompletableFuture<PasteScheduler.PasteSource>> loading; // Schematic name -> load in progress
+    private final Map<String, AtomicInteger> useCounts; // Schematic name -> number of pastes, persisted for preloading
+    private final Map<String, RegionChecksum> checksums; // Schematic name -> section hashes for verifying pastes
+    private final Map<String, Boolean> present; // Schematic name -> whether its .schem file exists
+    private final Map<String, AtomicLong> generations; // Schematic name -> times invalidated, fences loads started before
+    private final ExecutorService loader;
+    private final long maxBytes;
+
+    private long residentBytes;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Constructs a new SchematicCache.
+     *
+     * @param plugin The MangoParty plugin instance
+     */
+    public SchematicCache(MangoParty plugin) {
+        this.plugin = plugin;
+        this.schematicsDir = new File(plugin.getDataFolder(), "schematics");
+        this.usageFile = new File(plugin.getDataFolder(), "schematic-usage.yml");
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        this.loading = new ConcurrentHashMap<>();
+        this.useCounts = new ConcurrentHashMap<>();
+        this.checksums = new ConcurrentHashMap<>();
+        this.present = new ConcurrentHashMap<>();
+        this.generations = new ConcurrentHashMap<>();
+        this.loader = Executors.newFixedThreadPool(2);
+        this.maxBytes = Math.max(1L, plugin.getConfig().getLong("arena.schematic-cache.max-megabytes", 256L)) * 1024L * 1024L;
+        loadUseCounts();
+    }
+
+    /**
+     * Gets the paste source for a schematic, loading it in the background on a miss.
+     *
+     * @param name The schematic name (the base arena name)
+     * @return A future completing with the source, or with null if the schematic could not be loaded
+     */
+    public CompletableFuture<PasteScheduler.PasteSource> get(String name) {
+        useCounts.computeIfAbsent(name, k -> new AtomicInteger()).incrementAndGet();
+
+        synchronized (this) {
+            CachedSource cached = entries.get(name);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return CompletableFuture.completedFuture(cached.source);
+            }
+        }
+
+        misses.incrementAndGet();
+        return load(name, false);
+    }
+
+    /**
+     * Loads a schematic into the cache if it is not already resident or loading.
+     * A load that is overtaken by {@link #invalidate(String)} discards what it read and hands its waiters
+     * the result of a fresh load instead.
+     *
+     * @param name The schematic name
+     * @param preload True if the load is speculative and must not evict anything
+     */
+    private CompletableFuture<PasteScheduler.PasteSource> load(String name, boolean preload) {
+        CompletableFuture<PasteScheduler.PasteSource> future = new CompletableFuture<>();
+        CompletableFuture<PasteScheduler.PasteSource> existing = loading.putIfAbsent(name, future);
+        if (existing != null) {
+            return existing;
+        }
+
+        long generation = generationOf(name).get();
+        loader.execute(() -> {
+            PasteScheduler.PasteSource source = readFromDisk(name);
+            if (source != null && !put(name, source, preload, generation)) {
+                // Invalidated while reading, so the source may be from the old file
+                loading.remove(name, future);
+                load(name, preload).whenComplete((fresh, error) -> future.complete(fresh));
+                return;
+            }
+            loading.remove(name, future);
+            future.complete(source);
+        });
+        return future;
+    }
+
+    private AtomicLong generationOf(String name) {
+        return generations.computeIfAbsent(name, k -> new AtomicLong());
+    }
+
+    private PasteScheduler.PasteSource readFromDisk(String name) {
+        File schematicFile = new File(schematicsDir, name + ".schem");
+        File snapshotFile = new File(schematicsDir, name + ArenaSnapshot.EXTENSION);
+
+        // Use the snapshot unless the schematic was replaced after it was written
+        if (snapshotFile.exists() && (!schematicFile.exists() || snapshotFile.lastModified() >= schematicFile.lastModified())) {
+            try {
+                ArenaSnapshot snapshot = ArenaSnapshot.read(snapshotFile);
+                if (!snapshot.hasTileEntities()) {
+                    return snapshot;
+                }
+            } catch (Exception e) {
+                plugin.getLogger().warning("Could not read arena snapshot " + snapshotFile.getName() + ", falling back to schematic: " + e.getMessage());
+            }
+        }
+
+        Clipboard clipboard = readSchematic(name);
+        if (clipboard == null) {
+            return null;
+        }
+
+        // Upgrade schematics saved before snapshots existed, so the next load skips parsing
+        if (!snapshotFile.exists() || snapshotFile.lastModified() < schematicFile.lastModified()) {
+            try {
+                ArenaSnapshot.write(snapshotFile, clipboard);
+                ArenaSnapshot snapshot = ArenaSnapshot.read(snapshotFile);
+                if (!snapshot.hasTileEntities()) {
+                    return snapshot;
+                }
+            } catch (Exception e) {
+                plugin.getLogger().warning("Could not write arena snapshot for " + name + ": " + e.getMessage());
+            }
+        }
+        return new PasteScheduler.ClipboardSource(clipboard);
+    }
+
+    private Clipboard readSchematic(String name) {
+        File schematicFile = new File(schematicsDir, name + ".schem");
+        if (!schematicFile.exists()) {
+            plugin.getLogger().warning("Schematic file not found: " + schematicFile.getPath());
+            return null;
+        }
+
+        try {
+            ClipboardFormat format = ClipboardFormats.findByFile(schematicFile);
+            if (format == null) {
+                plugin.getLogger().warning("Unknown schematic format for file: " + schematicFile.getName());
+                return null;
+            }
+
+            try (ClipboardReader reader = format.getReader(new FileInputStream(schematicFile))) {
+                return reader.read();
+            }
+        } catch (Exception e) {
+            plugin.getLogger().log(Level.WARNING, "Error loading schematic from file: " + schematicFile.getName(), e);
+            return null;
+        }
+    }
+
+    /**
+     * @return False if the schematic was invalidated since the load began, in which case nothing is cached
+     */
+    private synchronized boolean put(String name, PasteScheduler.PasteSource source, boolean preload, long generation) {
+        if (generationOf(name).get() != generation) {
+            return false;
+        }
+        long weight = source.getWeight();
+        if (preload && residentBytes + weight > maxBytes) {
+            return true; // Preloading only fills free space
+        }
+
+        CachedSource previous = entries.put(name, new CachedSource(source, weight));
+        if (previous != null) {
+            residentBytes -= previous.weight;
+        }
+        residentBytes += weight;
+
+        // Evict least recently used entries, but always keep the one just loaded
+        Iterator<Map.Entry<String, CachedSource>> iterator = entries.entrySet().iterator();
+        while (residentBytes > maxBytes && iterator.hasNext()) {
+            Map.Entry<String, CachedSource> eldest = iterator.next();
+            if (eldest.getKey().equals(name)) continue;
+
+            residentBytes -= eldest.getValue().weight;
+            iterator.remove();
+            evictions.incrementAndGet();
+        }
+        return true;
+    }
+
+    /**
+     * Drops a schematic from the cache, e.g. after it was saved again.
+     *
+     * @param name The schematic name
+     */
+    public synchronized void invalidate(String name) {
+        generationOf(name).incrementAndGet();
+        loading.remove(name);
+        CachedSource removed = entries.remove(name);
+        if (removed != null) {
+            residentBytes -= removed.weight;
+        }
+        checksums.remove(name);
+        present.remove(name);
+    }
+    
+    /**
+     * Checks whether a schematic has been saved, remembering the answer until the schematic is invalidated.
+     *
+     * @param name The schematic name
+     * @return True if the schematic file exists
+     */
+    public boolean hasSchematic(String name) {
+        return present.computeIfAbsent(name, k -> new File(schematicsDir, k + ".schem").exists());
+    }
+
+    /**
+     * Gets the section hashes recorded for a schematic, recomputing and recording them if the checksum file
+     * is missing, older than the schematic, or was written by another Minecraft version.
+     *
+     * @param name The schematic name
+     * @return A future completing with the checksum, or with null if the schematic could not be loaded
+     */
+    public CompletableFuture<RegionChecksum> getChecksum(String name) {
+        RegionChecksum cached = checksums.get(name);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        File checksumFile = new File(schematicsDir, name + RegionChecksum.EXTENSION);
+        File schematicFile = new File(schematicsDir, name + ".schem");
+        long generation = generationOf(name).get();
+        return peek(name).thenApplyAsync(source -> {
+            if (source == null) return null;
+
+            RegionChecksum checksum = null;
+            if (checksumFile.exists() && checksumFile.lastModified() >= schematicFile.lastModified()) {
+                try {
+                    checksum = RegionChecksum.read(checksumFile);
+                } catch (IOException e) {
+                    plugin.getLogger().warning("Could not read checksum " + checksumFile.getName() + ", recomputing: " + e.getMessage());
+                }
+            }
+            if (checksum == null) {
+                checksum = source.computeChecksum();
+                try {
+                    checksum.write(checksumFile);
+                } catch (IOException e) {
+                    plugin.getLogger().warning("Could not write checksum " + checksumFile.getName() + ": " + e.getMessage());
+                }
+            }
+            synchronized (this) {
+                if (generationOf(name).get() == generation) {
+                    checksums.put(name, checksum);
+                }
+            }
+            return checksum;
+        }, loader);
+    }
+
+    /**
+     * Gets a paste source without counting it as a use or a cache hit.
+     */
+    private CompletableFuture<PasteScheduler.PasteSource> peek(String name) {
+        synchronized (this) {
+            CachedSource cached = entries.get(name);
+            if (cached != null) {
+                return CompletableFuture.completedFuture(cached.source);
+            }
+        }
+        return load(name, false);
+    }
+
+    /**
+     * Loads the most used schematics in the background until the cache is full.
+     *
+     * @param count The maximum number of schematics to preload
+     * @return A future completing once every preload has finished, whether or not it succeeded
+     */
+    public CompletableFuture<Void> preloadHottest(int count) {
+        List<Map.Entry<String, AtomicInteger>> ranked = new ArrayList<>(useCounts.entrySet());
+        ranked.sort((a, b) -> Integer.compare(b.getValue().get(), a.getValue().get()));
+
+        List<CompletableFuture<PasteScheduler.PasteSource>> loads = new ArrayList<>();
+        for (Map.Entry<String, AtomicInteger> entry : ranked) {
+            if (loads.size() >= count) break;
+            if (!new File(schematicsDir, entry.getKey() + ".schem").exists()) continue;
+
+            loads.add(load(entry.getKey(), true));
+        }
+        if (!loads.isEmpty()) {
+            plugin.getLogger().info("Preloading " + loads.size() + " most used schematics");
+        }
+        return CompletableFuture.allOf(loads.toArray(new CompletableFuture[0]));
+    }
+
+    private void loadUseCounts() {
+        if (!usageFile.exists()) return;
+
+        YamlConfiguration usage = YamlConfiguration.loadConfiguration(usageFile);
+        for (String name : usage.getKeys(false)) {
+            useCounts.put(name, new AtomicInteger(usage.getInt(name)));
+        }
+    }
+
+    private void saveUseCounts() {
+        YamlConfiguration usage = new YamlConfiguration();
+        for (Map.Entry<String, AtomicInteger> entry : useCounts.entrySet()) {
+            usage.set(entry.getKey(), entry.getValue().get());
+        }
+        try {
+            usage.save(usageFile);
+        } catch (IOException e) {
+            plugin.getLogger().warning("Could not save schematic usage counts: " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return The number of lookups served from memory
+     */
+    public long getHits() { return hits.get(); }
+
+    /**
+     * @return The number of lookups that had to load from disk
+     */
+    public long getMisses() { return misses.get(); }
+
+    /**
+     * @return The fraction of lookups served from memory, between 0 and 1
+     */
+    public double getHitRate() {
+        long total = hits.get() + misses.get();
+        return total == 0 ? 0.0 : (double) hits.get() / total;
+    }
+
+    /**
+     * @return The number of sources evicted to stay under the byte ceiling
+     */
+    public long getEvictions() { return evictions.get(); }
+
+    /**
+     * @return The estimated memory held by cached sources, in bytes
+     */
+    public synchronized long getResidentBytes() { return residentBytes; }
+
+    /**
+     * @return The configured byte ceiling
+     */
+    public long getMaxBytes() { return maxBytes; }
+
+    /**
+     * @return The number of cached sources
+     */
+    public synchronized int size() { return entries.size(); }
+
+    /**
+     * Persists usage counts and stops the loader threads.
+     */
+    public void shutdown() {
+        saveUseCounts();
+        loader.shutdown();
+    }
+
+    private static class CachedSource {
+        private final PasteScheduler.PasteSource source;
+        private final long weight;
+
+        private CachedSource(PasteScheduler.PasteSource source, long weight) {
+            this.source = source;
+            this.weight = weight;
+        }
+    }
+}
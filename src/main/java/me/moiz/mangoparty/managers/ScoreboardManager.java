@@ -466,6 +466,7 @@ public class ScoreboardManager {
         // Player stats
         processedLine = processedLine.replace("{kills}", String.valueOf(match.getPlayerKills(player.getUniqueId())));
         processedLine = processedLine.replace("{deaths}", String.valueOf(match.getPlayerDeaths(player.getUniqueId())));
+        processedLine = processedLine.replace("{damage}", String.format("%.1f", match.getPlayerDamageDealt(player.getUniqueId())));
         
         // Process team-specific placeholders
         processedLine = processTeamPlaceholders(processedLine, match, player);
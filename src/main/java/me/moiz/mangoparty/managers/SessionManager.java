@@ -0,0 +1,171 @@
+package me.moiz.mangoparty.managers;
+
+import me.moiz.mangoparty.models.Duel;
+import me.moiz.mangoparty.models.Match;
+import me.moiz.mangoparty.models.PlayerSession;
+import me.moiz.mangoparty.models.QueueEntry;
+import org.bukkit.entity.Player;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * The one index of what every player is doing, keyed by player UUID.
+ * The match, duel and queue managers record joins and leaves here, and listeners read a player's
+ * whole state with a single lookup instead of asking each manager in turn. A session is created when
+ * a player first joins something and dropped once they have left everything.
+ */
+public class SessionManager {
+    private final Map<UUID, PlayerSession> sessions; // Player UUID -> session, only while not in the lobby
+
+    /**
+     * Constructs a new SessionManager.
+     */
+    public SessionManager() {
+        this.sessions = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * @param player The player
+     * @return The player's session, or null if they are in the lobby
+     */
+    public PlayerSession get(Player player) {
+        return player != null ? sessions.get(player.getUniqueId()) : null;
+    }
+
+    /**
+     * @param playerId The player's UUID
+     * @return The player's session, or null if they are in the lobby
+     */
+    public PlayerSession get(UUID playerId) {
+        return playerId != null ? sessions.get(playerId) : null;
+    }
+
+    /**
+     * @param player The player
+     * @return The running match the player is playing or spectating, or null
+     */
+    public Match getMatch(Player player) {
+        PlayerSession session = get(player);
+        return session != null ? session.getMatch() : null;
+    }
+
+    /**
+     * @param player The player
+     * @return The duel the player is in, or null
+     */
+    public Duel getDuel(Player player) {
+        PlayerSession session = get(player);
+        return session != null ? session.getDuel() : null;
+    }
+
+    /**
+     * @param player The player
+     * @return The player's activity, LOBBY if they have no session
+     */
+    public PlayerSession.Activity getActivity(Player player) {
+        PlayerSession session = get(player);
+        return session != null ? session.getActivity() : PlayerSession.Activity.LOBBY;
+    }
+
+    /**
+     * Records a player joining a match as a participant.
+     */
+    public void joinMatch(UUID playerId, Match match) {
+        join(playerId, session -> session.setMatch(match, false));
+    }
+
+    /**
+     * Records a player watching a match, after being eliminated from it or through /spectate.
+     */
+    public void spectate(UUID playerId, Match match) {
+        join(playerId, session -> session.setMatch(match, true));
+    }
+
+    /**
+     * Records a player leaving a match. Does nothing if the player has since moved to another match.
+     *
+     * @param playerId The player's UUID
+     * @param match The match being left, or null to leave any match
+     */
+    public void leaveMatch(UUID playerId, Match match) {
+        sessions.computeIfPresent(playerId, (id, session) -> {
+            if (match == null || session.isInMatch(match)) {
+                session.setMatch(null, false);
+            }
+            return session.isIdle() ? null : session;
+        });
+    }
+
+    /**
+     * Releases every player still bound to a match once it is over, including those who left the server.
+     *
+     * @param match The match that ended
+     */
+    public void endMatch(Match match) {
+        for (UUID playerId : sessions.keySet()) {
+            leaveMatch(playerId, match);
+        }
+    }
+
+    /**
+     * Records a player joining a duel.
+     */
+    public void joinDuel(UUID playerId, Duel duel) {
+        join(playerId, session -> session.setDuel(duel));
+    }
+
+    /**
+     * Records a player leaving a duel. Does nothing if the player has since moved to another duel.
+     */
+    public void leaveDuel(UUID playerId, Duel duel) {
+        sessions.computeIfPresent(playerId, (id, session) -> {
+            if (session.getDuel() == duel) {
+                session.setDuel(null);
+            }
+            return session.isIdle() ? null : session;
+        });
+    }
+
+    /**
+     * Records a player joining a queue.
+     */
+    public void joinQueue(UUID playerId, QueueEntry entry) {
+        join(playerId, session -> session.setQueueEntry(entry));
+    }
+
+    /**
+     * Records a player leaving whatever queue they were in.
+     */
+    public void leaveQueue(UUID playerId) {
+        sessions.computeIfPresent(playerId, (id, session) -> {
+            session.setQueueEntry(null);
+            return session.isIdle() ? null : session;
+        });
+    }
+
+    // Updates inside compute so a concurrent leave cannot drop the session between creating and filling it
+    private void join(UUID playerId, Consumer<PlayerSession> update) {
+        sessions.compute(playerId, (id, session) -> {
+            PlayerSession current = session != null ? session : new PlayerSession(id);
+            update.accept(current);
+            return current;
+        });
+    }
+
+    /**
+     * @return The number of players with a session
+     */
+    public int size() {
+        return sessions.size();
+    }
+
+    /**
+     * Drops every session. Called on plugin disable after the managers have ended their games.
+     */
+    public void clear() {
+        sessions.clear();
+    }
+}
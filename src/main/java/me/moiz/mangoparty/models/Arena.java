@@ -5,6 +5,19 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class Arena {
+    /**
+     * Lifecycle of an arena instance. Base arenas stay in READY.
+     */
+    public enum InstanceState {
+        CREATED,    // Registered, schematic paste still running
+        READY,      // Pasted and never used
+        LEASED,     // Reserved by a match or duel
+        RESETTING,  // Being restored after use
+        IDLE,       // Restored and waiting for the next lease
+        QUARANTINED, // Failed verification against its schematic, being pasted again or discarded
+        RECLAIMED   // Cleared from the world and removed from the registry
+    }
+    
     private String name;
     private String world;
     private Location corner1;
@@ -18,6 +31,9 @@ public class Arena {
     private int instanceNumber;
     private double xOffset;
     private double zOffset;
+    private volatile InstanceState instanceState;
+    private volatile long stateSince;
+    private volatile ArenaGeometry geometry; // Rebuilt whenever a corner, the center or a spawn changes
     
     public Arena(String name, String world) {
         this.name = name;
@@ -28,6 +44,8 @@ public class Arena {
         this.instanceNumber = 0;
         this.xOffset = 0;
         this.zOffset = 0;
+        this.instanceState = InstanceState.READY;
+        this.stateSince = System.currentTimeMillis();
     }
     
     public String getName() {
@@ -44,6 +62,7 @@ public class Arena {
     
     public void setCorner1(Location corner1) {
         this.corner1 = corner1;
+        rebuildGeometry();
     }
     
     public Location getCorner2() {
@@ -52,6 +71,7 @@ public class Arena {
     
     public void setCorner2(Location corner2) {
         this.corner2 = corner2;
+        rebuildGeometry();
     }
     
     public Location getCenter() {
@@ -60,6 +80,7 @@ public class Arena {
     
     public void setCenter(Location center) {
         this.center = center;
+        rebuildGeometry();
     }
     
     public Location getSpawn1() {
@@ -68,6 +89,7 @@ public class Arena {
     
     public void setSpawn1(Location spawn1) {
         this.spawn1 = spawn1;
+        rebuildGeometry();
     }
     
     public Location getSpawn2() {
@@ -76,6 +98,7 @@ public class Arena {
     
     public void setSpawn2(Location spawn2) {
         this.spawn2 = spawn2;
+        rebuildGeometry();
     }
     
     public boolean isComplete() {
@@ -145,48 +168,30 @@ public class Arena {
         this.zOffset = zOffset;
     }
     
-    // Calculate relative offsets from center
-    public Location getSpawn1Offset() {
-        if (spawn1 == null || center == null) return null;
-        return new Location(
-            spawn1.getWorld(),
-            spawn1.getX() - center.getX(),
-            spawn1.getY() - center.getY(),
-            spawn1.getZ() - center.getZ(),
-            spawn1.getYaw(),
-            spawn1.getPitch()
-        );
-    }
-    
-    public Location getSpawn2Offset() {
-        if (spawn2 == null || center == null) return null;
-        return new Location(
-            spawn2.getWorld(),
-            spawn2.getX() - center.getX(),
-            spawn2.getY() - center.getY(),
-            spawn2.getZ() - center.getZ(),
-            spawn2.getYaw(),
-            spawn2.getPitch()
-        );
-    }
-    
-    public Location getCorner1Offset() {
-        if (corner1 == null || center == null) return null;
-        return new Location(
-            corner1.getWorld(),
-            corner1.getX() - center.getX(),
-            corner1.getY() - center.getY(),
-            corner1.getZ() - center.getZ()
-        );
-    }
-    
-    public Location getCorner2Offset() {
-        if (corner2 == null || center == null) return null;
-        return new Location(
-            corner2.getWorld(),
-            corner2.getX() - center.getX(),
-            corner2.getY() - center.getY(),
-            corner2.getZ() - center.getZ()
-        );
+    public InstanceState getInstanceState() {
+        return instanceState;
+    }
+    
+    public void setInstanceState(InstanceState instanceState) {
+        this.instanceState = instanceState;
+        this.stateSince = System.currentTimeMillis();
+    }
+    
+    /**
+     * @return The time the arena entered its current lifecycle state, in epoch milliseconds
+     */
+    public long getStateSince() {
+        return stateSince;
+    }
+    
+    /**
+     * @return The arena's precomputed bounds and offsets, or null if either corner is not set
+     */
+    public ArenaGeometry getGeometry() {
+        return geometry;
+    }
+    
+    private void rebuildGeometry() {
+        this.geometry = ArenaGeometry.of(corner1, corner2, center, spawn1, spawn2);
     }
 }
@@ -0,0 +1,156 @@
+package me.moiz.mangoparty.models;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+
+/**
+ * Precomputed shape of an arena: its bounding box in blocks and in exact coordinates, and the offsets
+ * of its corners and spawns from the center. Immutable; an arena builds a new one whenever a corner,
+ * the center or a spawn is set, so bounds checks never recompute or allocate.
+ */
+public final class ArenaGeometry {
+    private final int minX, minY, minZ;
+    private final int maxX, maxY, maxZ;
+    private final double minExactX, minExactY, minExactZ;
+    private final double maxExactX, maxExactY, maxExactZ;
+    private final Offset corner1Offset;
+    private final Offset corner2Offset;
+    private final Offset spawn1Offset;
+    private final Offset spawn2Offset;
+
+    private ArenaGeometry(Location corner1, Location corner2, Location center, Location spawn1, Location spawn2) {
+        this.minX = Math.min(corner1.getBlockX(), corner2.getBlockX());
+        this.minY = Math.min(corner1.getBlockY(), corner2.getBlockY());
+        this.minZ = Math.min(corner1.getBlockZ(), corner2.getBlockZ());
+        this.maxX = Math.max(corner1.getBlockX(), corner2.getBlockX());
+        this.maxY = Math.max(corner1.getBlockY(), corner2.getBlockY());
+        this.maxZ = Math.max(corner1.getBlockZ(), corner2.getBlockZ());
+        this.minExactX = Math.min(corner1.getX(), corner2.getX());
+        this.minExactY = Math.min(corner1.getY(), corner2.getY());
+        this.minExactZ = Math.min(corner1.getZ(), corner2.getZ());
+        this.maxExactX = Math.max(corner1.getX(), corner2.getX());
+        this.maxExactY = Math.max(corner1.getY(), corner2.getY());
+        this.maxExactZ = Math.max(corner1.getZ(), corner2.getZ());
+        this.corner1Offset = Offset.between(center, corner1);
+        this.corner2Offset = Offset.between(center, corner2);
+        this.spawn1Offset = Offset.between(center, spawn1);
+        this.spawn2Offset = Offset.between(center, spawn2);
+    }
+
+    /**
+     * @return The geometry for the given points, or null if either corner is missing
+     */
+    public static ArenaGeometry of(Location corner1, Location corner2, Location center, Location spawn1, Location spawn2) {
+        if (corner1 == null || corner2 == null) return null;
+        return new ArenaGeometry(corner1, corner2, center, spawn1, spawn2);
+    }
+
+    /**
+     * Checks a position against the exact corner coordinates, as the arena bounds are enforced.
+     */
+    public boolean contains(double x, double y, double z) {
+        return x >= minExactX && x <= maxExactX &&
+               y >= minExactY && y <= maxExactY &&
+               z >= minExactZ && z <= maxExactZ;
+    }
+
+    /**
+     * Checks a position against the arena's blocks, including the full extent of the blocks on its far faces.
+     */
+    public boolean containsInBlocks(double x, double y, double z) {
+        return x >= minX && x < maxX + 1 &&
+               y >= minY && y < maxY + 1 &&
+               z >= minZ && z < maxZ + 1;
+    }
+
+    /**
+     * Checks a block position against the arena's blocks.
+     */
+    public boolean containsBlock(int x, int y, int z) {
+        return x >= minX && x <= maxX &&
+               y >= minY && y <= maxY &&
+               z >= minZ && z <= maxZ;
+    }
+
+    /**
+     * Checks that a block lies inside the arena without touching any of its faces. Every position in such
+     * a block is within the exact bounds, so moves inside it need no exact check.
+     */
+    public boolean isInteriorBlock(int x, int y, int z) {
+        return x > minX && x < maxX &&
+               y > minY && y < maxY &&
+               z > minZ && z < maxZ;
+    }
+
+    // The minimum block corner doubles as the paste origin: schematics are saved with their origin there
+    public int getMinX() { return minX; }
+    public int getMinY() { return minY; }
+    public int getMinZ() { return minZ; }
+    public int getMaxX() { return maxX; }
+    public int getMaxY() { return maxY; }
+    public int getMaxZ() { return maxZ; }
+
+    public int getMinChunkX() { return minX >> 4; }
+    public int getMinChunkZ() { return minZ >> 4; }
+    public int getMaxChunkX() { return maxX >> 4; }
+    public int getMaxChunkZ() { return maxZ >> 4; }
+
+    public int getWidth() { return maxX - minX + 1; }
+    public int getHeight() { return maxY - minY + 1; }
+    public int getLength() { return maxZ - minZ + 1; }
+
+    /**
+     * @return The offset of corner 1 from the center, or null if the center is not set
+     */
+    public Offset getCorner1Offset() { return corner1Offset; }
+
+    /**
+     * @return The offset of corner 2 from the center, or null if the center is not set
+     */
+    public Offset getCorner2Offset() { return corner2Offset; }
+
+    /**
+     * @return The offset of spawn 1 from the center, or null if the center or spawn is not set
+     */
+    public Offset getSpawn1Offset() { return spawn1Offset; }
+
+    /**
+     * @return The offset of spawn 2 from the center, or null if the center or spawn is not set
+     */
+    public Offset getSpawn2Offset() { return spawn2Offset; }
+
+    /**
+     * A point relative to an arena's center, keeping the point's facing.
+     */
+    public static final class Offset {
+        private final double x, y, z;
+        private final float yaw, pitch;
+
+        private Offset(double x, double y, double z, float yaw, float pitch) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.yaw = yaw;
+            this.pitch = pitch;
+        }
+
+        private static Offset between(Location center, Location point) {
+            if (center == null || point == null) return null;
+            return new Offset(point.getX() - center.getX(), point.getY() - center.getY(), point.getZ() - center.getZ(),
+                    point.getYaw(), point.getPitch());
+        }
+
+        /**
+         * @param center A center to apply the offset to
+         * @return The point at this offset from the center, in the center's world
+         */
+        public Location applyTo(Location center) {
+            World world = center.getWorld();
+            return new Location(world, center.getX() + x, center.getY() + y, center.getZ() + z, yaw, pitch);
+        }
+
+        public double getX() { return x; }
+        public double getY() { return y; }
+        public double getZ() { return z; }
+    }
+}
@@ -0,0 +1,183 @@
+package me.moiz.mangoparty.models;
+
+import org.bukkit.Location;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.data.BlockData;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Records the original state of every block changed inside an arena since its last reset,
+ * so the arena can be restored by rewriting only those positions.
+ * Only the first change to a position is kept, since that is the state the reset must restore.
+ */
+public class ArenaJournal {
+    private final String arenaName;
+    private final String worldName;
+    private final int minX, minY, minZ;
+    private final int maxX, maxY, maxZ;
+    private final int maxEntries;
+    private final Map<Long, BlockData> originals;
+    private boolean overflowed;
+
+    /**
+     * Creates a journal covering the cuboid between the arena's two corners.
+     *
+     * @param arena The arena to journal
+     * @param maxEntries The number of positions to track before falling back to a full reset
+     */
+    public ArenaJournal(Arena arena, int maxEntries) {
+        Location corner1 = arena.getCorner1();
+        Location corner2 = arena.getCorner2();
+
+        this.arenaName = arena.getName();
+        this.worldName = corner1.getWorld() != null ? corner1.getWorld().getName() : arena.getWorld();
+        this.minX = Math.min(corner1.getBlockX(), corner2.getBlockX());
+        this.minY = Math.min(corner1.getBlockY(), corner2.getBlockY());
+        this.minZ = Math.min(corner1.getBlockZ(), corner2.getBlockZ());
+        this.maxX = Math.max(corner1.getBlockX(), corner2.getBlockX());
+        this.maxY = Math.max(corner1.getBlockY(), corner2.getBlockY());
+        this.maxZ = Math.max(corner1.getBlockZ(), corner2.getBlockZ());
+        this.maxEntries = maxEntries;
+        this.originals = new HashMap<>();
+        this.overflowed = false;
+    }
+
+    /**
+     * Checks whether a block lies inside the journaled region.
+     *
+     * @param block The block to check
+     * @return True if the block is inside the arena bounds
+     */
+    public boolean contains(Block block) {
+        return block.getWorld().getName().equals(worldName) && contains(block.getX(), block.getY(), block.getZ());
+    }
+
+    /**
+     * Checks whether a position lies inside the journaled region, ignoring the world.
+     */
+    public boolean contains(int x, int y, int z) {
+        return x >= minX && x <= maxX &&
+               y >= minY && y <= maxY &&
+               z >= minZ && z <= maxZ;
+    }
+
+    /**
+     * Records the current state of a block that is about to change.
+     *
+     * @param block The block about to change
+     */
+    public void record(Block block) {
+        if (contains(block)) {
+            record(block.getX(), block.getY(), block.getZ(), block.getBlockData());
+        }
+    }
+
+    /**
+     * Records a block state captured before a change, e.g. the replaced state of a placed block.
+     *
+     * @param state The state before the change
+     */
+    public void record(BlockState state) {
+        if (state.getWorld().getName().equals(worldName) && contains(state.getX(), state.getY(), state.getZ())) {
+            record(state.getX(), state.getY(), state.getZ(), state.getBlockData());
+        }
+    }
+
+    private void record(int x, int y, int z, BlockData data) {
+        if (overflowed) return;
+
+        long key = pack(x, y, z);
+        if (originals.containsKey(key)) return; // First write wins
+
+        if (originals.size() >= maxEntries) {
+            // Too many changes to be worth tracking; the next reset pastes the whole arena
+            overflowed = true;
+            originals.clear();
+            return;
+        }
+        originals.put(key, data.clone());
+    }
+
+    /**
+     * Marks the journal as unable to describe the arena, forcing the next reset to be a full paste.
+     * Used when changes may have happened that were never journaled, e.g. after a restart.
+     */
+    public void invalidate() {
+        overflowed = true;
+        originals.clear();
+    }
+
+    /**
+     * Clears the journal after the arena has been restored to its schematic.
+     */
+    public void reset() {
+        overflowed = false;
+        originals.clear();
+    }
+
+    /**
+     * Takes the recorded entries and clears the journal.
+     *
+     * @return The original block data keyed by packed position
+     */
+    public Map<Long, BlockData> drain() {
+        Map<Long, BlockData> entries = new HashMap<>(originals);
+        originals.clear();
+        return entries;
+    }
+
+    /**
+     * Packs block coordinates into a single long, using the same layout as vanilla block positions.
+     */
+    public static long pack(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    public static int unpackX(long key) {
+        return (int) (key >> 38);
+    }
+
+    public static int unpackY(long key) {
+        return (int) (key << 52 >> 52);
+    }
+
+    public static int unpackZ(long key) {
+        return (int) (key << 26 >> 38);
+    }
+
+    public String getArenaName() {
+        return arenaName;
+    }
+
+    public String getWorldName() {
+        return worldName;
+    }
+
+    public int getMinX() { return minX; }
+    public int getMinY() { return minY; }
+    public int getMinZ() { return minZ; }
+    public int getMaxX() { return maxX; }
+    public int getMaxY() { return maxY; }
+    public int getMaxZ() { return maxZ; }
+
+    /**
+     * @return True if the journal overflowed or was invalidated and a full paste is required
+     */
+    public boolean isOverflowed() {
+        return overflowed;
+    }
+
+    /**
+     * @return True if no changes have been recorded since the last reset
+     */
+    public boolean isEmpty() {
+        return !overflowed && originals.isEmpty();
+    }
+
+    public int size() {
+        return originals.size();
+    }
+}
@@ -0,0 +1,61 @@
+package me.moiz.mangoparty.models;
+
+/**
+ * A reservation of an arena by a match or duel.
+ * Leases expire unless renewed, so an arena whose owner disappeared without releasing it can be reclaimed.
+ */
+public class ArenaLease {
+    private final String arenaName;
+    private final String owner;
+    private final long acquiredAt;
+    private volatile long expiresAt;
+
+    /**
+     * @param arenaName The leased arena
+     * @param owner The ID of the match or duel holding the lease
+     * @param ttlMillis How long the lease lasts before it must be renewed
+     */
+    public ArenaLease(String arenaName, String owner, long ttlMillis) {
+        this.arenaName = arenaName;
+        this.owner = owner;
+        this.acquiredAt = System.currentTimeMillis();
+        this.expiresAt = acquiredAt + ttlMillis;
+    }
+
+    /**
+     * Extends the lease from now.
+     *
+     * @param ttlMillis How long the lease lasts before it must be renewed again
+     */
+    public void renew(long ttlMillis) {
+        this.expiresAt = System.currentTimeMillis() + ttlMillis;
+    }
+
+    public boolean isExpired(long now) {
+        return now >= expiresAt;
+    }
+
+    public boolean isOwnedBy(String owner) {
+        return this.owner.equals(owner);
+    }
+
+    public String getArenaName() {
+        return arenaName;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public long getAcquiredAt() {
+        return acquiredAt;
+    }
+
+    public long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public long getAgeMillis() {
+        return System.currentTimeMillis() - acquiredAt;
+    }
+}
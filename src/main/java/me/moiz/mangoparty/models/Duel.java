@@ -1,8 +1,8 @@
 package me.moiz.mangoparty.models;
 
+import me.moiz.mangoparty.managers.GameTicker;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -21,7 +21,7 @@ public class Duel {
     private Arena arena;
     private DuelState state;
     private long startTime;
-    private BukkitTask expirationTask;
+    private GameTicker.Timeout expirationTask;
     private boolean isPartySplitMatch;
     private Map<UUID, Integer> playerTeams; // Player UUID -> Team (1 or 2)
     
@@ -165,11 +165,11 @@ public class Duel {
         return startTime;
     }
     
-    public BukkitTask getExpirationTask() {
+    public GameTicker.Timeout getExpirationTask() {
         return expirationTask;
     }
     
-    public void setExpirationTask(BukkitTask expirationTask) {
+    public void setExpirationTask(GameTicker.Timeout expirationTask) {
         this.expirationTask = expirationTask;
     }
     
@@ -5,16 +5,17 @@ import org.bukkit.entity.Player;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArraySet;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Represents a match between players in the MangoParty plugin.
  * A match can be of different types (FFA, Split, Party vs Party, Queue) and tracks
  * player teams, eliminations, spectators, and match statistics.
  * 
- * This class is optimized for concurrent access with thread-safe collections
- * and efficient data processing methods.
+ * Every participant is given a dense index the first time they are seen, normally when the teams are
+ * assigned or the countdown starts. Teams, kills, deaths and damage dealt live in arrays indexed by it,
+ * and who is still alive in bitsets, so an elimination is a bit flip and counting a team's survivors is
+ * a popcount. The participant state is guarded by the match's monitor.
  */
 public class Match {
     /**
@@ -33,29 +34,29 @@ public class Match {
         FINISHED
     }
     
+    private static final int INITIAL_CAPACITY = 8;
+    
     private final String id;                          // Unique identifier for the match
     private final Party party;                        // The party participating in the match
     private volatile Arena arena;                     // The arena where the match takes place
     private final Kit kit;                            // The kit used in the match
     private final String matchType;                   // Type of match (ffa, split, partyvs, queue_*)
     private volatile MatchState state;                // Current state of the match
-    private final Map<UUID, Integer> playerTeams;     // Maps player UUIDs to their team numbers (1 or 2)
-    private final Set<UUID> eliminatedPlayers;        // Players who have been eliminated
-    private final Set<UUID> spectators;               // Players who are spectating
-    private final Map<UUID, Integer> kills;           // Tracks kills for each player
-    private final Map<UUID, Integer> deaths;          // Tracks deaths for each player
+    private final Map<UUID, Integer> indices;         // Participant UUID -> dense index
+    private UUID[] participants;                      // Index -> participant UUID
+    private int participantCount;                     // Indices handed out so far
+    private int[] teams;                              // Index -> team number (1 or 2), 0 for none
+    private int[] kills;                              // Index -> kills
+    private int[] deaths;                             // Index -> deaths
+    private double[] damageDealt;                     // Index -> damage dealt to other participants
+    private final BitSet alive;                       // Participants who have not been eliminated
+    private final BitSet spectating;                  // Eliminated participants watching the match
+    private BitSet[] teamAlive;                       // Team number -> its members who are alive
+    private final Set<UUID> outsideSpectators;        // Players watching through /spectate
     private final long startTime;                     // When the match started
     private volatile long lastActivityTime;           // Last time there was activity in the match
-    private final Map<Integer, List<UUID>> teamCache; // Cache for team player lookups
-    
-    /**
-     * Gets the team cache map that stores player UUIDs by team number.
-     *
-     * @return The team cache map
-     */
-    public Map<Integer, List<UUID>> getTeamCache() {
-        return teamCache;
-    }
+    private final AtomicLong rosterVersion;           // Bumped whenever the participants or eliminations change
+    private volatile MatchRoster roster;              // Snapshot of the participants at the last version read
 
     /**
      * Gets the unique identifier for this match.
@@ -88,16 +89,20 @@ public class Match {
         this.matchType = matchType != null ? matchType : "unknown";
         this.state = MatchState.PREPARING;
         
-        // Use thread-safe collections for concurrent access
-        this.playerTeams = new ConcurrentHashMap<>();
-        this.eliminatedPlayers = new CopyOnWriteArraySet<>();
-        this.spectators = new CopyOnWriteArraySet<>();
-        this.kills = new ConcurrentHashMap<>();
-        this.deaths = new ConcurrentHashMap<>();
+        this.indices = new HashMap<>();
+        this.participants = new UUID[INITIAL_CAPACITY];
+        this.teams = new int[INITIAL_CAPACITY];
+        this.kills = new int[INITIAL_CAPACITY];
+        this.deaths = new int[INITIAL_CAPACITY];
+        this.damageDealt = new double[INITIAL_CAPACITY];
+        this.alive = new BitSet();
+        this.spectating = new BitSet();
+        this.teamAlive = new BitSet[3];
+        this.outsideSpectators = ConcurrentHashMap.newKeySet();
         
         this.startTime = System.currentTimeMillis();
         this.lastActivityTime = this.startTime;
-        this.teamCache = new ConcurrentHashMap<>();
+        this.rosterVersion = new AtomicLong();
     }
     
     /**
@@ -125,34 +130,18 @@ public class Match {
         List<Player> players = party.getOnlineMembers();
         if (players.isEmpty()) return false;
         
-        // Clear existing team assignments and cache
-        playerTeams.clear();
-        teamCache.clear();
+        // Clear existing team assignments
+        clearTeams();
         
         // Shuffle players for random team assignment
         Collections.shuffle(players);
         
-        // Create temporary lists for each team
-        List<UUID> team1Players = new ArrayList<>();
-        List<UUID> team2Players = new ArrayList<>();
-        
         for (int i = 0; i < players.size(); i++) {
             UUID playerId = players.get(i).getUniqueId();
             int team = (i % 2) + 1; // Alternate between team 1 and 2
-            playerTeams.put(playerId, team);
-            
-            // Add to the appropriate team list
-            if (team == 1) {
-                team1Players.add(playerId);
-            } else {
-                team2Players.add(playerId);
-            }
+            setPlayerTeam(playerId, team);
         }
         
-        // Update team cache
-        teamCache.put(1, team1Players);
-        teamCache.put(2, team2Players);
-        
         // Update last activity time
         this.lastActivityTime = System.currentTimeMillis();
         
@@ -170,9 +159,8 @@ public class Match {
     public boolean assignPartyVsPartyTeams(Party party1, Party party2) {
         if (party1 == null || party2 == null) return false;
         
-        // Clear existing team assignments and cache
-        playerTeams.clear();
-        teamCache.clear();
+        // Clear existing team assignments
+        clearTeams();
         
         // Create temporary lists for each team
         List<UUID> team1Players = new ArrayList<>();
@@ -182,7 +170,7 @@ public class Match {
         for (Player player : party1.getOnlineMembers()) {
             if (player != null) {
                 UUID playerId = player.getUniqueId();
-                playerTeams.put(playerId, 1);
+                setPlayerTeam(playerId, 1);
                 team1Players.add(playerId);
             }
         }
@@ -191,15 +179,11 @@ public class Match {
         for (Player player : party2.getOnlineMembers()) {
             if (player != null) {
                 UUID playerId = player.getUniqueId();
-                playerTeams.put(playerId, 2);
+                setPlayerTeam(playerId, 2);
                 team2Players.add(playerId);
             }
         }
         
-        // Update team cache
-        teamCache.put(1, team1Players);
-        teamCache.put(2, team2Players);
-        
         // Update last activity time
         this.lastActivityTime = System.currentTimeMillis();
         
@@ -210,14 +194,23 @@ public class Match {
      * Eliminates a player from the match, adds them to spectators, and increments their death count.
      *
      * @param playerId The UUID of the player to eliminate
-     * @return true if the player was eliminated, false if already eliminated or null
+     * @return true if the player was eliminated, false if already eliminated, not a participant or null
      */
     public boolean eliminatePlayer(UUID playerId) {
-        if (playerId == null || eliminatedPlayers.contains(playerId)) return false;
+        if (playerId == null) return false;
         
-        eliminatedPlayers.add(playerId);
-        spectators.add(playerId);
-        deaths.put(playerId, deaths.getOrDefault(playerId, 0) + 1);
+        synchronized (this) {
+            int index = indexOf(playerId);
+            if (index < 0 || !alive.get(index)) return false; // Never took part, or already out
+            
+            alive.clear(index);
+            if (teams[index] > 0) {
+                teamAlive[teams[index]].clear(index);
+            }
+            spectating.set(index);
+            deaths[index]++;
+        }
+        invalidateRoster();
         
         // Update last activity time
         this.lastActivityTime = System.currentTimeMillis();
@@ -226,14 +219,32 @@ public class Match {
     }
     
     /**
-     * Increments the kill count for a player.
+     * Increments the kill count for a player. Players who are not participants are ignored.
      *
      * @param playerId The UUID of the player who got a kill
      */
-    public void addKill(UUID playerId) {
+    public synchronized void addKill(UUID playerId) {
         if (playerId == null) return;
         
-        kills.put(playerId, kills.getOrDefault(playerId, 0) + 1);
+        int index = indexOf(playerId);
+        if (index >= 0) {
+            kills[index]++;
+        }
+    }
+    
+    /**
+     * Adds to the damage a player has dealt to other participants. Players who are not participants are ignored.
+     *
+     * @param playerId The UUID of the player who dealt the damage
+     * @param damage The final damage of the hit
+     */
+    public synchronized void addDamageDealt(UUID playerId, double damage) {
+        if (playerId == null || damage <= 0) return;
+        
+        int index = indexOf(playerId);
+        if (index >= 0) {
+            damageDealt[index] += damage;
+        }
     }
     
     /**
@@ -242,8 +253,9 @@ public class Match {
      * @param playerId The UUID of the player to check
      * @return true if the player is eliminated, false otherwise
      */
-    public boolean isPlayerEliminated(UUID playerId) {
-        return playerId != null && eliminatedPlayers.contains(playerId);
+    public synchronized boolean isPlayerEliminated(UUID playerId) {
+        Integer index = playerId != null ? indices.get(playerId) : null;
+        return index != null && !alive.get(index);
     }
     
     /**
@@ -261,9 +273,14 @@ public class Match {
      *
      * @param playerId The UUID of the player to add as a spectator
      */
-    public void addSpectator(UUID playerId) {
-        if (playerId != null) {
-            spectators.add(playerId);
+    public synchronized void addSpectator(UUID playerId) {
+        if (playerId == null) return;
+        
+        Integer index = indices.get(playerId);
+        if (index != null) {
+            spectating.set(index);
+        } else {
+            outsideSpectators.add(playerId);
         }
     }
     
@@ -272,9 +289,14 @@ public class Match {
      *
      * @param playerId The UUID of the player to remove from spectators
      */
-    public void removeSpectator(UUID playerId) {
-        if (playerId != null) {
-            spectators.remove(playerId);
+    public synchronized void removeSpectator(UUID playerId) {
+        if (playerId == null) return;
+        
+        Integer index = indices.get(playerId);
+        if (index != null) {
+            spectating.clear(index);
+        } else {
+            outsideSpectators.remove(playerId);
         }
     }
     
@@ -284,8 +306,11 @@ public class Match {
      * @param playerId The UUID of the player to check
      * @return true if the player is a spectator, false otherwise
      */
-    public boolean isPlayerSpectator(UUID playerId) {
-        return playerId != null && spectators.contains(playerId);
+    public synchronized boolean isPlayerSpectator(UUID playerId) {
+        if (playerId == null) return false;
+        
+        Integer index = indices.get(playerId);
+        return index != null ? spectating.get(index) : outsideSpectators.contains(playerId);
     }
     
     /**
@@ -298,21 +323,10 @@ public class Match {
     public boolean isFinished() {
         if ("ffa".equalsIgnoreCase(matchType)) {
             // FFA ends when only 1 player remains
-            return getAlivePlayers().size() <= 1;
-        } else if ("split".equalsIgnoreCase(matchType) || 
-                  (matchType != null && matchType.startsWith("queue_")) || 
-                  "partyvs".equalsIgnoreCase(matchType)) {
+            return getRoster().getAlivePlayers().size() <= 1;
+        } else if (isTeamMatch()) {
             // Team matches end when all players of one team are eliminated
-            Set<Integer> aliveTeams = new HashSet<>();
-            for (Player player : getAllPlayers()) {
-                if (player != null && !isPlayerEliminated(player.getUniqueId())) {
-                    Integer team = playerTeams.get(player.getUniqueId());
-                    if (team != null) {
-                        aliveTeams.add(team);
-                    }
-                }
-            }
-            return aliveTeams.size() <= 1;
+            return getRoster().getAliveTeamCount() <= 1;
         }
         return false;
     }
@@ -325,7 +339,7 @@ public class Match {
      */
     public UUID getWinner() {
         if ("ffa".equalsIgnoreCase(matchType)) {
-            List<Player> alivePlayers = getAlivePlayers();
+            List<Player> alivePlayers = getRoster().getAlivePlayers();
             return alivePlayers.isEmpty() ? null : alivePlayers.get(0).getUniqueId();
         }
         return null;
@@ -338,34 +352,22 @@ public class Match {
      * @return The team number of the winning team (1 or 2), or 0 if there is no winner yet
      */
     public int getWinningTeam() {
-        if ("split".equalsIgnoreCase(matchType) || 
-            (matchType != null && matchType.startsWith("queue_")) || 
-            "partyvs".equalsIgnoreCase(matchType)) {
-            
-            Set<Integer> aliveTeams = new HashSet<>();
-            for (Player player : getAllPlayers()) {
-                if (player != null && !isPlayerEliminated(player.getUniqueId())) {
-                    Integer team = playerTeams.get(player.getUniqueId());
-                    if (team != null) {
-                        aliveTeams.add(team);
-                    }
-                }
-            }
-            return aliveTeams.size() == 1 ? aliveTeams.iterator().next() : 0;
-        }
-        return 0;
+        return isTeamMatch() ? getRoster().getWinningTeam() : 0;
+    }
+    
+    private boolean isTeamMatch() {
+        return "split".equalsIgnoreCase(matchType) || 
+               matchType.startsWith("queue_") || 
+               "partyvs".equalsIgnoreCase(matchType);
     }
     
     /**
      * Gets a list of all players who are still alive in the match.
-     * Optimized using Java streams for better performance.
      *
-     * @return A list of alive players
+     * @return An unmodifiable list of alive players, from the current roster
      */
     public List<Player> getAlivePlayers() {
-        return getAllPlayers().stream()
-                .filter(player -> player != null && !isPlayerEliminated(player.getUniqueId()))
-                .collect(Collectors.toList());
+        return getRoster().getAlivePlayers();
     }
     
     /**
@@ -382,8 +384,8 @@ public class Match {
      *
      * @return The count of spectators
      */
-    public int getSpectatorsCount() {
-        return spectators.size();
+    public synchronized int getSpectatorsCount() {
+        return spectating.cardinality() + outsideSpectators.size();
     }
     
     /**
@@ -392,8 +394,9 @@ public class Match {
      * @param playerId The UUID of the player
      * @return The number of kills for the player, or 0 if none
      */
-    public int getPlayerKills(UUID playerId) {
-        return playerId != null ? kills.getOrDefault(playerId, 0) : 0;
+    public synchronized int getPlayerKills(UUID playerId) {
+        Integer index = playerId != null ? indices.get(playerId) : null;
+        return index != null ? kills[index] : 0;
     }
     
     /**
@@ -402,8 +405,20 @@ public class Match {
      * @param playerId The UUID of the player
      * @return The number of deaths for the player, or 0 if none
      */
-    public int getPlayerDeaths(UUID playerId) {
-        return playerId != null ? deaths.getOrDefault(playerId, 0) : 0;
+    public synchronized int getPlayerDeaths(UUID playerId) {
+        Integer index = playerId != null ? indices.get(playerId) : null;
+        return index != null ? deaths[index] : 0;
+    }
+    
+    /**
+     * Gets the damage a player has dealt to other participants.
+     *
+     * @param playerId The UUID of the player
+     * @return The damage dealt, or 0 if none
+     */
+    public synchronized double getPlayerDamageDealt(UUID playerId) {
+        Integer index = playerId != null ? indices.get(playerId) : null;
+        return index != null ? damageDealt[index] : 0.0;
     }
     
     /**
@@ -418,63 +433,46 @@ public class Match {
     /**
      * Gets a list of all players involved in the match, including party members
      * and any additional players from team assignments (for queue matches).
-     * Optimized to avoid duplicate lookups and unnecessary contains() checks.
      *
-     * @return A list of all players in the match
+     * @return An unmodifiable list of all online players in the match, from the current roster
      */
     public List<Player> getAllPlayers() {
-        // Use a Set to automatically handle duplicates
-        Set<UUID> playerIds = new HashSet<>();
-        List<Player> allPlayers = new ArrayList<>();
-        
-        // Add party members
-        if (party != null) {
-            for (Player player : party.getOnlineMembers()) {
-                if (player != null) {
-                    UUID playerId = player.getUniqueId();
-                    if (playerIds.add(playerId)) { // Returns true if this set did not already contain the specified element
-                        allPlayers.add(player);
-                    }
-                }
-            }
-        }
-        
-        // Add any additional players from team assignments (for queue matches)
-        for (UUID uuid : playerTeams.keySet()) {
-            if (uuid != null && playerIds.add(uuid)) {
-                Player player = Bukkit.getPlayer(uuid);
-                if (player != null && player.isOnline()) {
-                    allPlayers.add(player);
-                }
-            }
-        }
-        
-        return allPlayers;
+        return getRoster().getPlayers();
     }
     
     /**
      * Gets a set of UUIDs for all players involved in the match.
      *
-     * @return A set of UUIDs for all players in the match
+     * @return An unmodifiable set of UUIDs for all players in the match, from the current roster
      */
     public Set<UUID> getAllPlayersUUIDs() {
-        Set<UUID> allUUIDs = new HashSet<>();
-        
-        // Add party members
-        if (party != null) {
-            for (Player player : party.getOnlineMembers()) {
-                if (player != null) {
-                    allUUIDs.add(player.getUniqueId());
-                }
-            }
+        return getRoster().getPlayerIds();
+    }
+    
+    /**
+     * Gets the roster snapshot for the match's current participants, rebuilding it first if the teams,
+     * the eliminations or the party's members have changed since it was last built.
+     *
+     * @return The current roster
+     */
+    public MatchRoster getRoster() {
+        MatchRoster current = roster;
+        // Read the versions before building, so a change made during the build leaves the result stale
+        long version = rosterVersion.get();
+        int partyVersion = party != null ? party.getMembershipVersion() : 0;
+        if (current == null || current.getVersion() != version || current.getPartyVersion() != partyVersion) {
+            current = MatchRoster.build(this, version, partyVersion);
+            roster = current;
         }
-        
-        // Add any additional players from team assignments
-        allUUIDs.addAll(playerTeams.keySet());
-        // Remove null entries if any exist
-        allUUIDs.remove(null);
-        
-        return allUUIDs;
+        return current;
+    }
+    
+    /**
+     * Marks the roster as out of date, so it is rebuilt on the next read.
+     * Team changes and eliminations do this themselves; call it when a player leaves the server.
+     */
+    public void invalidateRoster() {
+        rosterVersion.incrementAndGet();
     }
     
     /**
@@ -483,8 +481,93 @@ public class Match {
      * @param playerId The UUID of the player
      * @return The team number (1 or 2), or 0 if the player is not on a team
      */
-    public int getPlayerTeam(UUID playerId) {
-        return playerId != null ? playerTeams.getOrDefault(playerId, 0) : 0;
+    public synchronized int getPlayerTeam(UUID playerId) {
+        Integer index = playerId != null ? indices.get(playerId) : null;
+        return index != null ? teams[index] : 0;
+    }
+    
+    /**
+     * Puts a player on a team, giving them a participant index if they do not have one yet.
+     *
+     * @param playerId The UUID of the player
+     * @param team The team number (1 or 2)
+     */
+    public void setPlayerTeam(UUID playerId, int team) {
+        if (playerId == null || team <= 0) return;
+        
+        synchronized (this) {
+            int index = assignIndex(playerId);
+            if (teams[index] > 0) {
+                teamAlive[teams[index]].clear(index);
+            }
+            teams[index] = team;
+            if (team >= teamAlive.length) {
+                teamAlive = Arrays.copyOf(teamAlive, team + 1);
+            }
+            if (teamAlive[team] == null) {
+                teamAlive[team] = new BitSet();
+            }
+            if (alive.get(index)) {
+                teamAlive[team].set(index);
+            }
+        }
+        invalidateRoster();
+    }
+    
+    /**
+     * Takes every participant off their team, keeping their index and stats.
+     */
+    public void clearTeams() {
+        synchronized (this) {
+            Arrays.fill(teams, 0, participantCount, 0);
+            for (BitSet members : teamAlive) {
+                if (members != null) {
+                    members.clear();
+                }
+            }
+        }
+        invalidateRoster();
+    }
+    
+    /**
+     * Gives each player a participant index, in order, if they do not have one yet.
+     * Called when the countdown starts so indices follow the starting roster.
+     *
+     * @param players The players taking part
+     */
+    public synchronized void registerParticipants(Iterable<Player> players) {
+        for (Player player : players) {
+            if (player != null) {
+                assignIndex(player.getUniqueId());
+            }
+        }
+    }
+    
+    // Returns the player's index, or -1 if they are not a participant; caller holds the monitor
+    private int indexOf(UUID playerId) {
+        Integer index = indices.get(playerId);
+        return index != null ? index : -1;
+    }
+    
+    // Returns the player's index, handing out the next one (alive, no team) if they have none; caller holds the monitor.
+    // Only team assignment and participant registration make someone a participant.
+    private int assignIndex(UUID playerId) {
+        Integer index = indices.get(playerId);
+        if (index != null) return index;
+        
+        if (participantCount == participants.length) {
+            int capacity = participants.length * 2;
+            participants = Arrays.copyOf(participants, capacity);
+            teams = Arrays.copyOf(teams, capacity);
+            kills = Arrays.copyOf(kills, capacity);
+            deaths = Arrays.copyOf(deaths, capacity);
+            damageDealt = Arrays.copyOf(damageDealt, capacity);
+        }
+        int next = participantCount++;
+        participants[next] = playerId;
+        alive.set(next);
+        indices.put(playerId, next);
+        return next;
     }
     
     /**
@@ -504,99 +587,33 @@ public class Match {
     
     /**
      * Gets a list of all players on a specific team.
-     * Optimized with caching for better performance.
      *
      * @param team The team number (1 or 2)
-     * @return A list of players on the specified team
+     * @return An unmodifiable list of the team's online players, from the current roster
      */
     public List<Player> getTeamPlayers(int team) {
-        if (team <= 0) return Collections.emptyList();
-        
-        // Use cached team player UUIDs if available
-        List<UUID> teamPlayerIds = teamCache.get(team);
-        
-        // If cache is not available, rebuild it
-        if (teamPlayerIds == null) {
-            teamPlayerIds = new ArrayList<>();
-            for (Map.Entry<UUID, Integer> entry : playerTeams.entrySet()) {
-                if (entry.getKey() != null && entry.getValue() == team) {
-                    teamPlayerIds.add(entry.getKey());
-                }
-            }
-            teamCache.put(team, teamPlayerIds);
-        }
-        
-        // Convert UUIDs to Player objects
-        return teamPlayerIds.stream()
-                .map(Bukkit::getPlayer)
-                .filter(player -> player != null && player.isOnline())
-                .collect(Collectors.toList());
+        return getRoster().getTeamPlayers(team);
     }
     
     /**
      * Gets the number of alive players on a specific team.
-     * Optimized with caching and streams for better performance.
      *
      * @param team The team number (1 or 2)
      * @return The count of alive players on the specified team
      */
-    public int getTeamAliveCount(int team) {
-        if (team <= 0) return 0;
-        
-        // Use cached team player UUIDs if available
-        List<UUID> teamPlayerIds = teamCache.get(team);
-        
-        // If cache is not available, rebuild it
-        if (teamPlayerIds == null) {
-            teamPlayerIds = new ArrayList<>();
-            for (Map.Entry<UUID, Integer> entry : playerTeams.entrySet()) {
-                if (entry.getKey() != null && entry.getValue() == team) {
-                    teamPlayerIds.add(entry.getKey());
-                }
-            }
-            teamCache.put(team, teamPlayerIds);
-        }
-        
-        // Count alive players
-        return (int) teamPlayerIds.stream()
-                .filter(uuid -> !isPlayerEliminated(uuid))
-                .count();
+    public synchronized int getTeamAliveCount(int team) {
+        BitSet members = team > 0 && team < teamAlive.length ? teamAlive[team] : null;
+        return members != null ? members.cardinality() : 0;
     }
     
     /**
      * Gets the total number of players on a specific team, including eliminated players.
-     * Optimized with caching for better performance.
      *
      * @param team The team number (1 or 2)
      * @return The total count of players on the specified team
      */
     public int getTeamTotalCount(int team) {
-        if (team <= 0) return 0;
-        
-        // Use cached team player UUIDs if available
-        List<UUID> teamPlayerIds = teamCache.get(team);
-        
-        // If cache is not available, rebuild it
-        if (teamPlayerIds == null) {
-            teamPlayerIds = new ArrayList<>();
-            for (Map.Entry<UUID, Integer> entry : playerTeams.entrySet()) {
-                if (entry.getKey() != null && entry.getValue() == team) {
-                    teamPlayerIds.add(entry.getKey());
-                }
-            }
-            teamCache.put(team, teamPlayerIds);
-            return teamPlayerIds.size();
-        }
-        
-        return teamPlayerIds.size();
-    }
-    
-    /**
-     * Invalidates the team cache, forcing it to be rebuilt on the next team-related query.
-     * Call this method after making changes to team assignments.
-     */
-    public void invalidateTeamCache() {
-        teamCache.clear();
+        return getRoster().getTeamIds(team).size();
     }
     
     /**
@@ -671,22 +688,42 @@ public class Match {
     public void setState(MatchState state) { this.state = state != null ? state : MatchState.PREPARING; }
     
     /**
-     * Gets the map of player UUIDs to team numbers.
-     * @return The player teams map
+     * Gets the team number of every participant on a team.
+     * @return A copy of the player UUID to team number map, in participant index order
      */
-    public Map<UUID, Integer> getPlayerTeams() { return playerTeams; }
+    public synchronized Map<UUID, Integer> getPlayerTeams() {
+        Map<UUID, Integer> playerTeams = new LinkedHashMap<>();
+        for (int index = 0; index < participantCount; index++) {
+            if (teams[index] > 0) {
+                playerTeams.put(participants[index], teams[index]);
+            }
+        }
+        return Collections.unmodifiableMap(playerTeams);
+    }
     
     /**
      * Gets the set of eliminated player UUIDs.
-     * @return The eliminated players set
+     * @return A copy of the eliminated players set
      */
-    public Set<UUID> getEliminatedPlayers() { return eliminatedPlayers; }
+    public synchronized Set<UUID> getEliminatedPlayers() {
+        Set<UUID> eliminated = new LinkedHashSet<>();
+        for (int index = alive.nextClearBit(0); index < participantCount; index = alive.nextClearBit(index + 1)) {
+            eliminated.add(participants[index]);
+        }
+        return Collections.unmodifiableSet(eliminated);
+    }
     
     /**
      * Gets the set of spectator UUIDs.
-     * @return The spectators set
+     * @return A copy of the spectators set
      */
-    public Set<UUID> getSpectators() { return spectators; }
+    public synchronized Set<UUID> getSpectators() {
+        Set<UUID> watching = new LinkedHashSet<>(outsideSpectators);
+        for (int index = spectating.nextSetBit(0); index >= 0; index = spectating.nextSetBit(index + 1)) {
+            watching.add(participants[index]);
+        }
+        return Collections.unmodifiableSet(watching);
+    }
     
     /**
      * Gets the time when the match started.
@@ -0,0 +1,186 @@
+package me.moiz.mangoparty.models;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * An immutable snapshot of who is taking part in a match: every participant, the players on each team,
+ * and who is still alive. A match builds a new roster only after its membership changes (team assignment,
+ * an elimination, a party member joining or leaving), so scoreboards, broadcasts and win checks can read
+ * and iterate it as often as they like without rebuilding player lists or looking players up.
+ * Per-team alive counts are not kept here; the match counts them from its own bitsets.
+ */
+public final class MatchRoster {
+    private static final List<UUID> NO_IDS = Collections.emptyList();
+    private static final List<Player> NO_PLAYERS = Collections.emptyList();
+
+    private final long version;
+    private final int partyVersion;
+    private final List<Player> players;      // Online participants
+    private final Set<UUID> playerIds;       // Online party members and every team member, online or not
+    private final List<Player> alivePlayers; // Online participants who are not eliminated
+    private final List<UUID>[] teamIds;      // Team number -> every member, online or not
+    private final List<Player>[] teamPlayers; // Team number -> online members
+    private final int aliveTeamCount;        // Teams with at least one online member alive
+    private final int lastAliveTeam;         // The alive team, when there is exactly one
+
+    @SuppressWarnings("unchecked")
+    private MatchRoster(Match match, long version, int partyVersion) {
+        this.version = version;
+        this.partyVersion = partyVersion;
+
+        Set<UUID> ids = new LinkedHashSet<>();
+        List<Player> online = new ArrayList<>();
+        Party party = match.getParty();
+        if (party != null) {
+            for (UUID memberId : party.getMembers()) {
+                Player player = memberId != null ? Bukkit.getPlayer(memberId) : null;
+                if (player != null && player.isOnline() && ids.add(memberId)) {
+                    online.add(player);
+                }
+            }
+        }
+
+        Map<UUID, Integer> playerTeams = match.getPlayerTeams();
+        int maxTeam = 0;
+        for (Integer team : playerTeams.values()) {
+            maxTeam = Math.max(maxTeam, team);
+        }
+        List<UUID>[] teams = new List[maxTeam + 1];
+        List<Player>[] teamOnline = new List[maxTeam + 1];
+        for (Map.Entry<UUID, Integer> entry : playerTeams.entrySet()) {
+            UUID playerId = entry.getKey();
+            int team = entry.getValue();
+            if (team <= 0) continue;
+
+            if (teams[team] == null) {
+                teams[team] = new ArrayList<>();
+                teamOnline[team] = new ArrayList<>();
+            }
+            teams[team].add(playerId);
+
+            Player player = Bukkit.getPlayer(playerId);
+            boolean isOnline = player != null && player.isOnline();
+            if (isOnline) {
+                teamOnline[team].add(player);
+            }
+            if (ids.add(playerId) && isOnline) {
+                online.add(player);
+            }
+        }
+
+        List<Player> living = new ArrayList<>(online.size());
+        boolean[] teamLiving = new boolean[maxTeam + 1];
+        for (Player player : online) {
+            if (match.isPlayerEliminated(player.getUniqueId())) continue;
+
+            living.add(player);
+            Integer team = playerTeams.get(player.getUniqueId());
+            if (team != null && team > 0) {
+                teamLiving[team] = true;
+            }
+        }
+        int livingTeams = 0;
+        int lastTeam = 0;
+        for (int team = 1; team <= maxTeam; team++) {
+            if (teamLiving[team]) {
+                livingTeams++;
+                lastTeam = team;
+            }
+            if (teams[team] != null) {
+                teams[team] = Collections.unmodifiableList(teams[team]);
+                teamOnline[team] = Collections.unmodifiableList(teamOnline[team]);
+            }
+        }
+
+        this.players = Collections.unmodifiableList(online);
+        this.playerIds = Collections.unmodifiableSet(ids);
+        this.alivePlayers = Collections.unmodifiableList(living);
+        this.teamIds = teams;
+        this.teamPlayers = teamOnline;
+        this.aliveTeamCount = livingTeams;
+        this.lastAliveTeam = lastTeam;
+    }
+
+    /**
+     * Builds the roster of a match as it is now.
+     *
+     * @param match The match
+     * @param version The match's roster version the snapshot is taken at
+     * @param partyVersion The party's membership version the snapshot is taken at
+     * @return The new roster
+     */
+    static MatchRoster build(Match match, long version, int partyVersion) {
+        return new MatchRoster(match, version, partyVersion);
+    }
+
+    /**
+     * @return The match's roster version this snapshot was built at
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    int getPartyVersion() {
+        return partyVersion;
+    }
+
+    /**
+     * @return Every online participant, eliminated or not
+     */
+    public List<Player> getPlayers() {
+        return players;
+    }
+
+    /**
+     * @return The UUIDs of the online party members and of every team member, online or not
+     */
+    public Set<UUID> getPlayerIds() {
+        return playerIds;
+    }
+
+    /**
+     * @return The online participants who have not been eliminated
+     */
+    public List<Player> getAlivePlayers() {
+        return alivePlayers;
+    }
+
+    /**
+     * @param team The team number
+     * @return Every member of the team, online or not
+     */
+    public List<UUID> getTeamIds(int team) {
+        return team > 0 && team < teamIds.length && teamIds[team] != null ? teamIds[team] : NO_IDS;
+    }
+
+    /**
+     * @param team The team number
+     * @return The online members of the team
+     */
+    public List<Player> getTeamPlayers(int team) {
+        return team > 0 && team < teamPlayers.length && teamPlayers[team] != null ? teamPlayers[team] : NO_PLAYERS;
+    }
+
+    /**
+     * @return The number of teams with an online member who has not been eliminated
+     */
+    public int getAliveTeamCount() {
+        return aliveTeamCount;
+    }
+
+    /**
+     * @return The only team with online members left alive, or 0 if there is not exactly one
+     */
+    public int getWinningTeam() {
+        return aliveTeamCount == 1 ? lastAliveTeam : 0;
+    }
+}
@@ -6,6 +6,7 @@ import org.bukkit.entity.Player;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 /**
@@ -23,6 +24,7 @@ public class Party {
     private volatile boolean inMatch;     // Whether the party is currently in a match
     private volatile boolean isPublic;    // Whether the party is public (can be joined without invite)
     private final long creationTime;      // When this party was created (for cleanup/metrics)
+    private final AtomicInteger membershipVersion; // Bumped whenever a member joins or leaves
     
     /**
      * Creates a new party with the specified leader.
@@ -41,6 +43,7 @@ public class Party {
         this.inMatch = false;
         this.isPublic = false;
         this.creationTime = System.currentTimeMillis();
+        this.membershipVersion = new AtomicInteger();
     }
     
     /**
@@ -97,6 +100,7 @@ public class Party {
         if (member != null) {
             members.add(member);
             invites.remove(member);
+            membershipVersion.incrementAndGet();
         }
     }
     
@@ -109,6 +113,7 @@ public class Party {
     public void removeMember(UUID member) {
         if (member != null) {
             members.remove(member);
+            membershipVersion.incrementAndGet();
         }
     }
     
@@ -212,6 +217,16 @@ public class Party {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Gets a counter that changes whenever a member joins or leaves, so views built from the member list
+     * can tell when they are out of date.
+     *
+     * @return The membership version
+     */
+    public int getMembershipVersion() {
+        return membershipVersion.get();
+    }
+    
     /**
      * Gets the creation time of this party.
      *
@@ -260,6 +275,7 @@ public class Party {
         if (leader != null) {
             members.add(leader);
         }
+        membershipVersion.incrementAndGet();
     }
 
     /**
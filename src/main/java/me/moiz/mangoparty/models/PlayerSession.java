@@ -0,0 +1,108 @@
+package me.moiz.mangoparty.models;
+
+import java.util.UUID;
+
+/**
+ * What a player is currently doing: queueing, playing a match or duel, or spectating.
+ * Holds direct references to the player's match, duel and queue entry so event handlers need a single
+ * lookup. Sessions are kept by the session manager and only exist while the player is doing something;
+ * a player without one is in the lobby.
+ */
+public class PlayerSession {
+    public enum Activity {
+        LOBBY,      // Not queued or in a game
+        QUEUE,      // Waiting in a matchmaking queue
+        MATCH,      // Playing in a match
+        DUEL,       // Playing in a duel
+        SPECTATING  // Watching a match, either eliminated from it or through /spectate
+    }
+
+    private final UUID playerId;
+    private volatile Match match;
+    private volatile Duel duel;
+    private volatile QueueEntry queueEntry;
+    private volatile boolean spectating;
+
+    public PlayerSession(UUID playerId) {
+        this.playerId = playerId;
+    }
+
+    public UUID getPlayerId() {
+        return playerId;
+    }
+
+    /**
+     * @return The player's current activity, with a duel taking precedence over a match and a match over a queue
+     */
+    public Activity getActivity() {
+        if (duel != null) return Activity.DUEL;
+        if (getMatch() != null) return spectating ? Activity.SPECTATING : Activity.MATCH;
+        if (queueEntry != null) return Activity.QUEUE;
+        return Activity.LOBBY;
+    }
+
+    /**
+     * @return The match the player is playing or spectating, or null once it has finished
+     */
+    public Match getMatch() {
+        Match current = match;
+        return current != null && current.getState() != Match.MatchState.FINISHED ? current : null;
+    }
+
+    /**
+     * @return True from joining a match until being sent back to spawn after it ends
+     */
+    public boolean isInMatch() {
+        return match != null;
+    }
+
+    /**
+     * @return True if the player is bound to the given match, finished or not
+     */
+    public boolean isInMatch(Match match) {
+        return this.match == match;
+    }
+
+    /**
+     * @return True if both players are bound to the same match
+     */
+    public boolean isInSameMatch(PlayerSession other) {
+        Match current = match;
+        return current != null && other != null && current == other.match;
+    }
+
+    /**
+     * @return True if the player is watching their match rather than playing in it
+     */
+    public boolean isSpectating() {
+        return spectating && getMatch() != null;
+    }
+
+    public Duel getDuel() {
+        return duel;
+    }
+
+    public QueueEntry getQueueEntry() {
+        return queueEntry;
+    }
+
+    /**
+     * @return True if the session no longer holds anything and can be dropped
+     */
+    public boolean isIdle() {
+        return match == null && duel == null && queueEntry == null;
+    }
+
+    public void setMatch(Match match, boolean spectating) {
+        this.match = match;
+        this.spectating = match != null && spectating;
+    }
+
+    public void setDuel(Duel duel) {
+        this.duel = duel;
+    }
+
+    public void setQueueEntry(QueueEntry queueEntry) {
+        this.queueEntry = queueEntry;
+    }
+}
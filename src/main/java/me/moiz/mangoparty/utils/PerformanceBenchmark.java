@@ -0,0 +1,123 @@
+package me.moiz.mangoparty.utils;
+
+import me.moiz.mangoparty.MangoParty;
+import me.moiz.mangoparty.managers.GameTicker;
+import me.moiz.mangoparty.models.Match;
+import org.bukkit.command.CommandSender;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * Benchmark class for the plugin's hot paths.
+ * This class provides methods to measure them in game against the approach they replaced.
+ * Results are rough, since they run on a live server, but are stable enough to compare the two approaches.
+ */
+public class PerformanceBenchmark {
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int TASKS = 20000; // Tasks scheduled and cancelled per round
+    private static final long DELAY = 6000L; // Far enough ahead that nothing runs during a round
+    private static final int ROSTER_READS = 100000; // Roster reads per round
+
+    private final MangoParty plugin;
+
+    /**
+     * Constructor for the PerformanceBenchmark class.
+     *
+     * @param plugin The plugin instance
+     */
+    public PerformanceBenchmark(MangoParty plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Measures the cost of scheduling and cancelling a delayed task on the game ticker, and on the Bukkit
+     * scheduler that every match timer used to go through.
+     *
+     * @param sender The command sender to send results to
+     */
+    public void benchmarkTicker(CommandSender sender) {
+        sender.sendMessage(HexUtils.colorize("&8[&eBench&8] &7Scheduling and cancelling " + TASKS + " tasks..."));
+
+        GameTicker ticker = plugin.getGameTicker();
+        Runnable noop = () -> { };
+
+        GameTicker.Timeout[] timeouts = new GameTicker.Timeout[TASKS];
+        long[] tickerNanos = new long[2];
+        for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < TASKS; i++) {
+                timeouts[i] = ticker.after(DELAY + i % 600, noop);
+            }
+            long scheduled = System.nanoTime();
+            for (int i = 0; i < TASKS; i++) {
+                timeouts[i].cancel();
+            }
+            tickerNanos[0] = scheduled - start;
+            tickerNanos[1] = System.nanoTime() - scheduled;
+        }
+
+        BukkitTask[] tasks = new BukkitTask[TASKS];
+        long[] bukkitNanos = new long[2];
+        for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < TASKS; i++) {
+                tasks[i] = plugin.getServer().getScheduler().runTaskLater(plugin, noop, DELAY + i % 600);
+            }
+            long scheduled = System.nanoTime();
+            for (int i = 0; i < TASKS; i++) {
+                tasks[i].cancel();
+            }
+            bukkitNanos[0] = scheduled - start;
+            bukkitNanos[1] = System.nanoTime() - scheduled;
+        }
+
+        sendResult(sender, "Game ticker", tickerNanos);
+        sendResult(sender, "Bukkit scheduler", bukkitNanos);
+        sender.sendMessage(HexUtils.colorize("&8[&eBench&8] &aTicker benchmark complete!"));
+    }
+
+    /**
+     * Measures the cost of reading a running match's players from its cached roster, and of rebuilding the
+     * list on every read as the match used to.
+     *
+     * @param sender The command sender to send results to
+     */
+    public void benchmarkRoster(CommandSender sender) {
+        Match match = plugin.getMatchManager().getAllActiveMatches().stream().findFirst().orElse(null);
+        if (match == null) {
+            sender.sendMessage(HexUtils.colorize("&8[&eBench&8] &cNo match is running to benchmark!"));
+            return;
+        }
+
+        sender.sendMessage(HexUtils.colorize("&8[&eBench&8] &7Reading the players of match " + match.getId()
+                + " " + ROSTER_READS + " times..."));
+
+        long cachedNanos = 0;
+        long rebuiltNanos = 0;
+        int sink = 0; // Keeps the reads from being optimised away
+        for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < ROSTER_READS; i++) {
+                sink += match.getRoster().getAlivePlayers().size();
+            }
+            cachedNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < ROSTER_READS; i++) {
+                match.invalidateRoster();
+                sink += match.getRoster().getAlivePlayers().size();
+            }
+            rebuiltNanos = System.nanoTime() - start;
+        }
+
+        sender.sendMessage(HexUtils.colorize(String.format("&8[&eBench&8] &eCached roster&7: &f%.1f ns/read",
+                (double) cachedNanos / ROSTER_READS)));
+        sender.sendMessage(HexUtils.colorize(String.format("&8[&eBench&8] &eRebuilt per read&7: &f%.1f ns/read",
+                (double) rebuiltNanos / ROSTER_READS)));
+        sender.sendMessage(HexUtils.colorize("&8[&eBench&8] &aRoster benchmark complete! &8(" + sink + ")"));
+    }
+
+    private void sendResult(CommandSender sender, String label, long[] nanos) {
+        sender.sendMessage(HexUtils.colorize(String.format("&8[&eBench&8] &e%s&7: schedule &f%.1f ns/op&7, cancel &f%.1f ns/op",
+                label, (double) nanos[0] / TASKS, (double) nanos[1] / TASKS)));
+    }
+}